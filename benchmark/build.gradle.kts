@@ -0,0 +1,31 @@
+plugins {
+    id("java")
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+group = "com.github.johanneshaberlah"
+version = "0.1"
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(23)
+    }
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    jmh(project(":"))
+}
+
+jmh {
+    jmhVersion = "1.37"
+    profilers = listOf("gc")
+    jvmArgsAppend = listOf("--add-modules", "jdk.incubator.vector", "--enable-native-access=ALL-UNNAMED")
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector"))
+}
@@ -0,0 +1,82 @@
+package com.github.johanneshaberlah.zcjson.benchmark;
+
+import com.github.johanneshaberlah.zcjson.JsonArray;
+import com.github.johanneshaberlah.zcjson.JsonDocument;
+import com.github.johanneshaberlah.zcjson.JsonElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.foreign.Arena;
+import java.util.concurrent.TimeUnit;
+
+// Iterates the corpus array ("types" in the schema, "items" in the generated corpora) element by element.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArrayBenchmark {
+
+  @Param({"SCHEMA", "NUMBERS", "STRINGS", "NESTED"})
+  public Corpus corpus;
+
+  private Arena arena;
+  private JsonDocument document;
+  private JsonDocument scope;
+
+  @Setup
+  public void setup() {
+    arena = Arena.ofShared();
+    document = Tokenizers.SIMD.reader().read(Tokenizers.offHeap(arena, corpus.bytes()));
+    scope = corpus.scope(document);
+  }
+
+  @TearDown
+  public void tearDown() {
+    document.close();
+    arena.close();
+  }
+
+  @Benchmark
+  public int length() {
+    return scope.readArray(corpus.arrayKey()).length();
+  }
+
+  @Benchmark
+  public void iterateByIndex(Blackhole blackhole) {
+    JsonArray array = scope.readArray(corpus.arrayKey());
+    int length = array.length();
+    for (int index = 0; index < length; index++) {
+      blackhole.consume(array.readValueSegment(index));
+    }
+  }
+
+  @Benchmark
+  public void iterate(Blackhole blackhole) {
+    for (JsonElement element : scope.readArray(corpus.arrayKey())) {
+      blackhole.consume(element.segment());
+    }
+  }
+
+  @Benchmark
+  public void forEachCursor(Blackhole blackhole) {
+    scope.readArray(corpus.arrayKey()).forEachCursor(element -> blackhole.consume(element.segment()));
+  }
+
+  @Benchmark
+  public long parallelStream() {
+    return scope.readArray(corpus.arrayKey()).stream().parallel().mapToLong(element -> element.segment().byteSize()).sum();
+  }
+}
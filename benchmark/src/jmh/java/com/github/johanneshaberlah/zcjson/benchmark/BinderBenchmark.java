@@ -0,0 +1,77 @@
+package com.github.johanneshaberlah.zcjson.benchmark;
+
+import com.github.johanneshaberlah.zcjson.JsonBinder;
+import com.github.johanneshaberlah.zcjson.JsonDocument;
+import com.github.johanneshaberlah.zcjson.JsonKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.foreign.Arena;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Binds one tokenized object to a record, against reading the same members by hand with one lookup per member.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinderBenchmark {
+  private static final String JSON = """
+    {"id": 1234567, "name": "Alice", "email": "alice@example.com", "active": true, "score": 98.25,
+     "address": {"street": "Unter den Linden 1", "city": "Berlin", "zip": "10117"}, "logins": 1042}""";
+
+  private static final JsonKey ID = JsonKey.of("id");
+  private static final JsonKey NAME = JsonKey.of("name");
+  private static final JsonKey EMAIL = JsonKey.of("email");
+  private static final JsonKey ACTIVE = JsonKey.of("active");
+  private static final JsonKey SCORE = JsonKey.of("score");
+  private static final JsonKey LOGINS = JsonKey.of("logins");
+
+  public record Customer(long id, String name, String email, boolean active, double score, long logins) {
+  }
+
+  private final JsonBinder<Customer> binder = JsonBinder.of(Customer.class);
+
+  private Arena arena;
+  private JsonDocument document;
+
+  @Setup
+  public void setup() {
+    arena = Arena.ofShared();
+    document = Tokenizers.SIMD.reader().read(Tokenizers.offHeap(arena, JSON.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @TearDown
+  public void tearDown() {
+    document.close();
+    arena.close();
+  }
+
+  @Benchmark
+  public Customer binder() {
+    return binder.read(document);
+  }
+
+  @Benchmark
+  public Customer byHand() {
+    return new Customer(
+      document.readValue(ID).asLong(),
+      document.readValue(NAME).asString(),
+      document.readValue(EMAIL).asString(),
+      document.readValue(ACTIVE).asBoolean(),
+      document.readValue(SCORE).asDouble(),
+      document.readValue(LOGINS).asLong()
+    );
+  }
+}
@@ -0,0 +1,109 @@
+package com.github.johanneshaberlah.zcjson.benchmark;
+
+import com.github.johanneshaberlah.zcjson.Aggregator;
+import com.github.johanneshaberlah.zcjson.JsonArray;
+import com.github.johanneshaberlah.zcjson.JsonDocument;
+import com.github.johanneshaberlah.zcjson.JsonKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.foreign.Arena;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Pulls one numeric field out of every element of an array of objects: in one pass over the tokens, against a lookup
+// per element through readObject and readValue, and aggregated without materializing it, on one thread and on the
+// common ForkJoin pool. The embedding benchmarks sum a 1,536-number array, parsed on access or from its packed column.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnBenchmark {
+  private static final int ELEMENTS = 10_000;
+  private static final JsonKey PRICES = JsonKey.of("prices");
+  private static final JsonKey AMOUNT = JsonKey.of("amount");
+  private static final JsonKey EMBEDDING = JsonKey.of("embedding");
+
+  private Arena arena;
+  private JsonDocument document;
+  private JsonDocument embedding;
+  private JsonDocument embeddingWithColumns;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(7);
+    StringBuilder json = new StringBuilder("{\"prices\": [");
+    for (int i = 0; i < ELEMENTS; i++) {
+      json.append(i == 0 ? "" : ", ")
+        .append("{\"sku\": \"A-").append(i).append("\", \"currency\": \"EUR\", \"tags\": [\"x\", \"y\"], \"amount\": ")
+        .append(random.nextInt(100_000)).append('.').append(random.nextInt(100)).append('}');
+    }
+    json.append("]}");
+    arena = Arena.ofShared();
+    document = Tokenizers.SIMD.reader().read(Tokenizers.offHeap(arena, json.toString().getBytes(StandardCharsets.UTF_8)));
+
+    StringBuilder features = new StringBuilder("{\"id\": 1, \"embedding\": [");
+    for (int i = 0; i < 1_536; i++) {
+      features.append(i == 0 ? "" : ", ").append(random.nextFloat() * 2 - 1);
+    }
+    features.append("]}");
+    byte[] bytes = features.toString().getBytes(StandardCharsets.UTF_8);
+    embedding = Tokenizers.SIMD.reader().read(Tokenizers.offHeap(arena, bytes));
+    embeddingWithColumns = Tokenizers.SIMD.reader().withNumericColumns().read(Tokenizers.offHeap(arena, bytes));
+  }
+
+  @TearDown
+  public void tearDown() {
+    document.close();
+    embedding.close();
+    embeddingWithColumns.close();
+    arena.close();
+  }
+
+  @Benchmark
+  public double[] extractDoubles() {
+    return document.readArray(PRICES).extractDoubles(AMOUNT);
+  }
+
+  @Benchmark
+  public double[] readObjectPerElement() {
+    JsonArray prices = document.readArray(PRICES);
+    double[] values = new double[prices.length()];
+    for (int index = 0; index < values.length; index++) {
+      values[index] = prices.readObject(index).readValue(AMOUNT).asDouble();
+    }
+    return values;
+  }
+
+  @Benchmark
+  public double sum() {
+    return document.readArray(PRICES).aggregate(AMOUNT, Aggregator.sum());
+  }
+
+  @Benchmark
+  public double parallelSum() {
+    return document.readArray(PRICES).parallelAggregate(AMOUNT, Aggregator.sum());
+  }
+
+  @Benchmark
+  public double embeddingSumParsed() {
+    return embedding.readArray(EMBEDDING).aggregate(Aggregator.sum());
+  }
+
+  @Benchmark
+  public double embeddingSumColumn() {
+    return embeddingWithColumns.readArray(EMBEDDING).aggregate(Aggregator.sum());
+  }
+}
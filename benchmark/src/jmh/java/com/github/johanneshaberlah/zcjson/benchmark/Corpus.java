@@ -0,0 +1,142 @@
+package com.github.johanneshaberlah.zcjson.benchmark;
+
+import com.github.johanneshaberlah.zcjson.JsonDocument;
+import com.github.johanneshaberlah.zcjson.JsonKey;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+// Inputs shared by all benchmarks. The generated corpora are top-level objects with the members "f0" ... "f511" and an
+// "items" array in the middle, so early, late and missing lookups mean the same thing on every corpus.
+public enum Corpus {
+  SCHEMA("/schema.json", "__schema", "queryType", "directives", "types"),
+  NUMBERS(Corpus::appendNumber),
+  STRINGS(Corpus::appendString),
+  NESTED(Corpus::appendNested);
+
+  static final int FIELDS = 512;
+  static final int ITEMS = 4096;
+
+  // The classpath resource of a file-backed corpus, or null.
+  private final String resource;
+  // The values of a generated corpus, or null.
+  private final ValueGenerator values;
+  private final JsonKey scope;
+  private final JsonKey earlyKey;
+  private final JsonKey lateKey;
+  private final JsonKey arrayKey;
+  private final JsonKey missingKey = JsonKey.of("missing");
+
+  private byte[] bytes;
+
+  Corpus(String resource, String scope, String earlyKey, String lateKey, String arrayKey) {
+    this.resource = resource;
+    this.values = null;
+    this.scope = JsonKey.of(scope);
+    this.earlyKey = JsonKey.of(earlyKey);
+    this.lateKey = JsonKey.of(lateKey);
+    this.arrayKey = JsonKey.of(arrayKey);
+  }
+
+  Corpus(ValueGenerator values) {
+    this.resource = null;
+    this.values = values;
+    this.scope = null;
+    this.earlyKey = JsonKey.of("f0");
+    this.lateKey = JsonKey.of("f" + (FIELDS - 1));
+    this.arrayKey = JsonKey.of("items");
+  }
+
+  public synchronized byte[] bytes() {
+    if (bytes == null) {
+      bytes = values == null ? load(resource) : generate(values);
+    }
+    return bytes;
+  }
+
+  // The object the lookup keys belong to.
+  public JsonDocument scope(JsonDocument document) {
+    return scope == null ? document : document.readObject(scope);
+  }
+
+  public JsonKey earlyKey() {
+    return earlyKey;
+  }
+
+  public JsonKey lateKey() {
+    return lateKey;
+  }
+
+  public JsonKey missingKey() {
+    return missingKey;
+  }
+
+  public JsonKey arrayKey() {
+    return arrayKey;
+  }
+
+  private static byte[] load(String resource) {
+    try (InputStream stream = Corpus.class.getResourceAsStream(resource)) {
+      if (stream == null) {
+        throw new IllegalStateException(resource + " is not on the benchmark classpath");
+      }
+      return stream.readAllBytes();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static byte[] generate(ValueGenerator values) {
+    Random random = new Random(42);
+    StringBuilder builder = new StringBuilder("{\n");
+    for (int field = 0; field < FIELDS; field++) {
+      if (field == FIELDS / 2) {
+        builder.append("  \"items\": [");
+        for (int item = 0; item < ITEMS; item++) {
+          builder.append(item == 0 ? "\n    " : ",\n    ");
+          values.append(builder, random, item);
+        }
+        builder.append("\n  ],\n");
+      }
+      builder.append("  \"f").append(field).append("\": ");
+      values.append(builder, random, field);
+      builder.append(field == FIELDS - 1 ? "\n" : ",\n");
+    }
+    return builder.append("}\n").toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static void appendNumber(StringBuilder builder, Random random, int index) {
+    if (index % 2 == 0) {
+      builder.append(random.nextLong(-1_000_000_000L, 1_000_000_000L));
+    } else {
+      builder.append(random.nextInt(-99_999, 99_999)).append('.').append(random.nextInt(1_000, 9_999))
+        .append('e').append(random.nextInt(-12, 12));
+    }
+  }
+
+  private static void appendString(StringBuilder builder, Random random, int index) {
+    builder.append('"');
+    int length = 16 + random.nextInt(48);
+    for (int i = 0; i < length; i++) {
+      builder.append((char) ('a' + random.nextInt(26)));
+    }
+    builder.append('"');
+  }
+
+  private static void appendNested(StringBuilder builder, Random random, int index) {
+    int depth = 4 + random.nextInt(12);
+    for (int level = 0; level < depth; level++) {
+      builder.append("{\"level\": ").append(level).append(", \"child\": ");
+    }
+    builder.append(index);
+    builder.append("}".repeat(depth));
+  }
+
+  @FunctionalInterface
+  interface ValueGenerator {
+    void append(StringBuilder builder, Random random, int index);
+  }
+}
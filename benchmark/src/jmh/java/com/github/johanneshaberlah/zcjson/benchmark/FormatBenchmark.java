@@ -0,0 +1,65 @@
+package com.github.johanneshaberlah.zcjson.benchmark;
+
+import com.github.johanneshaberlah.zcjson.JsonDocument;
+import com.github.johanneshaberlah.zcjson.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.util.concurrent.TimeUnit;
+
+// Re-formats an already tokenized document into a pooled writer. Minifying is dominated by the vectorized whitespace
+// compaction, pretty-printing by the per-token walk over the tape.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatBenchmark {
+
+  @Param({"SCHEMA", "NUMBERS", "STRINGS", "NESTED"})
+  public Corpus corpus;
+
+  private Arena arena;
+  private JsonDocument document;
+
+  @Setup
+  public void setup() {
+    arena = Arena.ofShared();
+    document = Tokenizers.SIMD.reader().read(Tokenizers.offHeap(arena, corpus.bytes()));
+  }
+
+  @TearDown
+  public void tearDown() {
+    document.close();
+    arena.close();
+  }
+
+  @Benchmark
+  public long minify() throws IOException {
+    try (JsonWriter writer = JsonWriter.pooled()) {
+      document.writeMinified(writer);
+      return writer.size();
+    }
+  }
+
+  @Benchmark
+  public long pretty() throws IOException {
+    try (JsonWriter writer = JsonWriter.pooled()) {
+      document.writePretty(writer, 2);
+      return writer.size();
+    }
+  }
+}
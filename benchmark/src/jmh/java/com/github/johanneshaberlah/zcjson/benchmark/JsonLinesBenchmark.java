@@ -0,0 +1,153 @@
+package com.github.johanneshaberlah.zcjson.benchmark;
+
+import com.github.johanneshaberlah.zcjson.JsonDocument;
+import com.github.johanneshaberlah.zcjson.JsonKey;
+import com.github.johanneshaberlah.zcjson.JsonLinesReader;
+import com.github.johanneshaberlah.zcjson.JsonProjector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Sums one field over every record of a generated JSON Lines input, once record by record on one thread and once as a
+// parallel stream. The ratio of the two shows how close the record spliterator gets to linear scaling. The error
+// searches select the 1% of records with "level": "ERROR", with and without the raw-bytes prefilter. forEachGzip reads
+// the same records from a .jsonl.gz file, inflated on a second thread. project keeps two of the five fields of every
+// record and writes them to a channel that discards them.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonLinesBenchmark {
+  private static final JsonKey ID = JsonKey.of("id");
+  private static final JsonKey LEVEL = JsonKey.of("level");
+
+  @Param({"200000"})
+  public int records;
+
+  @Param({"SEQUENTIAL", "SIMD"})
+  public Tokenizers tokenizers;
+
+  private Arena arena;
+  private MemorySegment segment;
+  private JsonLinesReader reader;
+  private JsonLinesReader prefiltered;
+  private Path gzipFile;
+  private Path plainFile;
+  private JsonProjector projector;
+
+  @Setup
+  public void setup() throws IOException {
+    Random random = new Random(42);
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < records; i++) {
+      builder.append("{\"id\": ").append(i)
+        .append(", \"level\": \"").append(random.nextInt(100) == 0 ? "ERROR" : "INFO")
+        .append("\", \"latency\": ").append(random.nextDouble() * 1000)
+        .append(", \"tags\": [\"a\", \"b\"], \"user\": {\"name\": \"user-").append(random.nextInt(10_000))
+        .append("\"}}\n");
+    }
+    byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+    arena = Arena.ofShared();
+    segment = Tokenizers.offHeap(arena, bytes);
+    plainFile = Files.createTempFile("zc-json-benchmark", ".jsonl");
+    Files.write(plainFile, bytes);
+    projector = JsonProjector.of("id", "user.name");
+    gzipFile = Files.createTempFile("zc-json-benchmark", ".jsonl.gz");
+    try (OutputStream stream = new GZIPOutputStream(Files.newOutputStream(gzipFile), 64 * 1024)) {
+      stream.write(bytes);
+    }
+    reader = JsonLinesReader.withTokenizer(tokenizers::create);
+    prefiltered = reader.withPrefilter("\"ERROR\"");
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    arena.close();
+    Files.delete(gzipFile);
+    Files.delete(plainFile);
+  }
+
+  @Benchmark
+  public long forEach() {
+    long[] sum = new long[1];
+    reader.forEach(segment, record -> sum[0] += record.readValue(ID).asLong());
+    return sum[0];
+  }
+
+  @Benchmark
+  public long parallelStream() {
+    return reader.stream(segment).parallel().mapToLong(record -> record.readValue(ID).asLong()).sum();
+  }
+
+  @Benchmark
+  public long errors() {
+    long[] count = new long[1];
+    reader.forEach(segment, record -> count[0] += isError(record) ? 1 : 0);
+    return count[0];
+  }
+
+  @Benchmark
+  public long prefilteredErrors() {
+    long[] count = new long[1];
+    prefiltered.forEach(segment, record -> count[0] += isError(record) ? 1 : 0);
+    return count[0];
+  }
+
+  @Benchmark
+  public long forEachGzip() throws IOException {
+    long[] sum = new long[1];
+    reader.forEachGzip(gzipFile, record -> sum[0] += record.readValue(ID).asLong());
+    return sum[0];
+  }
+
+  @Benchmark
+  public long project() throws IOException {
+    return projector.project(reader, plainFile, new DiscardingChannel());
+  }
+
+  private static boolean isError(JsonDocument record) {
+    return record.readValue(LEVEL).asString().equals("ERROR");
+  }
+
+  private static final class DiscardingChannel implements WritableByteChannel {
+    @Override
+    public int write(ByteBuffer source) {
+      int remaining = source.remaining();
+      source.position(source.limit());
+      return remaining;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
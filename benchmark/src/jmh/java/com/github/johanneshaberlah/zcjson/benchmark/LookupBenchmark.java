@@ -0,0 +1,69 @@
+package com.github.johanneshaberlah.zcjson.benchmark;
+
+import com.github.johanneshaberlah.zcjson.JsonDocument;
+import com.github.johanneshaberlah.zcjson.JsonKeyNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.concurrent.TimeUnit;
+
+// Key lookup on an already tokenized document, i.e. the cost of JsonDocument.findTokenIndex.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupBenchmark {
+
+  @Param({"SCHEMA", "NUMBERS", "STRINGS", "NESTED"})
+  public Corpus corpus;
+
+  private Arena arena;
+  private JsonDocument document;
+  private JsonDocument scope;
+
+  @Setup
+  public void setup() {
+    arena = Arena.ofShared();
+    document = Tokenizers.SIMD.reader().read(Tokenizers.offHeap(arena, corpus.bytes()));
+    scope = corpus.scope(document);
+  }
+
+  @TearDown
+  public void tearDown() {
+    document.close();
+    arena.close();
+  }
+
+  @Benchmark
+  public MemorySegment earlyKey() {
+    return scope.readValueSegment(corpus.earlyKey());
+  }
+
+  @Benchmark
+  public MemorySegment lateKey() {
+    return scope.readValueSegment(corpus.lateKey());
+  }
+
+  @Benchmark
+  public MemorySegment missingKey() {
+    try {
+      return scope.readValueSegment(corpus.missingKey());
+    } catch (JsonKeyNotFoundException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.github.johanneshaberlah.zcjson.benchmark;
+
+import com.github.johanneshaberlah.zcjson.JsonDocument;
+import com.github.johanneshaberlah.zcjson.JsonDocumentReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end sparse access: tokenize, read a handful of fields, close.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SparseAccessBenchmark {
+
+  @Param({"SCHEMA", "NUMBERS", "STRINGS", "NESTED"})
+  public Corpus corpus;
+
+  @Param({"SEQUENTIAL", "SIMD"})
+  public Tokenizers tokenizers;
+
+  private Arena arena;
+  private MemorySegment segment;
+  private JsonDocumentReader reader;
+
+  @Setup
+  public void setup() {
+    arena = Arena.ofShared();
+    segment = Tokenizers.offHeap(arena, corpus.bytes());
+    reader = tokenizers.reader();
+  }
+
+  @TearDown
+  public void tearDown() {
+    arena.close();
+  }
+
+  @Benchmark
+  public void readFewFields(Blackhole blackhole) {
+    try (JsonDocument document = reader.read(segment)) {
+      JsonDocument scope = corpus.scope(document);
+      blackhole.consume(scope.readValueSegment(corpus.earlyKey()));
+      blackhole.consume(scope.readValueSegment(corpus.lateKey()));
+      blackhole.consume(scope.readArray(corpus.arrayKey()).length());
+    }
+  }
+}
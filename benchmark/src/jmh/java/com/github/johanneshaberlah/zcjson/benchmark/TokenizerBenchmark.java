@@ -0,0 +1,56 @@
+package com.github.johanneshaberlah.zcjson.benchmark;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.Tokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.concurrent.TimeUnit;
+
+// Raw tokenize throughput. Divide ops/s by the corpus size for bytes/s.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenizerBenchmark {
+
+  @Param({"SCHEMA", "NUMBERS", "STRINGS", "NESTED"})
+  public Corpus corpus;
+
+  @Param({"SEQUENTIAL", "SIMD"})
+  public Tokenizers tokenizers;
+
+  private Arena arena;
+  private MemorySegment segment;
+  private Tokenizer tokenizer;
+
+  @Setup
+  public void setup() {
+    arena = Arena.ofShared();
+    segment = Tokenizers.offHeap(arena, corpus.bytes());
+    tokenizer = tokenizers.create();
+  }
+
+  @TearDown
+  public void tearDown() {
+    arena.close();
+  }
+
+  @Benchmark
+  public long[] tokenize() {
+    return tokenizer.read(segment);
+  }
+}
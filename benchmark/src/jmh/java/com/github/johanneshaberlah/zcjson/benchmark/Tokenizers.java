@@ -0,0 +1,36 @@
+package com.github.johanneshaberlah.zcjson.benchmark;
+
+import com.github.johanneshaberlah.zcjson.JsonDocumentReader;
+import com.github.johanneshaberlah.zcjson.tokenizer.SequentialTokenizer;
+import com.github.johanneshaberlah.zcjson.tokenizer.Tokenizer;
+import com.github.johanneshaberlah.zcjson.tokenizer.simd.SimdTokenizer;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+public enum Tokenizers {
+  SEQUENTIAL {
+    @Override
+    public Tokenizer create() {
+      return new SequentialTokenizer();
+    }
+  },
+  SIMD {
+    @Override
+    public Tokenizer create() {
+      return new SimdTokenizer();
+    }
+  };
+
+  public abstract Tokenizer create();
+
+  public JsonDocumentReader reader() {
+    return JsonDocumentReader.withTokenizer(create());
+  }
+
+  // Benchmarks read off-heap input, just like a memory-mapped file.
+  static MemorySegment offHeap(Arena arena, byte[] bytes) {
+    return arena.allocateFrom(ValueLayout.JAVA_BYTE, bytes);
+  }
+}
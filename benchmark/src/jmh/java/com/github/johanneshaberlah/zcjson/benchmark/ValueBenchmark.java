@@ -0,0 +1,61 @@
+package com.github.johanneshaberlah.zcjson.benchmark;
+
+import com.github.johanneshaberlah.zcjson.JsonValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Typed accessors on a value segment, including the JsonValue wrapper every call site creates.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValueBenchmark {
+  private Arena arena;
+  private MemorySegment longSegment;
+  private MemorySegment doubleSegment;
+  private MemorySegment stringSegment;
+
+  @Setup
+  public void setup() {
+    arena = Arena.ofShared();
+    longSegment = Tokenizers.offHeap(arena, "-1234567890123".getBytes(StandardCharsets.UTF_8));
+    doubleSegment = Tokenizers.offHeap(arena, "-12345.6789e-3".getBytes(StandardCharsets.UTF_8));
+    stringSegment = Tokenizers.offHeap(arena, "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.UTF_8));
+  }
+
+  @TearDown
+  public void tearDown() {
+    arena.close();
+  }
+
+  @Benchmark
+  public long asLong() {
+    return JsonValue.of(longSegment).asLong();
+  }
+
+  @Benchmark
+  public double asDouble() {
+    return JsonValue.of(doubleSegment).asDouble();
+  }
+
+  @Benchmark
+  public String asString() {
+    return JsonValue.of(stringSegment).asString();
+  }
+}
@@ -0,0 +1,72 @@
+package com.github.johanneshaberlah.zcjson.benchmark;
+
+import com.github.johanneshaberlah.zcjson.JsonKey;
+import com.github.johanneshaberlah.zcjson.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Writes one small record per operation into a reused off-heap segment: the primitive writes against the allocation
+// free paths, and a long string through the vectorized escape search.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WriterBenchmark {
+  private static final JsonKey ID = JsonKey.of("id");
+  private static final JsonKey LATENCY = JsonKey.of("latency");
+  private static final JsonKey MESSAGE = JsonKey.of("message");
+
+  private Arena arena;
+  private MemorySegment target;
+  private MemorySegment message;
+
+  @Setup
+  public void setup() {
+    arena = Arena.ofShared();
+    target = arena.allocate(4096);
+    message = Tokenizers.offHeap(arena, ("The quick brown fox jumps over the lazy dog. ".repeat(10) + "\"done\"")
+      .getBytes(StandardCharsets.UTF_8));
+  }
+
+  @TearDown
+  public void tearDown() {
+    arena.close();
+  }
+
+  @Benchmark
+  public long writeLong() {
+    return JsonWriter.into(target).writeLong(-1234567890123L).size();
+  }
+
+  @Benchmark
+  public long writeDouble() {
+    return JsonWriter.into(target).writeDouble(123.456789).size();
+  }
+
+  @Benchmark
+  public long writeRecord() {
+    return JsonWriter.into(target)
+      .writeObjectStart()
+      .writeKey(ID).writeLong(1234567)
+      .writeKey(LATENCY).writeDouble(12.5)
+      .writeKey(MESSAGE).writeString(message)
+      .writeObjectEnd()
+      .size();
+  }
+}
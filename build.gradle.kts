@@ -22,7 +22,23 @@ dependencies {
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("allocation")
+    }
+}
+
+val allocationTest by tasks.registering(Test::class) {
+    description = "Runs the allocation budget tests in a JVM of their own."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("allocation")
+    }
+}
+
+tasks.check {
+    dependsOn(allocationTest)
 }
 
   tasks.withType<JavaCompile>().configureEach {
@@ -30,5 +46,5 @@ tasks.test {
   }
 
 tasks.withType<Test>().configureEach {
-  jvmArgs("--add-modules", "jdk.incubator.vector")
+  jvmArgs("--add-modules", "jdk.incubator.vector", "--enable-native-access=ALL-UNNAMED")
 }
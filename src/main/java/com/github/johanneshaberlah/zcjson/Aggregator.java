@@ -0,0 +1,164 @@
+package com.github.johanneshaberlah.zcjson;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Folds the numbers of a JsonArray into a result without materializing them. Numbers are parsed from the input into
+// small batches, and each batch is handed to accumulate, which lets the built-in aggregators reduce it with vector
+// lanes. Like a Collector, an aggregator creates mutable states, and parallel aggregation combines the states of
+// adjacent runs of elements in order.
+public interface Aggregator<A, R> {
+
+  A create();
+
+  // Adds the first `count` numbers of the batch to the state. The batch is reused afterwards.
+  void accumulate(A state, double[] batch, int count);
+
+  // Merges the state of the elements right after the ones of `left` and returns the result, which may be `left`.
+  A combine(A left, A right);
+
+  R finish(A state);
+
+  static <A, R> Aggregator<A, R> of(
+    Supplier<A> create,
+    BatchAccumulator<A> accumulate,
+    BinaryOperator<A> combine,
+    Function<A, R> finish
+  ) {
+    return new Aggregator<>() {
+      @Override
+      public A create() {
+        return create.get();
+      }
+
+      @Override
+      public void accumulate(A state, double[] batch, int count) {
+        accumulate.accumulate(state, batch, count);
+      }
+
+      @Override
+      public A combine(A left, A right) {
+        return combine.apply(left, right);
+      }
+
+      @Override
+      public R finish(A state) {
+        return finish.apply(state);
+      }
+    };
+  }
+
+  // Sums in vector lanes, so the order of additions, and with it rounding, differs from a sequential loop.
+  static Aggregator<double[], Double> sum() {
+    return of(
+      () -> new double[1],
+      (state, batch, count) -> state[0] += DoubleBatches.sum(batch, count),
+      (left, right) -> {
+        left[0] += right[0];
+        return left;
+      },
+      state -> state[0]
+    );
+  }
+
+  // Positive infinity for an array without numbers, as in DoubleSummaryStatistics.
+  static Aggregator<double[], Double> min() {
+    return of(
+      () -> new double[]{Double.POSITIVE_INFINITY},
+      (state, batch, count) -> state[0] = Math.min(state[0], DoubleBatches.min(batch, count)),
+      (left, right) -> {
+        left[0] = Math.min(left[0], right[0]);
+        return left;
+      },
+      state -> state[0]
+    );
+  }
+
+  static Aggregator<double[], Double> max() {
+    return of(
+      () -> new double[]{Double.NEGATIVE_INFINITY},
+      (state, batch, count) -> state[0] = Math.max(state[0], DoubleBatches.max(batch, count)),
+      (left, right) -> {
+        left[0] = Math.max(left[0], right[0]);
+        return left;
+      },
+      state -> state[0]
+    );
+  }
+
+  static Aggregator<long[], Long> count() {
+    return of(
+      () -> new long[1],
+      (state, batch, count) -> state[0] += count,
+      (left, right) -> {
+        left[0] += right[0];
+        return left;
+      },
+      state -> state[0]
+    );
+  }
+
+  // Zero for an array without numbers, as in DoubleSummaryStatistics.
+  static Aggregator<double[], Double> mean() {
+    return of(
+      () -> new double[2],
+      (state, batch, count) -> {
+        state[0] += DoubleBatches.sum(batch, count);
+        state[1] += count;
+      },
+      (left, right) -> {
+        left[0] += right[0];
+        left[1] += right[1];
+        return left;
+      },
+      state -> state[1] == 0 ? 0.0 : state[0] / state[1]
+    );
+  }
+
+  // Count, sum, min and max in one pass.
+  static Aggregator<double[], DoubleSummaryStatistics> statistics() {
+    return of(
+      () -> new double[]{0, 0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY},
+      (state, batch, count) -> {
+        state[0] += count;
+        state[1] += DoubleBatches.sum(batch, count);
+        state[2] = Math.min(state[2], DoubleBatches.min(batch, count));
+        state[3] = Math.max(state[3], DoubleBatches.max(batch, count));
+      },
+      (left, right) -> {
+        left[0] += right[0];
+        left[1] += right[1];
+        left[2] = Math.min(left[2], right[2]);
+        left[3] = Math.max(left[3], right[3]);
+        return left;
+      },
+      state -> new DoubleSummaryStatistics((long) state[0], state[2], state[3], state[1])
+    );
+  }
+
+  // Counts the numbers in `buckets` equally wide buckets over [lower, upper). Numbers outside of the range are not
+  // counted.
+  static Aggregator<long[], long[]> histogram(double lower, double upper, int buckets) {
+    if (!(lower < upper) || buckets <= 0) {
+      throw new IllegalArgumentException("Invalid histogram range [" + lower + ", " + upper + ") with " + buckets + " buckets");
+    }
+    return of(
+      () -> new long[buckets],
+      (state, batch, count) -> DoubleBatches.histogram(batch, count, lower, upper, state),
+      (left, right) -> {
+        for (int bucket = 0; bucket < buckets; bucket++) {
+          left[bucket] += right[bucket];
+        }
+        return left;
+      },
+      state -> state
+    );
+  }
+
+  @FunctionalInterface
+  interface BatchAccumulator<A> {
+    void accumulate(A state, double[] batch, int count);
+  }
+}
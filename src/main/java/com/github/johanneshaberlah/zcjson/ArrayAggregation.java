@@ -0,0 +1,154 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.Token;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Runs an aggregator over the elements of an array: the numbers themselves, or the number under a key of every object
+// element. Missing members and nulls are skipped. Numbers are parsed from the input into a batch that is handed to the
+// aggregator whenever it is full, so nothing is materialized beyond one batch per worker. Numeric arrays with a packed
+// column are copied into the batches from the column instead.
+final class ArrayAggregation<A, R> {
+  private static final int BATCH_SIZE = 512;
+  // Arrays with fewer tokens are aggregated on the calling thread even when asked to run in parallel.
+  private static final int PARALLEL_THRESHOLD = 1 << 15;
+  private static final int RUNS_PER_WORKER = 4;
+
+  private final JsonArray array;
+  private final JsonDocument parent;
+  private final int start;
+  private final int end;
+  private final JsonKey key;
+  private final Aggregator<A, R> aggregator;
+  private final MemorySegment column;
+
+  ArrayAggregation(JsonArray array, JsonDocument parent, int start, int end, JsonKey key, Aggregator<A, R> aggregator) {
+    this.array = array;
+    this.parent = parent;
+    this.start = start;
+    this.end = end;
+    this.key = key;
+    this.aggregator = aggregator;
+    this.column = key == null ? array.column() : null;
+  }
+
+  R sequential() {
+    A state = aggregator.create();
+    accumulate(start + 1, end, state);
+    return aggregator.finish(state);
+  }
+
+  R parallel(ForkJoinPool pool) {
+    int[] bounds = split(pool.getParallelism() * RUNS_PER_WORKER);
+    if (bounds.length == 2) {
+      return sequential();
+    }
+    return aggregator.finish(pool.invoke(new Run(bounds, 0, bounds.length - 1)));
+  }
+
+  // Element starts that divide the array into runs of roughly the same number of tokens, followed by the end marker.
+  private int[] split(int runs) {
+    int tokens = end - start - 1;
+    if (tokens < PARALLEL_THRESHOLD || runs <= 1) {
+      return new int[]{start + 1, end};
+    }
+    int step = Math.ceilDiv(tokens, runs);
+    if (key == null) {
+      // Every element of a numeric array is one token, so the runs are known without walking the array.
+      int[] bounds = new int[Math.ceilDiv(tokens, step) + 1];
+      for (int run = 0; run < bounds.length - 1; run++) {
+        bounds[run] = start + 1 + run * step;
+      }
+      bounds[bounds.length - 1] = end;
+      return bounds;
+    }
+    int[] bounds = new int[runs + 1];
+    int count = 0;
+    int next = start + 1;
+    for (int index = start + 1; index < end; index++) {
+      if (index >= next && count < runs) {
+        bounds[count++] = index;
+        next = index + step;
+      }
+      int type = (int) (parent.tokens[index] >>> 60);
+      if (type == Token.OBJECT_START_MARKER || type == Token.ARRAY_START_MARKER) {
+        index = parent.findEndOfStructure(index);
+      }
+    }
+    bounds[count++] = end;
+    return Arrays.copyOf(bounds, count);
+  }
+
+  // Accumulates the elements starting in [from, to).
+  private void accumulate(int from, int to, A state) {
+    double[] batch = new double[BATCH_SIZE];
+    if (column != null) {
+      for (int index = from; index < to; index += BATCH_SIZE) {
+        int count = Math.min(BATCH_SIZE, to - index);
+        MemorySegment.copy(column, ValueLayout.JAVA_DOUBLE, (long) (index - start - 1) * Double.BYTES, batch, 0, count);
+        aggregator.accumulate(state, batch, count);
+      }
+      return;
+    }
+    long[] tokens = parent.tokens;
+    int count = 0;
+    for (int index = from; index < to; index++) {
+      int valueIndex = index;
+      if (key != null) {
+        long member = array.findMember(index, key);
+        valueIndex = (int) member - 1;
+        index = (int) (member >>> 32);
+        if (valueIndex == -1) {
+          continue;
+        }
+      }
+      long token = tokens[valueIndex];
+      int type = (int) (token >>> 60);
+      if (type == Token.NULL) {
+        continue;
+      }
+      if (type != Token.NUMBER) {
+        throw JsonArray.notANumber(type, valueIndex);
+      }
+      batch[count++] = JsonValue.parseDouble(parent.segment, (token >>> 30) & 0x3FFFFFFFL, token & 0x3FFFFFFFL);
+      if (count == BATCH_SIZE) {
+        aggregator.accumulate(state, batch, count);
+        count = 0;
+      }
+    }
+    if (count > 0) {
+      aggregator.accumulate(state, batch, count);
+    }
+  }
+
+  // The runs between bounds[low] and bounds[high], halved until a single run is left.
+  private final class Run extends RecursiveTask<A> {
+    private final int[] bounds;
+    private final int low;
+    private final int high;
+
+    private Run(int[] bounds, int low, int high) {
+      this.bounds = bounds;
+      this.low = low;
+      this.high = high;
+    }
+
+    @Override
+    protected A compute() {
+      if (high - low == 1) {
+        A state = aggregator.create();
+        accumulate(bounds[low], bounds[high], state);
+        return state;
+      }
+      int middle = (low + high) >>> 1;
+      Run left = new Run(bounds, low, middle);
+      left.fork();
+      A right = new Run(bounds, middle, high).compute();
+      return aggregator.combine(left.join(), right);
+    }
+  }
+}
@@ -0,0 +1,172 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.Tokenizer;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+// Opens, maps and tokenizes many files on virtual threads, with at most `concurrency` files in flight.
+final class BatchReader {
+  private final JsonDocumentReader reader;
+  private final TokenizerPool tokenizers;
+  private final int concurrency;
+
+  BatchReader(JsonDocumentReader reader, TokenizerPool tokenizers, int concurrency) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("Concurrency must be positive, was " + concurrency);
+    }
+    this.reader = reader;
+    this.tokenizers = tokenizers;
+    this.concurrency = concurrency;
+  }
+
+  // The consumer runs on the virtual thread that read the document, so documents keep their confined arenas.
+  void forEach(Collection<Path> paths, Consumer<? super JsonDocument> consumer) throws IOException {
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Semaphore inFlight = new Semaphore(concurrency);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (Path path : paths) {
+        inFlight.acquire();
+        if (failure.get() != null) {
+          inFlight.release();
+          break;
+        }
+        executor.execute(() -> {
+          try (JsonDocument document = read(path, Arena.ofConfined())) {
+            consumer.accept(document);
+          } catch (Throwable e) {
+            if (!failure.compareAndSet(null, e)) {
+              failure.get().addSuppressed(e);
+            }
+          } finally {
+            inFlight.release();
+          }
+        });
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while reading documents");
+    }
+    rethrow(failure.get());
+  }
+
+  // Documents are handed to the stream's thread, so they are read into shared arenas. Each one is closed as soon as
+  // the stream's action for it returns.
+  DocumentSpliterator spliterator(Collection<Path> paths) {
+    return new DocumentSpliterator(paths);
+  }
+
+  private JsonDocument read(Path path, Arena arena) throws IOException, InterruptedException {
+    Tokenizer tokenizer = tokenizers.acquire();
+    try {
+      return reader.read(path, arena, tokenizer);
+    } finally {
+      tokenizers.release(tokenizer);
+    }
+  }
+
+  private static void rethrow(Throwable failure) throws IOException {
+    switch (failure) {
+      case null -> { }
+      case IOException e -> throw e;
+      case RuntimeException e -> throw e;
+      case Error e -> throw e;
+      case InterruptedException e -> {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while reading documents");
+      }
+      default -> throw new IOException(failure);
+    }
+  }
+
+  final class DocumentSpliterator implements Spliterator<JsonDocument>, AutoCloseable {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Deque<Future<JsonDocument>> pending = new ArrayDeque<>();
+    private final Iterator<Path> paths;
+    // Documents not yet passed to an action, read ahead or not.
+    private long remaining;
+
+    private DocumentSpliterator(Collection<Path> paths) {
+      this.paths = paths.iterator();
+      this.remaining = paths.size();
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super JsonDocument> action) {
+      while (pending.size() < concurrency && paths.hasNext()) {
+        Path path = paths.next();
+        pending.add(executor.submit(() -> read(path, Arena.ofShared())));
+      }
+      Future<JsonDocument> next = pending.poll();
+      if (next == null) {
+        executor.close();
+        return false;
+      }
+      remaining--;
+      try (JsonDocument document = await(next)) {
+        action.accept(document);
+      }
+      return true;
+    }
+
+    private JsonDocument await(Future<JsonDocument> future) {
+      try {
+        return future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new UncheckedIOException(new InterruptedIOException("Interrupted while reading documents"));
+      } catch (ExecutionException e) {
+        try {
+          rethrow(e.getCause());
+        } catch (IOException cause) {
+          throw new UncheckedIOException(cause);
+        }
+        throw new IllegalStateException(e);
+      }
+    }
+
+    // Closes documents that were read ahead but never consumed.
+    @Override
+    public void close() {
+      executor.shutdownNow();
+      executor.close();
+      for (Future<JsonDocument> future : pending) {
+        if (future.state() == Future.State.SUCCESS) {
+          future.resultNow().close();
+        }
+      }
+      pending.clear();
+    }
+
+    @Override
+    public Spliterator<JsonDocument> trySplit() {
+      return null;
+    }
+
+    @Override
+    public long estimateSize() {
+      return remaining;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | SIZED | NONNULL;
+    }
+  }
+}
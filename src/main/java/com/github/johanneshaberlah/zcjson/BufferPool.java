@@ -0,0 +1,103 @@
+package com.github.johanneshaberlah.zcjson;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Off-heap buffers in power-of-two size classes, used for inputs that have to be copied (streams and channels). Idle
+// buffers are kept up to a byte limit and reused, so reading a request body does not allocate off-heap memory.
+public final class BufferPool {
+  private static final int MIN_CLASS_SHIFT = 12;
+  private static final int MAX_CLASS_SHIFT = 30;
+  private static final long DEFAULT_RETAINED_BYTES = 64L << 20;
+
+  private static final BufferPool COMMON = new BufferPool(DEFAULT_RETAINED_BYTES);
+
+  private final Queue<MemorySegment>[] idle;
+  private final long maxRetainedBytes;
+  private final AtomicLong retainedBytes = new AtomicLong();
+
+  @SuppressWarnings("unchecked")
+  public BufferPool(long maxRetainedBytes) {
+    this.maxRetainedBytes = maxRetainedBytes;
+    this.idle = new Queue[MAX_CLASS_SHIFT - MIN_CLASS_SHIFT + 1];
+    for (int sizeClass = 0; sizeClass < idle.length; sizeClass++) {
+      idle[sizeClass] = new ConcurrentLinkedQueue<>();
+    }
+  }
+
+  public static BufferPool common() {
+    return COMMON;
+  }
+
+  // Returns a buffer of at least the given size; its size is the size class, not the requested size.
+  public MemorySegment acquire(long minimumSize) {
+    int sizeClass = sizeClass(minimumSize);
+    MemorySegment buffer = idle[sizeClass].poll();
+    if (buffer != null) {
+      retainedBytes.addAndGet(-buffer.byteSize());
+      return buffer;
+    }
+    // Buffers are only referenced by the pool and the documents using them, the GC frees the ones the pool drops.
+    return Arena.ofAuto().allocate(1L << (sizeClass + MIN_CLASS_SHIFT));
+  }
+
+  public void release(MemorySegment buffer) {
+    long size = buffer.byteSize();
+    if (Long.bitCount(size) != 1 || size < (1L << MIN_CLASS_SHIFT) || size > (1L << MAX_CLASS_SHIFT)) {
+      throw new IllegalArgumentException("Not a pooled buffer of " + size + " bytes");
+    }
+    if (retainedBytes.addAndGet(size) > maxRetainedBytes) {
+      retainedBytes.addAndGet(-size);
+      return;
+    }
+    idle[Long.numberOfTrailingZeros(size) - MIN_CLASS_SHIFT].offer(buffer);
+  }
+
+  public long retainedBytes() {
+    return retainedBytes.get();
+  }
+
+  // Reads the channel to its end into pooled buffers. The returned segment belongs to the given arena and its buffer
+  // goes back to the pool when the arena is closed, so no slice of a closed document can see the buffer's next use.
+  MemorySegment read(ReadableByteChannel channel, Arena arena) throws IOException {
+    long expectedSize = channel instanceof SeekableByteChannel seekable ? seekable.size() - seekable.position() + 1 : 0;
+    MemorySegment buffer = acquire(expectedSize);
+    try {
+      long size = 0;
+      ByteBuffer window = buffer.asByteBuffer();
+      while (true) {
+        if (size == buffer.byteSize()) {
+          MemorySegment larger = acquire(size * 2);
+          MemorySegment.copy(buffer, 0, larger, 0, size);
+          release(buffer);
+          buffer = larger;
+          window = buffer.asByteBuffer().position((int) size);
+        }
+        if (channel.read(window) == -1) {
+          break;
+        }
+        size = window.position();
+      }
+      MemorySegment pooled = buffer;
+      return buffer.reinterpret(size, arena, ignored -> release(pooled));
+    } catch (IOException | RuntimeException e) {
+      release(buffer);
+      throw e;
+    }
+  }
+
+  private static int sizeClass(long size) {
+    if (size > (1L << MAX_CLASS_SHIFT)) {
+      throw new IllegalArgumentException("Inputs are limited to " + (1L << MAX_CLASS_SHIFT) + " bytes, was " + size);
+    }
+    int shift = 64 - Long.numberOfLeadingZeros(Math.max(size, 1) - 1);
+    return Math.max(shift, MIN_CLASS_SHIFT) - MIN_CLASS_SHIFT;
+  }
+}
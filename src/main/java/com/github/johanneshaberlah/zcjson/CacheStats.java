@@ -0,0 +1,6 @@
+package com.github.johanneshaberlah.zcjson;
+
+// A snapshot of a JsonDocumentCache. Hits and misses count acquire calls; a miss also covers a cached document that
+// was replaced because its file changed.
+public record CacheStats(long hits, long misses, long evictions, int documents, long bytes) {
+}
@@ -0,0 +1,112 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.Tokenizer;
+import com.github.johanneshaberlah.zcjson.tokenizer.simd.SimdByteSearch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+// Reads JSON Lines records from a blocking channel into one buffer that only grows to fit the longest record. Bytes
+// of records that were handed out are dropped on the next read, so memory does not depend on the length of the input.
+final class ChannelRecordSource implements JsonLinesPublisher.RecordSource {
+  private static final byte NEWLINE = '\n';
+  private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+  private final ReadableByteChannel channel;
+  private final Tokenizer tokenizer;
+  private final RecordPrefilter prefilter;
+  private final SimdByteSearch byteSearch = new SimdByteSearch();
+
+  private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+  private MemorySegment segment = MemorySegment.ofArray(buffer);
+  private long[] tape = new long[1024];
+  private int start;
+  private int limit;
+  private boolean endOfInput;
+
+  ChannelRecordSource(ReadableByteChannel channel, Tokenizer tokenizer, RecordPrefilter prefilter) {
+    this.channel = channel;
+    this.tokenizer = tokenizer;
+    this.prefilter = prefilter;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super JsonDocument> action) {
+    while (true) {
+      if (prefilter != null) {
+        long candidate = prefilter.nextCandidate(byteSearch, segment, start, limit);
+        if (candidate == limit) {
+          if (endOfInput) {
+            start = limit;
+            return false;
+          }
+          // None of the complete records matched; only the last, incomplete one has to be kept.
+          start = lastRecordStart();
+          fill();
+          continue;
+        }
+        start = (int) candidate;
+      }
+      long newline = byteSearch.findByte(segment, start, limit, NEWLINE);
+      if (newline == limit && !endOfInput) {
+        fill();
+        continue;
+      }
+      if (start == limit) {
+        return false;
+      }
+      MemorySegment record = segment.asSlice(start, newline - start);
+      start = (int) Math.min(newline + 1, limit);
+      tape = tokenizer.read(record, tape);
+      if (tape[0] != -1) {
+        action.accept(new JsonDocument(new JsonLinesReader.RecordArena(segment.scope()), record, tape, 0, tape.length));
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      channel.close();
+    } catch (IOException ignored) {
+      // Everything that was needed has been read.
+    }
+  }
+
+  private int lastRecordStart() {
+    for (int index = limit - 1; index >= start; index--) {
+      if (buffer[index] == NEWLINE) {
+        return index + 1;
+      }
+    }
+    return start;
+  }
+
+  private void fill() {
+    if (start > 0) {
+      System.arraycopy(buffer, start, buffer, 0, limit - start);
+      limit -= start;
+      start = 0;
+    }
+    if (limit == buffer.length) {
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+      segment = MemorySegment.ofArray(buffer);
+    }
+    try {
+      int read = channel.read(ByteBuffer.wrap(buffer, limit, buffer.length - limit));
+      if (read == -1) {
+        endOfInput = true;
+      } else {
+        limit += read;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
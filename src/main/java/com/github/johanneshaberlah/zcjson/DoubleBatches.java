@@ -0,0 +1,68 @@
+package com.github.johanneshaberlah.zcjson;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Reductions over the batches the aggregators receive. Each keeps one accumulator vector across the batch and reduces
+// its lanes once at the end, so the loop is a chain of independent vector operations.
+final class DoubleBatches {
+  private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+  private DoubleBatches() {
+  }
+
+  static double sum(double[] batch, int count) {
+    int bound = SPECIES.loopBound(count);
+    DoubleVector sum = DoubleVector.zero(SPECIES);
+    int index = 0;
+    for (; index < bound; index += SPECIES.length()) {
+      sum = sum.add(DoubleVector.fromArray(SPECIES, batch, index));
+    }
+    double result = sum.reduceLanes(VectorOperators.ADD);
+    for (; index < count; index++) {
+      result += batch[index];
+    }
+    return result;
+  }
+
+  static double min(double[] batch, int count) {
+    int bound = SPECIES.loopBound(count);
+    DoubleVector min = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+    int index = 0;
+    for (; index < bound; index += SPECIES.length()) {
+      min = min.min(DoubleVector.fromArray(SPECIES, batch, index));
+    }
+    double result = min.reduceLanes(VectorOperators.MIN);
+    for (; index < count; index++) {
+      result = Math.min(result, batch[index]);
+    }
+    return result;
+  }
+
+  static double max(double[] batch, int count) {
+    int bound = SPECIES.loopBound(count);
+    DoubleVector max = DoubleVector.broadcast(SPECIES, Double.NEGATIVE_INFINITY);
+    int index = 0;
+    for (; index < bound; index += SPECIES.length()) {
+      max = max.max(DoubleVector.fromArray(SPECIES, batch, index));
+    }
+    double result = max.reduceLanes(VectorOperators.MAX);
+    for (; index < count; index++) {
+      result = Math.max(result, batch[index]);
+    }
+    return result;
+  }
+
+  // Increments of data-dependent buckets do not vectorize, so histograms are counted one number at a time.
+  static void histogram(double[] batch, int count, double lower, double upper, long[] buckets) {
+    double scale = buckets.length / (upper - lower);
+    for (int index = 0; index < count; index++) {
+      double value = batch[index];
+      if (value >= lower && value < upper) {
+        // Rounding can put values just below `upper` one past the last bucket.
+        buckets[Math.min((int) ((value - lower) * scale), buckets.length - 1)]++;
+      }
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.github.johanneshaberlah.zcjson;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// The elements [position, fence) of an array. Element boundaries come from the array's offsets, or are implied when
+// every element is one token, so the size of every split is exact and splitting halves the remaining elements.
+final class ElementSpliterator implements Spliterator<JsonElement> {
+  // Below this, a split costs more than handing the elements to another worker gains.
+  private static final int MIN_SPLIT_ELEMENTS = 64;
+
+  private final JsonDocument parent;
+  // The token index of every element, or null if element i is the token first + i.
+  private final int[] offsets;
+  private final int first;
+  private final int fence;
+  private int position;
+
+  ElementSpliterator(JsonDocument parent, int[] offsets, int first, int position, int fence) {
+    this.parent = parent;
+    this.offsets = offsets;
+    this.first = first;
+    this.position = position;
+    this.fence = fence;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super JsonElement> action) {
+    if (position >= fence) {
+      return false;
+    }
+    advance(action);
+    return true;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super JsonElement> action) {
+    while (position < fence) {
+      advance(action);
+    }
+  }
+
+  @Override
+  public Spliterator<JsonElement> trySplit() {
+    int middle = (position + fence) >>> 1;
+    if (middle - position < MIN_SPLIT_ELEMENTS) {
+      return null;
+    }
+    ElementSpliterator prefix = new ElementSpliterator(parent, offsets, first, position, middle);
+    position = middle;
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    return fence - position;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+  }
+
+  // Streams may keep the elements they are handed (toList, sorted, distinct), so each one is a new JsonElement.
+  private void advance(Consumer<? super JsonElement> action) {
+    int index = position++;
+    action.accept(new JsonElement(parent, offsets == null ? first + index : offsets[index], index));
+  }
+}
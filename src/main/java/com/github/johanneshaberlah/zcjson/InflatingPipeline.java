@@ -0,0 +1,277 @@
+package com.github.johanneshaberlah.zcjson;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+// Inflates a gzip file on its own thread into a ring of pooled off-heap buffers, while the caller processes the
+// buffers that are already complete. Filled buffers go to the caller and empty ones come back through two SPSC rings,
+// so the threads never share a buffer. Every buffer ends after a newline: the incomplete last line is moved to the
+// front of the next buffer, and a buffer grows when a single line does not fit.
+final class InflatingPipeline implements AutoCloseable {
+  private static final int BUFFERS = 4;
+  private static final long BUFFER_SIZE = 1 << 20;
+  private static final int MAX_INPUT_WINDOW = 1 << 30;
+
+  private static final ValueLayout.OfShort SHORT_LE = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+  private static final ValueLayout.OfInt INT_LE = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+  private static final int GZIP_MAGIC = 0x8b1f;
+  private static final int DEFLATE = 8;
+  private static final int FHCRC = 2;
+  private static final int FEXTRA = 4;
+  private static final int FNAME = 8;
+  private static final int FCOMMENT = 16;
+  private static final byte NEWLINE = '\n';
+
+  private final Path path;
+  private final BufferPool pool;
+  private final SpscRing<Chunk> filled = new SpscRing<>(BUFFERS);
+  private final SpscRing<MemorySegment> free = new SpscRing<>(BUFFERS);
+  private final Thread inflater;
+
+  private volatile boolean closed;
+  private volatile boolean finished;
+  private volatile Throwable failure;
+  // The buffer the caller is working on, returned to the producer on the next call.
+  private Chunk current;
+
+  InflatingPipeline(Path path, BufferPool pool) {
+    this.path = path;
+    this.pool = pool;
+    for (int i = 0; i < BUFFERS; i++) {
+      free.offer(pool.acquire(BUFFER_SIZE));
+    }
+    // A platform thread, since inflating is CPU-bound and is meant to run next to the caller on another core.
+    this.inflater = Thread.ofPlatform().name("zc-json-inflater").daemon().start(this::run);
+  }
+
+  // Returns the next complete lines, or null at the end of the file. The returned bytes are valid until the next call.
+  MemorySegment next() throws IOException {
+    if (current != null) {
+      // Both rings hold all buffers, so handing one back never fails.
+      free.offer(current.buffer());
+      current = null;
+    }
+    for (int attempt = 0; ; attempt++) {
+      // Read before polling: a chunk published before the producer finished is then seen by the poll.
+      boolean done = finished;
+      Chunk chunk = filled.poll();
+      if (chunk != null) {
+        current = chunk;
+        return chunk.buffer().asSlice(0, chunk.length());
+      }
+      if (done) {
+        rethrow(failure);
+        return null;
+      }
+      SpscRing.idle(attempt);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    try {
+      inflater.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while stopping the inflater");
+    } finally {
+      if (current != null) {
+        pool.release(current.buffer());
+        current = null;
+      }
+      for (Chunk chunk; (chunk = filled.poll()) != null; ) {
+        pool.release(chunk.buffer());
+      }
+    }
+    for (MemorySegment buffer; (buffer = free.poll()) != null; ) {
+      pool.release(buffer);
+    }
+  }
+
+  private void run() {
+    Inflater inflater = new Inflater(true);
+    MemorySegment buffer = null;
+    try (Arena arena = Arena.ofConfined();
+         FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MemorySegment input = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+      CRC32 checksum = new CRC32();
+      buffer = takeFree();
+      long length = 0;
+      long position = readHeader(input, 0);
+      long window = feed(inflater, input, position);
+      while (!closed) {
+        if (length == buffer.byteSize()) {
+          long cut = lastNewline(buffer, length) + 1;
+          if (cut == 0) {
+            // One line is longer than the buffer.
+            MemorySegment larger = pool.acquire(buffer.byteSize() * 2);
+            MemorySegment.copy(buffer, 0, larger, 0, length);
+            pool.release(buffer);
+            buffer = larger;
+            continue;
+          }
+          MemorySegment next = takeFree();
+          if (next == null) {
+            return;
+          }
+          if (length - cut > next.byteSize()) {
+            // A grown buffer can end with more of an unfinished line than a buffer of the initial size holds.
+            MemorySegment larger = pool.acquire(length - cut);
+            pool.release(next);
+            next = larger;
+          }
+          MemorySegment.copy(buffer, cut, next, 0, length - cut);
+          publish(buffer, cut);
+          buffer = next;
+          length -= cut;
+        }
+        ByteBuffer output = buffer.asSlice(length).asByteBuffer();
+        int inflated = inflater.inflate(output);
+        checksum.update(output.flip());
+        length += inflated;
+        if (inflater.finished()) {
+          position = window - inflater.getRemaining();
+          position = readTrailer(input, position, checksum, inflater.getBytesWritten());
+          // Concatenated members (e.g. from appending to a .gz) continue the same stream.
+          if (position + 2 > input.byteSize() || Short.toUnsignedInt(input.get(SHORT_LE, position)) != GZIP_MAGIC) {
+            break;
+          }
+          position = readHeader(input, position);
+          inflater.reset();
+          checksum.reset();
+          window = feed(inflater, input, position);
+        } else if (inflater.needsInput()) {
+          if (window == input.byteSize()) {
+            throw new ZipException("Unexpected end of GZIP input");
+          }
+          window = feed(inflater, input, window);
+        } else if (inflater.needsDictionary()) {
+          throw new ZipException("GZIP input requires a preset dictionary");
+        }
+      }
+      if (length > 0 && !closed) {
+        publish(buffer, length);
+        buffer = null;
+      }
+    } catch (IOException | DataFormatException | RuntimeException | Error e) {
+      failure = e;
+    } finally {
+      inflater.end();
+      if (buffer != null) {
+        pool.release(buffer);
+      }
+      finished = true;
+    }
+  }
+
+  // Hands the input from `position` to the inflater, at most as much as fits one ByteBuffer, and returns its end.
+  private static long feed(Inflater inflater, MemorySegment input, long position) {
+    long end = Math.min(input.byteSize(), position + MAX_INPUT_WINDOW);
+    inflater.setInput(input.asSlice(position, end - position).asByteBuffer());
+    return end;
+  }
+
+  private static long readHeader(MemorySegment input, long position) throws ZipException {
+    try {
+      if (Short.toUnsignedInt(input.get(SHORT_LE, position)) != GZIP_MAGIC) {
+        throw new ZipException("Not in GZIP format");
+      }
+      if (input.get(ValueLayout.JAVA_BYTE, position + 2) != DEFLATE) {
+        throw new ZipException("Unsupported compression method");
+      }
+      int flags = input.get(ValueLayout.JAVA_BYTE, position + 3);
+      // Magic, method, flags, modification time, extra flags and operating system.
+      position += 10;
+      if ((flags & FEXTRA) != 0) {
+        position += 2 + Short.toUnsignedInt(input.get(SHORT_LE, position));
+      }
+      if ((flags & FNAME) != 0) {
+        position = skipZeroTerminated(input, position);
+      }
+      if ((flags & FCOMMENT) != 0) {
+        position = skipZeroTerminated(input, position);
+      }
+      if ((flags & FHCRC) != 0) {
+        position += 2;
+      }
+      if (position > input.byteSize()) {
+        throw new IndexOutOfBoundsException();
+      }
+      return position;
+    } catch (IndexOutOfBoundsException e) {
+      throw new ZipException("Truncated GZIP header");
+    }
+  }
+
+  private static long skipZeroTerminated(MemorySegment input, long position) {
+    while (input.get(ValueLayout.JAVA_BYTE, position) != 0) {
+      position++;
+    }
+    return position + 1;
+  }
+
+  private static long readTrailer(MemorySegment input, long position, CRC32 checksum, long size) throws ZipException {
+    if (position + 8 > input.byteSize()) {
+      throw new ZipException("Truncated GZIP trailer");
+    }
+    if (Integer.toUnsignedLong(input.get(INT_LE, position)) != checksum.getValue()) {
+      throw new ZipException("Corrupt GZIP trailer: CRC32 mismatch");
+    }
+    if (input.get(INT_LE, position + 4) != (int) size) {
+      throw new ZipException("Corrupt GZIP trailer: size mismatch");
+    }
+    return position + 8;
+  }
+
+  private static long lastNewline(MemorySegment buffer, long length) {
+    for (long index = length - 1; index >= 0; index--) {
+      if (buffer.get(ValueLayout.JAVA_BYTE, index) == NEWLINE) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  private MemorySegment takeFree() {
+    for (int attempt = 0; !closed; attempt++) {
+      MemorySegment buffer = free.poll();
+      if (buffer != null) {
+        return buffer;
+      }
+      SpscRing.idle(attempt);
+    }
+    return null;
+  }
+
+  private void publish(MemorySegment buffer, long length) {
+    filled.offer(new Chunk(buffer, length));
+  }
+
+  private static void rethrow(Throwable failure) throws IOException {
+    switch (failure) {
+      case null -> { }
+      case IOException e -> throw e;
+      case DataFormatException e -> throw new ZipException(e.getMessage());
+      case RuntimeException e -> throw e;
+      case Error e -> throw e;
+      default -> throw new IOException(failure);
+    }
+  }
+
+  // The first `length` bytes of a pooled buffer, which goes back whole once the caller is done with it.
+  private record Chunk(MemorySegment buffer, long length) {
+  }
+}
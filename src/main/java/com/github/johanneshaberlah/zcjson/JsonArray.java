@@ -3,13 +3,26 @@ package com.github.johanneshaberlah.zcjson;
 import com.github.johanneshaberlah.zcjson.tokenizer.Token;
 
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class JsonArray {
+public class JsonArray implements Iterable<JsonElement> {
   private final JsonDocument parent;
   private final int start;
   private final int end;
 
   private int length = -1;
+  // The token index of every element, once the array has been iterated.
+  private int[] offsets;
 
   JsonArray(JsonDocument parent, int start, int end) {
     this.parent = parent;
@@ -36,7 +49,173 @@ public class JsonArray {
     return parent.readArrayAt(tokenIndex);
   }
 
+  // The elements in order. The element offsets are collected in one pass on first use, so the stream is sized and
+  // parallel() splits it into even runs of elements; the document's memory then has to be accessible from other
+  // threads.
+  public Stream<JsonElement> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  @Override
+  public Spliterator<JsonElement> spliterator() {
+    if (column() != null) {
+      // Every element of a numeric column is a single token.
+      return new ElementSpliterator(parent, null, start + 1, 0, end - start - 1);
+    }
+    int[] offsets = offsets();
+    return new ElementSpliterator(parent, offsets, start + 1, 0, offsets.length);
+  }
+
+  @Override
+  public Iterator<JsonElement> iterator() {
+    return Spliterators.iterator(spliterator());
+  }
+
+  // Passes every element to the action without allocating one per element: unlike forEach, the action gets the same
+  // JsonElement each time, moved to the next element. It must not keep the element beyond its call, or has to keep a
+  // copy().
+  public void forEachCursor(Consumer<? super JsonElement> action) {
+    JsonElement cursor = new JsonElement(parent, 0, 0);
+    long[] tokens = parent.tokens;
+    int index = 0;
+    for (int tokenIndex = start + 1; tokenIndex < end; tokenIndex++) {
+      cursor.moveTo(tokenIndex, index++);
+      action.accept(cursor);
+      if (!Token.isValue((int) (tokens[tokenIndex] >>> 60))) {
+        tokenIndex = parent.findEndOfStructure(tokenIndex);
+      }
+    }
+  }
+
+  // Reads the number stored under the key in every element, which have to be objects, in one pass over the array's
+  // tokens. Missing members and nulls become NaN.
+  public double[] extractDoubles(JsonKey key) {
+    double[] values = new double[initialCapacity()];
+    int count = 0;
+    for (int index = start + 1; index < end; index++) {
+      long member = findMember(index, key);
+      if (count == values.length) {
+        values = Arrays.copyOf(values, count * 2);
+      }
+      values[count++] = doubleAt((int) member - 1);
+      index = (int) (member >>> 32);
+    }
+    return count == values.length ? values : Arrays.copyOf(values, count);
+  }
+
+  // Writes the doubles into an off-heap column, one JAVA_DOUBLE per element, and returns the number of elements.
+  public int extractDoubles(JsonKey key, MemorySegment column) {
+    int count = 0;
+    for (int index = start + 1; index < end; index++) {
+      long member = findMember(index, key);
+      column.setAtIndex(ValueLayout.JAVA_DOUBLE, count++, doubleAt((int) member - 1));
+      index = (int) (member >>> 32);
+    }
+    return count;
+  }
+
+  // Like extractDoubles, but every element has to have an integral number under the key.
+  public long[] extractLongs(JsonKey key) {
+    long[] values = new long[initialCapacity()];
+    int count = 0;
+    for (int index = start + 1; index < end; index++) {
+      long member = findMember(index, key);
+      if (count == values.length) {
+        values = Arrays.copyOf(values, count * 2);
+      }
+      values[count++] = longAt((int) member - 1, key);
+      index = (int) (member >>> 32);
+    }
+    return count == values.length ? values : Arrays.copyOf(values, count);
+  }
+
+  public int extractLongs(JsonKey key, MemorySegment column) {
+    int count = 0;
+    for (int index = start + 1; index < end; index++) {
+      long member = findMember(index, key);
+      column.setAtIndex(ValueLayout.JAVA_LONG, count++, longAt((int) member - 1, key));
+      index = (int) (member >>> 32);
+    }
+    return count;
+  }
+
+  // The value segments under the key, as readValueSegment returns them, or null for elements without the member.
+  public MemorySegment[] extractSegments(JsonKey key) {
+    MemorySegment[] values = new MemorySegment[initialCapacity()];
+    int count = 0;
+    for (int index = start + 1; index < end; index++) {
+      long member = findMember(index, key);
+      if (count == values.length) {
+        values = Arrays.copyOf(values, count * 2);
+      }
+      int valueIndex = (int) member - 1;
+      values[count++] = valueIndex == -1 ? null : parent.readValueAt(valueIndex);
+      index = (int) (member >>> 32);
+    }
+    return count == values.length ? values : Arrays.copyOf(values, count);
+  }
+
+  // The elements, which have to be numbers or null (NaN), as a packed column of JAVA_DOUBLEs. Arrays that got a column
+  // when the document was read (see JsonDocumentReader.withNumericColumns) return a read-only view of it; others are
+  // parsed into a new segment on the heap.
+  public MemorySegment asDoubleSegment() {
+    MemorySegment column = column();
+    if (column != null) {
+      return column.asReadOnly();
+    }
+    // Every element of such an array is a single token.
+    double[] values = new double[end - start - 1];
+    for (int index = start + 1; index < end; index++) {
+      values[index - start - 1] = doubleAt(index);
+    }
+    return MemorySegment.ofArray(values);
+  }
+
+  public DoubleStream doubles() {
+    MemorySegment column = asDoubleSegment();
+    return IntStream.range(0, (int) (column.byteSize() / Double.BYTES))
+      .mapToDouble(index -> column.getAtIndex(ValueLayout.JAVA_DOUBLE, index));
+  }
+
+  // The packed column of this array, or null if the document was read without columns or the array did not qualify.
+  MemorySegment column() {
+    return parent.columns == null ? null : parent.columns.find(start);
+  }
+
+  // Aggregates the elements, which have to be numbers or null, without materializing them; e.g.
+  // aggregate(Aggregator.sum()). Nulls are skipped.
+  public <R> R aggregate(Aggregator<?, R> aggregator) {
+    return aggregate(null, aggregator, null);
+  }
+
+  // Aggregates the number under the key of every element, which have to be objects. Missing members and nulls are
+  // skipped.
+  public <R> R aggregate(JsonKey key, Aggregator<?, R> aggregator) {
+    return aggregate(key, aggregator, null);
+  }
+
+  // Splits large arrays into runs of elements that are aggregated on the common ForkJoin pool. The document's memory
+  // has to be accessible from other threads, as with a SharedJsonDocument or a segment of a shared arena.
+  public <R> R parallelAggregate(Aggregator<?, R> aggregator) {
+    return aggregate(null, aggregator, ForkJoinPool.commonPool());
+  }
+
+  public <R> R parallelAggregate(JsonKey key, Aggregator<?, R> aggregator) {
+    return aggregate(key, aggregator, ForkJoinPool.commonPool());
+  }
+
+  private <A, R> R aggregate(JsonKey key, Aggregator<A, R> aggregator, ForkJoinPool pool) {
+    ArrayAggregation<A, R> aggregation = new ArrayAggregation<>(this, parent, start, end, key, aggregator);
+    return pool == null ? aggregation.sequential() : aggregation.parallel(pool);
+  }
+
   public int findTokenIndex(int arrayIndex) {
+    if (offsets != null) {
+      if (arrayIndex < 0 || arrayIndex >= offsets.length) {
+        throw new ArrayIndexOutOfBoundsException(arrayIndex);
+      }
+      return offsets[arrayIndex];
+    }
     int logicalIndex = 0;
     for (int index = start + 1; index < end; index++) {
       long token = parent.tokens[index];
@@ -53,6 +232,89 @@ public class JsonArray {
     throw new ArrayIndexOutOfBoundsException(arrayIndex);
   }
 
+  // Finds the member in the object element starting at the index. Returns the index of its value token plus one (zero
+  // if it is missing) in the low half and the index of the element's end marker in the high half, so extraction steps
+  // to the next element without scanning this one twice.
+  long findMember(int objectIndex, JsonKey key) {
+    long[] tokens = parent.tokens;
+    if ((int) (tokens[objectIndex] >>> 60) != Token.OBJECT_START_MARKER) {
+      throw new IllegalStateException("The element at token " + objectIndex + " is not an object");
+    }
+    int valueIndex = -1;
+    int index = objectIndex + 1;
+    while ((int) (tokens[index] >>> 60) == Token.KEY) {
+      int candidate = index + 1;
+      if (key.matches(parent.segment, tokens[index])) {
+        valueIndex = candidate;
+        if (parent.jumps != null) {
+          // The end marker is one lookup away, so the rest of the members need not be walked.
+          index = parent.findEndOfStructure(objectIndex);
+          break;
+        }
+      }
+      int type = (int) (tokens[candidate] >>> 60);
+      boolean structure = type == Token.OBJECT_START_MARKER || type == Token.ARRAY_START_MARKER;
+      index = (structure ? parent.findEndOfStructure(candidate) : candidate) + 1;
+    }
+    return ((long) index << 32) | (valueIndex + 1);
+  }
+
+  private double doubleAt(int valueIndex) {
+    if (valueIndex == -1) {
+      return Double.NaN;
+    }
+    long token = parent.tokens[valueIndex];
+    int type = (int) (token >>> 60);
+    if (type == Token.NULL) {
+      return Double.NaN;
+    }
+    if (type != Token.NUMBER) {
+      throw notANumber(type, valueIndex);
+    }
+    return JsonValue.parseDouble(parent.segment, (token >>> 30) & 0x3FFFFFFFL, token & 0x3FFFFFFFL);
+  }
+
+  private long longAt(int valueIndex, JsonKey key) {
+    if (valueIndex == -1) {
+      throw new JsonKeyNotFoundException(key);
+    }
+    long token = parent.tokens[valueIndex];
+    int type = (int) (token >>> 60);
+    if (type != Token.NUMBER) {
+      throw notANumber(type, valueIndex);
+    }
+    return JsonValue.parseLong(parent.segment, (token >>> 30) & 0x3FFFFFFFL, token & 0x3FFFFFFFL);
+  }
+
+  static IllegalStateException notANumber(int type, int tokenIndex) {
+    return new IllegalStateException("Expected a number but found " + Token.toString(type) + " at token " + tokenIndex);
+  }
+
+  private int[] offsets() {
+    if (offsets != null) {
+      return offsets;
+    }
+    int[] elements = new int[initialCapacity()];
+    int count = 0;
+    for (int index = start + 1; index < end; index++) {
+      if (count == elements.length) {
+        elements = Arrays.copyOf(elements, Math.max(16, count * 2));
+      }
+      elements[count++] = index;
+      int type = (int) (parent.tokens[index] >>> 60);
+      if (!Token.isValue(type)) {
+        index = parent.findEndOfStructure(index);
+      }
+    }
+    offsets = count == elements.length ? elements : Arrays.copyOf(elements, count);
+    length = count;
+    return offsets;
+  }
+
+  private int initialCapacity() {
+    return length != -1 ? length : 16;
+  }
+
   public int length() {
     if (length != -1) {
       return length;
@@ -0,0 +1,308 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.Token;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Binds objects to records. The record is analyzed once: every component gets a precomputed key and a method handle
+// that reads its value straight from the tape, and the handles are combined with the canonical constructor into one
+// tree of type (JsonDocument, int[]) -> record. Binding is then a single pass over the members of the object that notes
+// where each component's value is, followed by one invocation of that tree, so primitive components are parsed and
+// passed to the constructor without boxing and without an intermediate map.
+//
+// Supported component types are the primitives and their wrappers, String, enums (by name), records and List of any of
+// these. Missing members and null values become null for reference types; for primitives they are an error.
+public final class JsonBinder<T extends Record> {
+  private static final ClassValue<JsonBinder<?>> BINDERS = new ClassValue<>() {
+    @Override
+    protected JsonBinder<?> computeValue(Class<?> type) {
+      return analyze(type.asSubclass(Record.class));
+    }
+  };
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  private static final MethodType VALUE_READER = MethodType.methodType(Object.class, JsonDocument.class, int.class);
+  private static final MethodHandle READ_LONG = reader("readLong", long.class);
+  private static final MethodHandle READ_INT = reader("readInt", int.class);
+  private static final MethodHandle READ_DOUBLE = reader("readDouble", double.class);
+  private static final MethodHandle READ_FLOAT = reader("readFloat", float.class);
+  private static final MethodHandle READ_BOOLEAN = reader("readBoolean", boolean.class);
+  private static final MethodHandle READ_STRING = reader("readString", String.class);
+  private static final MethodHandle IS_ABSENT = reader("isAbsent", boolean.class);
+  private static final MethodHandle READ_ENUM;
+  private static final MethodHandle READ_RECORD;
+  private static final MethodHandle READ_LIST;
+
+  static {
+    try {
+      READ_ENUM = LOOKUP.findStatic(JsonBinder.class, "readEnum",
+        MethodType.methodType(Enum.class, Class.class, JsonDocument.class, int.class));
+      READ_RECORD = LOOKUP.findStatic(JsonBinder.class, "readRecord",
+        MethodType.methodType(Record.class, Class.class, JsonDocument.class, int.class));
+      READ_LIST = LOOKUP.findStatic(JsonBinder.class, "readList",
+        MethodType.methodType(List.class, MethodHandle.class, JsonDocument.class, int.class));
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final Class<T> type;
+  private final JsonKey[] keys;
+  // Primitive components, which have to be present.
+  private final boolean[] required;
+  private final MethodHandle constructor;
+
+  private JsonBinder(Class<T> type, JsonKey[] keys, boolean[] required, MethodHandle constructor) {
+    this.type = type;
+    this.keys = keys;
+    this.required = required;
+    this.constructor = constructor;
+  }
+
+  // Binders are cached per class, so asking for the same record again is cheap.
+  @SuppressWarnings("unchecked")
+  public static <T extends Record> JsonBinder<T> of(Class<T> type) {
+    return (JsonBinder<T>) BINDERS.get(type);
+  }
+
+  public T read(JsonDocument document) {
+    return bind(document, document.startToken());
+  }
+
+  // Binds the object stored under the key, e.g. one nested in an envelope.
+  public T read(JsonDocument document, JsonKey key) {
+    return bind(document, document.findTokenIndex(key) + 1);
+  }
+
+  public Class<T> type() {
+    return type;
+  }
+
+  T bind(JsonDocument document, int startIndex) {
+    long[] tokens = document.tokens;
+    if ((int) (tokens[startIndex] >>> 60) != Token.OBJECT_START_MARKER) {
+      throw new IllegalStateException("Only objects can be bound to " + type.getName());
+    }
+    int[] values = new int[keys.length];
+    Arrays.fill(values, -1);
+    int remaining = keys.length;
+    for (int index = startIndex + 1; remaining > 0; ) {
+      long token = tokens[index];
+      if ((int) (token >>> 60) != Token.KEY) {
+        // The end marker of the object.
+        break;
+      }
+      int valueIndex = index + 1;
+      int slot = slotOf(document.segment, token);
+      if (slot != -1 && values[slot] == -1) {
+        values[slot] = valueIndex;
+        remaining--;
+      }
+      int valueType = (int) (tokens[valueIndex] >>> 60);
+      boolean structure = valueType == Token.OBJECT_START_MARKER || valueType == Token.ARRAY_START_MARKER;
+      index = (structure ? document.findEndOfStructure(valueIndex) : valueIndex) + 1;
+    }
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (required[slot] && values[slot] == -1) {
+        throw new JsonKeyNotFoundException(keys[slot]);
+      }
+    }
+    try {
+      return type.cast((Object) constructor.invokeExact(document, values));
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException("Could not construct " + type.getName(), e);
+    }
+  }
+
+  private int slotOf(MemorySegment segment, long token) {
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot].matches(segment, token)) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  private static <T extends Record> JsonBinder<T> analyze(Class<T> type) {
+    RecordComponent[] components = type.getRecordComponents();
+    JsonKey[] keys = new JsonKey[components.length];
+    boolean[] required = new boolean[components.length];
+    Class<?>[] parameterTypes = new Class<?>[components.length];
+    MethodHandle[] readers = new MethodHandle[components.length];
+    for (int slot = 0; slot < components.length; slot++) {
+      RecordComponent component = components[slot];
+      keys[slot] = JsonKey.of(component.getName());
+      required[slot] = component.getType().isPrimitive();
+      parameterTypes[slot] = component.getType();
+      // (JsonDocument, int) -> component, fed with values[slot]: (JsonDocument, int[]) -> component.
+      MethodHandle slotIndex = MethodHandles.insertArguments(MethodHandles.arrayElementGetter(int[].class), 1, slot);
+      readers[slot] = MethodHandles.filterArguments(valueReader(component.getGenericType(), component), 1, slotIndex);
+    }
+    MethodHandle constructor;
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, LOOKUP);
+      constructor = lookup.findConstructor(type, MethodType.methodType(void.class, parameterTypes));
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException("The canonical constructor of " + type.getName() + " is not accessible", e);
+    }
+    // Each constructor parameter is replaced by its reader, and the readers' copies of (JsonDocument, int[]) are then
+    // merged into one.
+    MethodHandle combined = constructor;
+    for (int slot = 0; slot < components.length; slot++) {
+      combined = MethodHandles.collectArguments(combined, slot * 2, readers[slot]);
+    }
+    int[] reorder = new int[components.length * 2];
+    for (int slot = 0; slot < components.length; slot++) {
+      reorder[slot * 2 + 1] = 1;
+    }
+    MethodType bound = MethodType.methodType(type, JsonDocument.class, int[].class);
+    combined = MethodHandles.permuteArguments(combined, bound, reorder);
+    return new JsonBinder<>(type, keys, required, combined.asType(bound.changeReturnType(Object.class)));
+  }
+
+  // A handle of type (JsonDocument, int) -> the component's type, reading the value token at the index, or -1 if the
+  // member is missing.
+  private static MethodHandle valueReader(Type genericType, RecordComponent component) {
+    Class<?> type = genericType instanceof ParameterizedType parameterized
+      ? (Class<?>) parameterized.getRawType()
+      : genericType instanceof Class<?> raw ? raw : null;
+    if (type == null) {
+      throw new IllegalArgumentException("Unsupported type " + genericType + " of " + component);
+    }
+    if (type == long.class) return READ_LONG;
+    if (type == int.class) return READ_INT;
+    if (type == double.class) return READ_DOUBLE;
+    if (type == float.class) return READ_FLOAT;
+    if (type == boolean.class) return READ_BOOLEAN;
+    if (type == String.class) return READ_STRING;
+    if (type == Long.class) return nullable(READ_LONG, Long.class);
+    if (type == Integer.class) return nullable(READ_INT, Integer.class);
+    if (type == Double.class) return nullable(READ_DOUBLE, Double.class);
+    if (type == Float.class) return nullable(READ_FLOAT, Float.class);
+    if (type == Boolean.class) return nullable(READ_BOOLEAN, Boolean.class);
+    if (type.isEnum()) {
+      return READ_ENUM.bindTo(type).asType(MethodType.methodType(type, JsonDocument.class, int.class));
+    }
+    if (type.isRecord()) {
+      // Resolved when reading, so records may contain themselves, e.g. in a List of children.
+      return READ_RECORD.bindTo(type).asType(MethodType.methodType(type, JsonDocument.class, int.class));
+    }
+    if (type == List.class && genericType instanceof ParameterizedType parameterized) {
+      MethodHandle element = valueReader(parameterized.getActualTypeArguments()[0], component).asType(VALUE_READER);
+      return READ_LIST.bindTo(element);
+    }
+    throw new IllegalArgumentException("Unsupported type " + genericType + " of " + component);
+  }
+
+  // Absent members and null values become null, everything else is read by the primitive reader and boxed.
+  private static MethodHandle nullable(MethodHandle reader, Class<?> boxed) {
+    MethodType type = MethodType.methodType(boxed, JsonDocument.class, int.class);
+    return MethodHandles.guardWithTest(IS_ABSENT, MethodHandles.empty(type), reader.asType(type));
+  }
+
+  private static MethodHandle reader(String name, Class<?> returnType) {
+    try {
+      return LOOKUP.findStatic(JsonBinder.class, name, MethodType.methodType(returnType, JsonDocument.class, int.class));
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private static boolean isAbsent(JsonDocument document, int index) {
+    return index == -1 || (int) (document.tokens[index] >>> 60) == Token.NULL;
+  }
+
+  private static long readLong(JsonDocument document, int index) {
+    long token = expect(document, index, Token.NUMBER);
+    return JsonValue.parseLong(document.segment, (token >>> 30) & 0x3FFFFFFFL, token & 0x3FFFFFFFL);
+  }
+
+  private static int readInt(JsonDocument document, int index) {
+    return Math.toIntExact(readLong(document, index));
+  }
+
+  private static double readDouble(JsonDocument document, int index) {
+    long token = expect(document, index, Token.NUMBER);
+    return JsonValue.parseDouble(document.segment, (token >>> 30) & 0x3FFFFFFFL, token & 0x3FFFFFFFL);
+  }
+
+  private static float readFloat(JsonDocument document, int index) {
+    return (float) readDouble(document, index);
+  }
+
+  private static boolean readBoolean(JsonDocument document, int index) {
+    int type = (int) (document.tokens[index] >>> 60);
+    if (type == Token.BOOLEAN_TRUE || type == Token.BOOLEAN_FALSE) {
+      return type == Token.BOOLEAN_TRUE;
+    }
+    throw unexpected(type, Token.BOOLEAN_TRUE, index);
+  }
+
+  private static String readString(JsonDocument document, int index) {
+    if (isAbsent(document, index)) {
+      return null;
+    }
+    long token = expect(document, index, Token.STRING);
+    MemorySegment value = document.segment.asSlice((token >>> 30) & 0x3FFFFFFFL, token & 0x3FFFFFFFL);
+    return StandardCharsets.UTF_8.decode(value.asByteBuffer()).toString();
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Enum<?> readEnum(Class type, JsonDocument document, int index) {
+    String name = readString(document, index);
+    return name == null ? null : Enum.valueOf(type, name);
+  }
+
+  private static Record readRecord(Class<?> type, JsonDocument document, int index) {
+    if (isAbsent(document, index)) {
+      return null;
+    }
+    return BINDERS.get(type).bind(document, index);
+  }
+
+  private static List<?> readList(MethodHandle element, JsonDocument document, int index) throws Throwable {
+    if (isAbsent(document, index)) {
+      return null;
+    }
+    expect(document, index, Token.ARRAY_START_MARKER);
+    long[] tokens = document.tokens;
+    int endIndex = document.findEndOfStructure(index);
+    List<Object> values = new ArrayList<>();
+    for (int elementIndex = index + 1; elementIndex < endIndex; elementIndex++) {
+      values.add((Object) element.invokeExact(document, elementIndex));
+      int type = (int) (tokens[elementIndex] >>> 60);
+      if (type == Token.OBJECT_START_MARKER || type == Token.ARRAY_START_MARKER) {
+        elementIndex = document.findEndOfStructure(elementIndex);
+      }
+    }
+    return Collections.unmodifiableList(values);
+  }
+
+  private static long expect(JsonDocument document, int index, int expectedType) {
+    long token = document.tokens[index];
+    int type = (int) (token >>> 60);
+    if (type != expectedType) {
+      throw unexpected(type, expectedType, index);
+    }
+    return token;
+  }
+
+  private static IllegalStateException unexpected(int type, int expectedType, int index) {
+    return new IllegalStateException(String.format(
+      "Expected %s but found %s at token %d", Token.toString(expectedType), Token.toString(type), index
+    ));
+  }
+}
@@ -2,16 +2,21 @@ package com.github.johanneshaberlah.zcjson;
 
 import com.github.johanneshaberlah.zcjson.tokenizer.Token;
 
+import java.io.IOException;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.nio.channels.WritableByteChannel;
 
 public final class JsonDocument implements AutoCloseable {
   final MemorySegment segment;
   final long[] tokens;
+  final int[] jumps;
+  final NumericColumns columns;
 
   private final Arena arena;
+  private final LookupRecorder recorder;
   private final int startToken;
-  private int endToken;
+  private final int endToken;
 
   public JsonDocument(
     Arena arena,
@@ -19,12 +24,52 @@ public final class JsonDocument implements AutoCloseable {
     long[] tokens,
     int startToken,
     int endToken
+  ) {
+    this(arena, segment, tokens, startToken, endToken, null);
+  }
+
+  JsonDocument(
+    Arena arena,
+    MemorySegment segment,
+    long[] tokens,
+    int startToken,
+    int endToken,
+    LookupRecorder recorder
+  ) {
+    this(arena, segment, tokens, startToken, endToken, recorder, null);
+  }
+
+  // The jump table, if present, holds the index of the matching end marker for every container start (see TokenIndex).
+  JsonDocument(
+    Arena arena,
+    MemorySegment segment,
+    long[] tokens,
+    int startToken,
+    int endToken,
+    LookupRecorder recorder,
+    int[] jumps
+  ) {
+    this(arena, segment, tokens, startToken, endToken, recorder, jumps, null);
+  }
+
+  JsonDocument(
+    Arena arena,
+    MemorySegment segment,
+    long[] tokens,
+    int startToken,
+    int endToken,
+    LookupRecorder recorder,
+    int[] jumps,
+    NumericColumns columns
   ) {
     this.arena = arena;
     this.segment = segment;
     this.tokens = tokens;
     this.startToken = startToken;
     this.endToken = endToken;
+    this.recorder = recorder;
+    this.jumps = jumps;
+    this.columns = columns;
   }
 
   public JsonValue readValue(String key) {
@@ -47,6 +92,69 @@ public final class JsonDocument implements AutoCloseable {
     return segment.asSlice(valueStart, valueLength);
   }
 
+  // The value as it appears in the input, with the quotes of a string and the brackets of an object or array, e.g. to
+  // splice it into a JsonWriter unchanged.
+  public MemorySegment readRawSegment(JsonKey key) {
+    return readRawAt(findTokenIndex(key) + 1);
+  }
+
+  // This object as it appears in the input.
+  public MemorySegment rawSegment() {
+    return readRawAt(startToken);
+  }
+
+  // Writes this object without insignificant whitespace. Strings are copied unchanged and everything between them is
+  // compacted with vector compress, so minifying needs no parsing beyond the existing tape.
+  public void writeMinified(WritableByteChannel channel) throws IOException {
+    try (JsonWriter writer = JsonWriter.to(channel)) {
+      writeMinified(writer);
+    }
+  }
+
+  public void writeMinified(JsonWriter writer) {
+    TapeFormatter.minify(this, writer);
+  }
+
+  // Writes this object with one member or element per line, indented by the given number of spaces per level.
+  public void writePretty(WritableByteChannel channel, int indent) throws IOException {
+    try (JsonWriter writer = JsonWriter.to(channel)) {
+      writePretty(writer, indent);
+    }
+  }
+
+  public void writePretty(JsonWriter writer, int indent) {
+    TapeFormatter.pretty(this, writer, indent);
+  }
+
+  MemorySegment readRawAt(int tokenIndex) {
+    long start = rawStart(tokenIndex);
+    return segment.asSlice(start, rawEnd(tokenIndex) - start);
+  }
+
+  // Where the token starts in the input; strings and keys are tokenized without their quotes.
+  long rawStart(int tokenIndex) {
+    long token = tokens[tokenIndex];
+    int type = (int) (token >>> 60);
+    long start = (token >>> 30) & 0x3FFFFFFFL;
+    return type == Token.STRING || type == Token.KEY ? start - 1 : start;
+  }
+
+  // Where the value starting at the token ends in the input, after the end marker for objects and arrays.
+  long rawEnd(int tokenIndex) {
+    long token = tokens[tokenIndex];
+    int type = (int) (token >>> 60);
+    if (type == Token.OBJECT_START_MARKER || type == Token.ARRAY_START_MARKER) {
+      long endMarker = tokens[findEndOfStructure(tokenIndex)];
+      return ((endMarker >>> 30) & 0x3FFFFFFFL) + 1;
+    }
+    long end = ((token >>> 30) & 0x3FFFFFFFL) + (token & 0x3FFFFFFFL);
+    return type == Token.STRING || type == Token.KEY ? end + 1 : end;
+  }
+
+  int startToken() {
+    return startToken;
+  }
+
   public JsonDocument readObject(String key) {
     int startIndex = findTokenIndex(JsonKey.of(key));
     return readObjectAt(startIndex + 1);
@@ -64,7 +172,10 @@ public final class JsonDocument implements AutoCloseable {
       this.segment,
       this.tokens,
       startIndex,
-      endIndex
+      endIndex,
+      this.recorder,
+      this.jumps,
+      this.columns
     );
   }
 
@@ -88,11 +199,21 @@ public final class JsonDocument implements AutoCloseable {
   }
 
   int findTokenIndex(JsonKey key) {
+    int index = indexOf(key);
+    if (index == -1) {
+      throw new JsonKeyNotFoundException(key);
+    }
+    return index;
+  }
+
+  // Returns the index of the key token, or -1 if this object has no such key. Only reads the tape, so documents over a
+  // shared arena can be queried from many threads at once.
+  int indexOf(JsonKey key) {
     int depth = 0;
-    for (int index = startToken; index < endToken; index++) {
+    int index = startToken;
+    for (; index < endToken; index++) {
       long token = tokens[index];
       if (token == -1) {
-        endToken = index - 1;
         break;
       }
       int type = (int) (token >>> 60);
@@ -110,17 +231,32 @@ public final class JsonDocument implements AutoCloseable {
       }
       int start = (int) ((token >>> 30) & 0x3FFFFFFFL);
 
-      MemorySegment candidate = segment.asSlice(start, length);
-      if (candidate.mismatch(key.segment()) == -1) {
+      // Compare in place - slicing every candidate key would allocate on each step of the scan.
+      if (MemorySegment.mismatch(segment, start, start + length, key.segment(), 0, length) == -1) {
+        if (recorder != null) {
+          recorder.record(key, index - startToken + 1, true);
+        }
         return index;
       }
     }
-    throw new JsonKeyNotFoundException(key);
+    if (recorder != null) {
+      recorder.record(key, index - startToken, false);
+    }
+    return -1;
   }
 
   int findEndOfStructure(int startIndex) {
+    if (jumps != null && startIndex < jumps.length) {
+      int endIndex = jumps[startIndex];
+      if (endIndex != -1) {
+        return endIndex;
+      }
+      throw new IllegalStateException("Malformed JSON structure starting at token " + startIndex);
+    }
     int depth = 0;
-    for (int index = startIndex; index < endToken; index++) {
+    // The end token of a nested object is its own end marker.
+    int limit = Math.min(endToken + 1, tokens.length);
+    for (int index = startIndex; index < limit; index++) {
       int type = (int) (tokens[index] >>> 60);
       if (type == Token.OBJECT_START_MARKER || type == Token.ARRAY_START_MARKER) {
         depth++;
@@ -137,6 +273,9 @@ public final class JsonDocument implements AutoCloseable {
   }
 
   public void close() {
+    if (recorder != null) {
+      recorder.close();
+    }
     arena.close();
   }
 }
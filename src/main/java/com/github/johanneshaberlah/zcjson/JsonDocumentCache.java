@@ -0,0 +1,137 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.Tokenizer;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keeps mapped and tokenized files alive between reads. Entries are keyed by path and only reused while the file's
+// size and modification time are unchanged. The least recently used entries are evicted once the mapped bytes exceed
+// the limit; documents handed out before stay valid until they are closed, as every entry is a SharedJsonDocument.
+public final class JsonDocumentCache implements AutoCloseable {
+  private final JsonDocumentReader reader;
+  // Misses tokenize concurrently, each with a tokenizer of its own.
+  private final TokenizerPool tokenizers;
+  private final long maxBytes;
+
+  // Guarded by `this`. Access order makes iteration start at the least recently used entry.
+  private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long bytes;
+  private long hits;
+  private long misses;
+  private long evictions;
+  private boolean closed;
+
+  public JsonDocumentCache(JsonDocumentReader reader, long maxBytes) {
+    this.reader = reader;
+    this.tokenizers = reader.tokenizerPool(Runtime.getRuntime().availableProcessors());
+    this.maxBytes = maxBytes;
+  }
+
+  // Returns a document handle for the file, mapping and tokenizing it only if it is not cached in its current version.
+  // The handle can be used from any thread and must be closed.
+  public JsonDocument acquire(Path path) throws IOException {
+    Path key = path.toAbsolutePath().normalize();
+    BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+    synchronized (this) {
+      ensureOpen();
+      Entry entry = entries.get(key);
+      if (entry != null && entry.matches(attributes)) {
+        hits++;
+        return entry.document.acquire();
+      }
+      misses++;
+    }
+
+    // Read outside the lock so that a large file does not block hits on other entries. Two threads missing the same
+    // file both read it and the later one wins.
+    Entry loaded = new Entry(read(key), attributes.size(), attributes.lastModifiedTime());
+    synchronized (this) {
+      if (closed) {
+        loaded.document.close();
+        throw new IllegalStateException("The cache is closed");
+      }
+      JsonDocument handle = loaded.document.acquire();
+      Entry replaced = entries.put(key, loaded);
+      if (replaced != null) {
+        bytes -= replaced.document.byteSize();
+        replaced.document.close();
+      }
+      bytes += loaded.document.byteSize();
+      evict();
+      return handle;
+    }
+  }
+
+  public synchronized void invalidate(Path path) {
+    Entry entry = entries.remove(path.toAbsolutePath().normalize());
+    if (entry != null) {
+      bytes -= entry.document.byteSize();
+      entry.document.close();
+    }
+  }
+
+  public synchronized CacheStats stats() {
+    return new CacheStats(hits, misses, evictions, entries.size(), bytes);
+  }
+
+  // Releases every cached document; handles that are still open stay valid.
+  @Override
+  public void close() {
+    List<Entry> released;
+    synchronized (this) {
+      closed = true;
+      released = new ArrayList<>(entries.values());
+      entries.clear();
+      bytes = 0;
+    }
+    released.forEach(entry -> entry.document.close());
+  }
+
+  private SharedJsonDocument read(Path path) throws IOException {
+    Tokenizer tokenizer;
+    try {
+      tokenizer = tokenizers.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a tokenizer");
+    }
+    try {
+      return reader.readShared(path, tokenizer);
+    } finally {
+      tokenizers.release(tokenizer);
+    }
+  }
+
+  private void evict() {
+    Iterator<Map.Entry<Path, Entry>> iterator = entries.entrySet().iterator();
+    while (bytes > maxBytes && iterator.hasNext()) {
+      Entry entry = iterator.next().getValue();
+      iterator.remove();
+      bytes -= entry.document.byteSize();
+      evictions++;
+      entry.document.close();
+    }
+  }
+
+  private void ensureOpen() {
+    if (closed) {
+      throw new IllegalStateException("The cache is closed");
+    }
+  }
+
+  private record Entry(SharedJsonDocument document, long size, FileTime lastModified) {
+    boolean matches(BasicFileAttributes attributes) {
+      return size == attributes.size() && lastModified.equals(attributes.lastModifiedTime());
+    }
+  }
+}
@@ -1,26 +1,74 @@
 package com.github.johanneshaberlah.zcjson;
 
+import com.github.johanneshaberlah.zcjson.metrics.JsonMetrics;
+import com.github.johanneshaberlah.zcjson.metrics.TokenizeMetrics;
 import com.github.johanneshaberlah.zcjson.tokenizer.simd.SimdTokenizer;
 import com.github.johanneshaberlah.zcjson.tokenizer.SequentialTokenizer;
 import com.github.johanneshaberlah.zcjson.tokenizer.Tokenizer;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public final class JsonDocumentReader {
+  // Batches are mostly small files, so a few in flight per core keep both the disk queue and the cores busy.
+  private static final int DEFAULT_CONCURRENCY = 4 * Runtime.getRuntime().availableProcessors();
+
   private final Tokenizer tokenizer;
+  private final Supplier<? extends Tokenizer> tokenizerFactory;
+  private final JsonMetrics metrics;
+  private final BufferPool bufferPool;
+  private final Set<MappingHint> mappingHints;
+  private final boolean sidecarIndex;
+  // The minimum length of the numeric arrays that get a packed column, or 0 for none.
+  private final int numericColumns;
 
-  private JsonDocumentReader(Tokenizer tokenizer) {
+  private JsonDocumentReader(
+    Tokenizer tokenizer,
+    Supplier<? extends Tokenizer> tokenizerFactory,
+    JsonMetrics metrics,
+    BufferPool bufferPool,
+    Set<MappingHint> mappingHints,
+    boolean sidecarIndex,
+    int numericColumns
+  ) {
     this.tokenizer = tokenizer;
+    this.tokenizerFactory = tokenizerFactory;
+    this.metrics = metrics;
+    this.bufferPool = bufferPool;
+    this.mappingHints = mappingHints;
+    this.sidecarIndex = sidecarIndex;
+    this.numericColumns = numericColumns;
   }
 
   public JsonDocument read(Path path) throws IOException {
-    Arena arena = Arena.ofConfined();
+    return read(path, Arena.ofConfined(), tokenizer);
+  }
+
+  JsonDocument read(Path path, Arena arena, Tokenizer tokenizer) throws IOException {
+    boolean measured = measured();
+    return document(arena, map(path, arena, tokenizer, measured), measured);
+  }
 
+  // Maps the file and takes its tape from the sidecar or the tokenizer. Closes the arena if that fails.
+  private Tape map(Path path, Arena arena, Tokenizer tokenizer, boolean measured) throws IOException {
     try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
       MemorySegment segment = channel.map(
         FileChannel.MapMode.READ_ONLY,
@@ -28,30 +76,235 @@ public final class JsonDocumentReader {
         channel.size(),
         arena
       );
+      if (!mappingHints.isEmpty()) {
+        MemoryAdvice.apply(segment, mappingHints);
+      }
+      if (sidecarIndex) {
+        return readIndexed(path, tokenizer, arena, segment, measured);
+      }
 
-      long[] tokens = tokenizer.read(segment);
-      return new JsonDocument(arena, segment, tokens, 0, tokens.length);
+      return tape(tokenizer, arena, segment, measured);
     } catch (Exception e) {
       arena.close();
       throw e;
     }
   }
 
+  // Takes the tape from the sidecar if it still matches the file, otherwise tokenizes and (re)writes the sidecar.
+  private Tape readIndexed(Path path, Tokenizer tokenizer, Arena arena, MemorySegment segment, boolean measured)
+    throws IOException {
+    Path sidecar = TokenIndex.sidecarOf(path);
+    FileTime modified = Files.getLastModifiedTime(path);
+    TokenIndex index = TokenIndex.load(sidecar, segment.byteSize(), modified);
+    if (index == null) {
+      index = TokenIndex.of(tokenize(tokenizer, segment, measured));
+      try {
+        index.write(sidecar, segment.byteSize(), modified);
+      } catch (IOException ignored) {
+        // The sidecar is only a cache - a read-only directory must not fail the read.
+      }
+    }
+    long[] tokens = index.tokens();
+    // Columns are not part of the sidecar; parsing them is cheap next to tokenizing.
+    return new Tape(segment, tokens, index.jumps(), columns(arena, segment, tokens));
+  }
+
   public JsonDocument read(MemorySegment segment) {
     Arena arena = Arena.ofConfined();
+    return tokenize(tokenizer, arena, segment);
+  }
+
+  // Wraps the array without copying; it must not be modified while the document is open.
+  public JsonDocument read(byte[] bytes) {
+    return read(MemorySegment.ofArray(bytes));
+  }
+
+  // Wraps the remaining bytes of the buffer without copying; they must not be modified while the document is open.
+  public JsonDocument read(ByteBuffer buffer) {
+    return read(MemorySegment.ofBuffer(buffer));
+  }
+
+  public JsonDocument read(InputStream stream) throws IOException {
+    return read(Channels.newChannel(stream));
+  }
+
+  // Copies the channel's remaining bytes into a pooled off-heap buffer, which is returned to the pool on close.
+  public JsonDocument read(ReadableByteChannel channel) throws IOException {
+    Arena arena = Arena.ofConfined();
+    try {
+      MemorySegment segment = bufferPool.read(channel, arena);
+      return tokenize(tokenizer, arena, segment);
+    } catch (Exception e) {
+      arena.close();
+      throw e;
+    }
+  }
+
+  // Reads the file into a shared arena, so that one mapped and tokenized document can be queried from many threads.
+  public SharedJsonDocument readShared(Path path) throws IOException {
+    return readShared(path, tokenizer);
+  }
+
+  // Handles record their own lookups, so only the tokenize metrics are reported here.
+  SharedJsonDocument readShared(Path path, Tokenizer tokenizer) throws IOException {
+    Arena arena = Arena.ofShared();
+    return shared(arena, map(path, arena, tokenizer, measured()));
+  }
+
+  public SharedJsonDocument readShared(MemorySegment segment) {
+    Arena arena = Arena.ofShared();
+    try {
+      return shared(arena, tape(tokenizer, arena, segment, measured()));
+    } catch (RuntimeException e) {
+      arena.close();
+      throw e;
+    }
+  }
+
+  // Reads all files on virtual threads and passes each document to the consumer on the thread that read it. Every
+  // document is closed once the consumer returns. The first failure stops submitting further files and is rethrown
+  // after all running reads have finished.
+  public void readAll(Collection<Path> paths, Consumer<? super JsonDocument> consumer) throws IOException {
+    readAll(paths, DEFAULT_CONCURRENCY, consumer);
+  }
+
+  public void readAll(
+    Collection<Path> paths,
+    int concurrency,
+    Consumer<? super JsonDocument> consumer
+  ) throws IOException {
+    new BatchReader(this, tokenizerPool(concurrency), concurrency).forEach(paths, consumer);
+  }
+
+  // Streams the documents in the order of the given paths while up to `concurrency` files are read ahead on virtual
+  // threads. A document is only valid inside the stream operation it is passed to; the stream must be closed.
+  public Stream<JsonDocument> streamAll(Collection<Path> paths) {
+    return streamAll(paths, DEFAULT_CONCURRENCY);
+  }
+
+  public Stream<JsonDocument> streamAll(Collection<Path> paths, int concurrency) {
+    var spliterator = new BatchReader(this, tokenizerPool(concurrency), concurrency).spliterator(paths);
+    return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+  }
+
+  // Readers created from a single tokenizer instance can only tokenize one document at a time.
+  TokenizerPool tokenizerPool(int concurrency) {
+    if (tokenizerFactory == null) {
+      return new TokenizerPool(() -> tokenizer, 1);
+    }
+    return new TokenizerPool(tokenizerFactory, concurrency);
+  }
+
+  private JsonDocument tokenize(Tokenizer tokenizer, Arena arena, MemorySegment segment) {
+    boolean measured = measured();
+    return document(arena, tape(tokenizer, arena, segment, measured), measured);
+  }
+
+  // Whether the next document reports metrics; JsonMetrics.isEnabled is asked once per document.
+  private boolean measured() {
+    return metrics != null && metrics.isEnabled();
+  }
+
+  private Tape tape(Tokenizer tokenizer, Arena arena, MemorySegment segment, boolean measured) {
+    long[] tokens = tokenize(tokenizer, segment, measured);
+    return new Tape(segment, tokens, null, columns(arena, segment, tokens));
+  }
+
+  // Tokenizes the segment and reports it to the metrics listener if the document is measured.
+  private long[] tokenize(Tokenizer tokenizer, MemorySegment segment, boolean measured) {
+    if (!measured) {
+      return tokenizer.read(segment);
+    }
+    long start = System.nanoTime();
     long[] tokens = tokenizer.read(segment);
-    return new JsonDocument(arena, segment, tokens, 0, tokens.length);
+    long tokenizerNanos = System.nanoTime() - start;
+    metrics.onTokenize(TokenizeMetrics.of(segment, tokens, tokenizerNanos, metrics.countsContent()));
+    return tokens;
+  }
+
+  private SharedJsonDocument shared(Arena arena, Tape tape) {
+    return new SharedJsonDocument(arena, tape.segment(), tape.tokens(), tape.jumps(), tape.columns(), metrics);
+  }
+
+  // Every document gets its own lookup recorder, which reports when the document is closed.
+  private JsonDocument document(Arena arena, Tape tape, boolean measured) {
+    LookupRecorder recorder = measured ? new LookupRecorder(metrics) : null;
+    return new JsonDocument(
+      arena, tape.segment(), tape.tokens(), 0, tape.tokens().length, recorder, tape.jumps(), tape.columns()
+    );
+  }
+
+  private NumericColumns columns(Arena arena, MemorySegment segment, long[] tokens) {
+    return numericColumns == 0 ? null : NumericColumns.of(segment, tokens, numericColumns, arena);
+  }
+
+  // Returns a reader with the same tokenizer that reports to the given metrics listener.
+  public JsonDocumentReader withMetrics(JsonMetrics metrics) {
+    return new JsonDocumentReader(
+      tokenizer, tokenizerFactory, metrics, bufferPool, mappingHints, sidecarIndex, numericColumns
+    );
+  }
+
+  // Returns a reader with the same tokenizer that copies streams and channels into buffers from the given pool.
+  public JsonDocumentReader withBufferPool(BufferPool bufferPool) {
+    return new JsonDocumentReader(
+      tokenizer, tokenizerFactory, metrics, bufferPool, mappingHints, sidecarIndex, numericColumns
+    );
+  }
+
+  // Returns a reader with the same tokenizer that applies the given hints to every file it maps. Cold-cache reads of
+  // large files are usually bound by page faults rather than by the tokenizer.
+  public JsonDocumentReader withMappingHints(MappingHint... hints) {
+    Set<MappingHint> mappingHints = EnumSet.noneOf(MappingHint.class);
+    Collections.addAll(mappingHints, hints);
+    return new JsonDocumentReader(
+      tokenizer, tokenizerFactory, metrics, bufferPool, mappingHints, sidecarIndex, numericColumns
+    );
+  }
+
+  // Returns a reader with the same tokenizer that keeps the token tape of every file it maps in a sidecar next to it
+  // (data.json -> data.json.zci). Reopening an unchanged file then loads the tape instead of tokenizing; the sidecar is
+  // rebuilt once the file's size or modification time changes or its checksum does not match.
+  public JsonDocumentReader withSidecarIndex() {
+    return new JsonDocumentReader(tokenizer, tokenizerFactory, metrics, bufferPool, mappingHints, true, numericColumns);
+  }
+
+  // Returns a reader with the same tokenizer that parses every array of at least 16 numbers, and nothing else, into a
+  // packed column right after tokenizing. JsonArray.asDoubleSegment, doubles and aggregate then read the column instead
+  // of parsing the elements on every access.
+  public JsonDocumentReader withNumericColumns() {
+    return withNumericColumns(16);
+  }
+
+  public JsonDocumentReader withNumericColumns(int minimumLength) {
+    if (minimumLength <= 0) {
+      throw new IllegalArgumentException("The minimum length has to be positive, was " + minimumLength);
+    }
+    return new JsonDocumentReader(
+      tokenizer, tokenizerFactory, metrics, bufferPool, mappingHints, sidecarIndex, minimumLength
+    );
   }
 
   public static JsonDocumentReader withTokenizer(Tokenizer tokenizer) {
-    return new JsonDocumentReader(tokenizer);
+    return new JsonDocumentReader(tokenizer, null, null, BufferPool.common(), Set.of(), false, 0);
+  }
+
+  // Batch reads create one tokenizer per concurrent read from the factory.
+  public static JsonDocumentReader withTokenizer(Supplier<? extends Tokenizer> tokenizerFactory) {
+    return new JsonDocumentReader(
+      tokenizerFactory.get(), tokenizerFactory, null, BufferPool.common(), Set.of(), false, 0
+    );
   }
 
   public static JsonDocumentReader sequentialTokenizer() {
-    return new JsonDocumentReader(new SequentialTokenizer());
+    return withTokenizer(SequentialTokenizer::new);
   }
 
   public static JsonDocumentReader simdTokenizer() {
-    return new JsonDocumentReader(new SimdTokenizer());
+    return withTokenizer(SimdTokenizer::new);
+  }
+
+  // The input of a document with everything read from it, before the document itself is created.
+  private record Tape(MemorySegment segment, long[] tokens, int[] jumps, NumericColumns columns) {
   }
 }
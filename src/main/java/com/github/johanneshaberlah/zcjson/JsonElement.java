@@ -0,0 +1,128 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.Token;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+
+// One element of a JsonArray. Elements from stream(), iterator() and forEach are independent objects;
+// JsonArray.forEachCursor instead moves a single cursor from element to element, so an element it passes is only valid
+// until the action returns and copy() keeps it beyond that. Numbers are parsed in place, without a JsonValue.
+public final class JsonElement {
+  private final JsonDocument parent;
+  private int tokenIndex;
+  private int index;
+
+  JsonElement(JsonDocument parent, int tokenIndex, int index) {
+    this.parent = parent;
+    this.tokenIndex = tokenIndex;
+    this.index = index;
+  }
+
+  void moveTo(int tokenIndex, int index) {
+    this.tokenIndex = tokenIndex;
+    this.index = index;
+  }
+
+  // The position of the element in its array.
+  public int index() {
+    return index;
+  }
+
+  public boolean isObject() {
+    return type() == Token.OBJECT_START_MARKER;
+  }
+
+  public boolean isArray() {
+    return type() == Token.ARRAY_START_MARKER;
+  }
+
+  public boolean isNumber() {
+    return type() == Token.NUMBER;
+  }
+
+  public boolean isString() {
+    return type() == Token.STRING;
+  }
+
+  public boolean isBoolean() {
+    return type() == Token.BOOLEAN_TRUE || type() == Token.BOOLEAN_FALSE;
+  }
+
+  public boolean isNull() {
+    return type() == Token.NULL;
+  }
+
+  public long asLong() {
+    long token = expectNumber();
+    return JsonValue.parseLong(parent.segment, (token >>> 30) & 0x3FFFFFFFL, token & 0x3FFFFFFFL);
+  }
+
+  public double asDouble() {
+    long token = expectNumber();
+    return JsonValue.parseDouble(parent.segment, (token >>> 30) & 0x3FFFFFFFL, token & 0x3FFFFFFFL);
+  }
+
+  public boolean asBoolean() {
+    if (!isBoolean()) {
+      throw unexpected("a boolean");
+    }
+    return type() == Token.BOOLEAN_TRUE;
+  }
+
+  public String asString() {
+    return StandardCharsets.UTF_8.decode(segment().asByteBuffer()).toString();
+  }
+
+  public JsonValue value() {
+    return JsonValue.of(segment());
+  }
+
+  // The value as readValueSegment returns it: strings without their quotes, only the marker for objects and arrays.
+  public MemorySegment segment() {
+    return parent.readValueAt(tokenIndex);
+  }
+
+  // The element as it appears in the input, with quotes and brackets.
+  public MemorySegment rawSegment() {
+    return parent.readRawAt(tokenIndex);
+  }
+
+  public JsonDocument asObject() {
+    if (!isObject()) {
+      throw unexpected("an object");
+    }
+    return parent.readObjectAt(tokenIndex);
+  }
+
+  public JsonArray asArray() {
+    if (!isArray()) {
+      throw unexpected("an array");
+    }
+    return parent.readArrayAt(tokenIndex);
+  }
+
+  // An element of its own at the same position, which stays valid while a cursor moves on.
+  public JsonElement copy() {
+    return new JsonElement(parent, tokenIndex, index);
+  }
+
+  private int type() {
+    return (int) (parent.tokens[tokenIndex] >>> 60);
+  }
+
+  private long expectNumber() {
+    long token = parent.tokens[tokenIndex];
+    int type = (int) (token >>> 60);
+    if (type != Token.NUMBER) {
+      throw JsonArray.notANumber(type, tokenIndex);
+    }
+    return token;
+  }
+
+  private IllegalStateException unexpected(String expected) {
+    return new IllegalStateException(
+      "Expected " + expected + " but found " + Token.toString(type()) + " at element " + index
+    );
+  }
+}
@@ -9,4 +9,11 @@ public record JsonKey(String name, MemorySegment segment, int length) {
     byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
     return new JsonKey(key, MemorySegment.ofArray(bytes), bytes.length);
   }
+
+  // Whether the key token on the tape is this key, compared in place in the input.
+  boolean matches(MemorySegment input, long token) {
+    int start = (int) ((token >>> 30) & 0x3FFFFFFFL);
+    int tokenLength = (int) (token & 0x3FFFFFFFL);
+    return tokenLength == length && MemorySegment.mismatch(input, start, start + length, segment, 0, length) == -1;
+  }
 }
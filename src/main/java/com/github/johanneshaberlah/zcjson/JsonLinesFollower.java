@@ -0,0 +1,69 @@
+package com.github.johanneshaberlah.zcjson;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+// Follows a growing JSON Lines file (tail -f). Every poll maps only the bytes appended since the last one and passes
+// their complete records to the consumer; a last line that has no newline yet is held back and read again once it is
+// complete. The file stays open, so a file that is rotated by renaming is still followed under its old name.
+public final class JsonLinesFollower implements AutoCloseable {
+  private static final byte NEWLINE = '\n';
+
+  private final JsonLinesReader reader;
+  private final FileChannel channel;
+  private long offset;
+
+  JsonLinesFollower(JsonLinesReader reader, Path path, long offset) throws IOException {
+    this.reader = reader;
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    this.offset = offset;
+  }
+
+  // Reads the records appended since the last poll and returns how many there were. The offset only moves past them
+  // once the consumer has accepted all of them, so a poll that fails is repeated in full by the next one.
+  public long poll(Consumer<? super JsonDocument> consumer) throws IOException {
+    long size = channel.size();
+    if (size < offset) {
+      // Truncated in place (e.g. logrotate's copytruncate): the file starts over.
+      offset = 0;
+    }
+    if (size == offset) {
+      return 0;
+    }
+    try (Arena arena = Arena.ofConfined()) {
+      MemorySegment appended = channel.map(FileChannel.MapMode.READ_ONLY, offset, size - offset, arena);
+      long complete = lastNewline(appended) + 1;
+      if (complete == 0) {
+        return 0;
+      }
+      long records = reader.forEach(appended.asSlice(0, complete), consumer);
+      offset += complete;
+      return records;
+    }
+  }
+
+  // The offset up to which the file has been read, to continue with JsonLinesReader.follow(path, offset) later.
+  public long offset() {
+    return offset;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private static long lastNewline(MemorySegment segment) {
+    for (long index = segment.byteSize() - 1; index >= 0; index--) {
+      if (segment.get(ValueLayout.JAVA_BYTE, index) == NEWLINE) {
+        return index;
+      }
+    }
+    return -1;
+  }
+}
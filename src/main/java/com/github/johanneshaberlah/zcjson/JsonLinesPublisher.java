@@ -0,0 +1,181 @@
+package com.github.johanneshaberlah.zcjson;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Publishes the records of a JSON Lines source to Flow subscribers. Records are read and tokenized on the thread that
+// calls request(n), and only as many as were requested, so a slow subscriber holds back reading instead of letting
+// records pile up. A record is only valid during onNext; every subscription reads the source on its own and releases
+// it once it completes, fails or is cancelled.
+public final class JsonLinesPublisher implements Flow.Publisher<JsonDocument> {
+  private final Opener opener;
+
+  JsonLinesPublisher(Opener opener) {
+    this.opener = opener;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super JsonDocument> subscriber) {
+    Objects.requireNonNull(subscriber);
+    RecordSource source;
+    try {
+      source = opener.open();
+    } catch (IOException | RuntimeException e) {
+      subscriber.onSubscribe(new Flow.Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+      });
+      subscriber.onError(e);
+      return;
+    }
+    subscriber.onSubscribe(new RecordSubscription(subscriber, source));
+  }
+
+  @FunctionalInterface
+  interface Opener {
+    RecordSource open() throws IOException;
+  }
+
+  // The records of one subscription, read one at a time.
+  interface RecordSource extends AutoCloseable {
+    boolean tryAdvance(Consumer<? super JsonDocument> action);
+
+    @Override
+    void close();
+
+    static RecordSource of(Spliterator<JsonDocument> records, Runnable release) {
+      return new RecordSource() {
+        @Override
+        public boolean tryAdvance(Consumer<? super JsonDocument> action) {
+          return records.tryAdvance(action);
+        }
+
+        @Override
+        public void close() {
+          release.run();
+        }
+      };
+    }
+  }
+
+  private static final class RecordSubscription implements Flow.Subscription {
+    private final Flow.Subscriber<? super JsonDocument> subscriber;
+    private final RecordSource source;
+
+    private final AtomicLong demand = new AtomicLong();
+    // Only the thread that moves this from 0 drains; calls that come in meanwhile (also from onNext) just leave work.
+    private final AtomicInteger work = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile IllegalArgumentException invalidRequest;
+    // Only accessed by the draining thread.
+    private boolean done;
+
+    RecordSubscription(Flow.Subscriber<? super JsonDocument> subscriber, RecordSource source) {
+      this.subscriber = subscriber;
+      this.source = source;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        invalidRequest = new IllegalArgumentException("Requested " + n + " records, must be positive (§3.9)");
+      } else {
+        demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      drain();
+    }
+
+    private void drain() {
+      if (work.getAndIncrement() != 0) {
+        return;
+      }
+      int missed = 1;
+      do {
+        if (!done) {
+          emit();
+        }
+        missed = work.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void emit() {
+      while (true) {
+        if (cancelled) {
+          terminate();
+          return;
+        }
+        if (invalidRequest != null) {
+          terminate();
+          subscriber.onError(invalidRequest);
+          return;
+        }
+        if (demand.get() == 0) {
+          return;
+        }
+        boolean advanced;
+        try {
+          advanced = source.tryAdvance(this::deliver);
+        } catch (SubscriberFailure failure) {
+          // The subscriber broke its contract by throwing (§2.13): treat it as cancelled and let the caller see why.
+          terminate();
+          throw failure.cause;
+        } catch (UncheckedIOException e) {
+          terminate();
+          subscriber.onError(e.getCause());
+          return;
+        } catch (RuntimeException e) {
+          terminate();
+          subscriber.onError(e);
+          return;
+        }
+        if (!advanced) {
+          terminate();
+          subscriber.onComplete();
+          return;
+        }
+        if (demand.get() != Long.MAX_VALUE) {
+          demand.decrementAndGet();
+        }
+      }
+    }
+
+    private void deliver(JsonDocument record) {
+      try {
+        subscriber.onNext(record);
+      } catch (RuntimeException e) {
+        throw new SubscriberFailure(e);
+      }
+    }
+
+    private void terminate() {
+      done = true;
+      source.close();
+    }
+  }
+
+  private static final class SubscriberFailure extends RuntimeException {
+    private final RuntimeException cause;
+
+    SubscriberFailure(RuntimeException cause) {
+      super(null, null, false, false);
+      this.cause = cause;
+    }
+  }
+}
@@ -0,0 +1,250 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.SequentialTokenizer;
+import com.github.johanneshaberlah.zcjson.tokenizer.Tokenizer;
+import com.github.johanneshaberlah.zcjson.tokenizer.TokenizerException;
+import com.github.johanneshaberlah.zcjson.tokenizer.simd.SimdByteSearch;
+import com.github.johanneshaberlah.zcjson.tokenizer.simd.SimdTokenizer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Reads newline-delimited JSON (JSON Lines / NDJSON): one document per line, blank lines are skipped. All records are
+// views over one mapping and are tokenized into the same tape, so a record is only valid inside the consumer it is
+// passed to. forEach reuses the reader's tokenizer and tape, so it must not run on several threads at once.
+public final class JsonLinesReader {
+  private static final byte NEWLINE = '\n';
+
+  private final Tokenizer tokenizer;
+  private final Supplier<? extends Tokenizer> tokenizerFactory;
+  private final RecordPrefilter prefilter;
+  private final SimdByteSearch byteSearch = new SimdByteSearch();
+  private long[] tape = new long[1024];
+  // The newlines the last forEach over a segment passed, or -1 if the prefilter skipped lines without counting them.
+  private long newlines;
+
+  private JsonLinesReader(
+    Tokenizer tokenizer,
+    Supplier<? extends Tokenizer> tokenizerFactory,
+    RecordPrefilter prefilter
+  ) {
+    this.tokenizer = tokenizer;
+    this.tokenizerFactory = tokenizerFactory;
+    this.prefilter = prefilter;
+  }
+
+  // Returns the number of records passed to the consumer.
+  public long forEach(Path path, Consumer<? super JsonDocument> consumer) throws IOException {
+    try (Arena arena = Arena.ofConfined();
+         FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+      return forEach(segment, consumer);
+    }
+  }
+
+  public long forEach(MemorySegment segment, Consumer<? super JsonDocument> consumer) {
+    return forEach(segment, consumer, 1);
+  }
+
+  // Reads a gzip-compressed file (.jsonl.gz, .ndjson.gz) without inflating it to disk first. Another thread inflates
+  // the file into a few pooled buffers of complete lines, and each buffer is tokenized on the calling thread as soon as
+  // it is full, so decompression and tokenizing overlap.
+  public long forEachGzip(Path path, Consumer<? super JsonDocument> consumer) throws IOException {
+    try (InflatingPipeline pipeline = new InflatingPipeline(path, BufferPool.common())) {
+      long records = 0;
+      long firstLine = 1;
+      for (MemorySegment lines; (lines = pipeline.next()) != null; ) {
+        records += forEach(lines, consumer, firstLine);
+        // Every buffer but the last one ends with a newline.
+        firstLine += newlines >= 0 ? newlines : lineOf(byteSearch, lines, lines.byteSize()) - 1;
+      }
+      return records;
+    }
+  }
+
+  private long forEach(MemorySegment segment, Consumer<? super JsonDocument> consumer, long firstLine) {
+    RecordArena arena = new RecordArena(segment.scope());
+    long length = segment.byteSize();
+    long records = 0;
+    long lines = 0;
+    long start = 0;
+    while (start < length) {
+      if (prefilter != null) {
+        long candidate = prefilter.nextCandidate(byteSearch, segment, start, length);
+        if (candidate != start) {
+          lines = -1;
+        }
+        start = candidate;
+        if (start == length) {
+          break;
+        }
+      }
+      long end = byteSearch.findByte(segment, start, length, NEWLINE);
+      if (end < length && lines >= 0) {
+        lines++;
+      }
+      MemorySegment record = segment.asSlice(start, end - start);
+      try {
+        tape = tokenizer.read(record, tape);
+      } catch (TokenizerException e) {
+        long line = firstLine - 1 + lineOf(byteSearch, segment, start);
+        throw new TokenizerException("Line " + line + ": " + e.getMessage());
+      }
+      // A line without tokens was blank (or only held whitespace such as the '\r' of CRLF line endings).
+      if (tape[0] != -1) {
+        consumer.accept(new JsonDocument(arena, record, tape, 0, tape.length));
+        records++;
+      }
+      start = end + 1;
+    }
+    newlines = lines;
+    return records;
+  }
+
+  // Follows a file that is still being written, starting at its beginning. The follower uses this reader's tokenizer,
+  // so it must not be polled while the reader is used elsewhere.
+  public JsonLinesFollower follow(Path path) throws IOException {
+    return follow(path, 0);
+  }
+
+  // Continues following a file from an offset returned by JsonLinesFollower.offset(), e.g. after a restart.
+  public JsonLinesFollower follow(Path path, long offset) throws IOException {
+    return new JsonLinesFollower(this, path, offset);
+  }
+
+  // Streams the records of the file, which is mapped into a shared arena that is released when the stream is closed.
+  // Parallel streams split the file at record boundaries and tokenize every split with its own tokenizer. As with
+  // forEach, a record is only valid inside the stream operation it is passed to.
+  public Stream<JsonDocument> stream(Path path) throws IOException {
+    Arena arena = Arena.ofShared();
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+      return stream(segment).onClose(arena::close);
+    } catch (IOException | RuntimeException e) {
+      arena.close();
+      throw e;
+    }
+  }
+
+  // The segment must be accessible from every thread of a parallel stream (heap, global or shared arena segments).
+  public Stream<JsonDocument> stream(MemorySegment segment) {
+    // Readers created from a single tokenizer instance cannot tokenize on several threads, so they do not split.
+    Tokenizer root = tokenizerFactory == null ? tokenizer : null;
+    RecordArena arena = new RecordArena(segment.scope());
+    return StreamSupport.stream(
+      new RecordSpliterator(segment, arena, root, tokenizerFactory, prefilter, 0, segment.byteSize()),
+      false
+    );
+  }
+
+  // Returns a reader with the same tokenizer that only tokenizes records whose raw bytes contain the given text, e.g.
+  // "ERROR" for a search on the log level. The check is on bytes, so records passed on might still not match (the text
+  // could be part of another value) and the consumer has to check them exactly; records skipped can never match as
+  // long as the text is spelled the way it is encoded in the input (whitespace, escapes).
+  public JsonLinesReader withPrefilter(String text) {
+    return new JsonLinesReader(tokenizer, tokenizerFactory, new RecordPrefilter(text.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  // Publishes the records of the file to Flow subscribers. Every subscription maps the file into its own shared arena,
+  // since records are read on whichever thread requests them. That also makes every subscription tokenize on its own
+  // threads, so a reader created from a single tokenizer instance accepts only one subscription at a time.
+  public JsonLinesPublisher publisher(Path path) {
+    AtomicBoolean active = new AtomicBoolean();
+    return new JsonLinesPublisher(() -> {
+      if (tokenizerFactory == null && !active.compareAndSet(false, true)) {
+        throw new IllegalStateException(
+          "A reader with a single tokenizer instance publishes to one subscription at a time; use a tokenizer factory"
+        );
+      }
+      Arena arena = Arena.ofShared();
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+        RecordSpliterator records = new RecordSpliterator(
+          segment,
+          new RecordArena(segment.scope()),
+          tokenizerFactory == null ? tokenizer : null,
+          tokenizerFactory,
+          prefilter,
+          0,
+          segment.byteSize()
+        );
+        return JsonLinesPublisher.RecordSource.of(records, () -> {
+          arena.close();
+          active.set(false);
+        });
+      } catch (IOException | RuntimeException e) {
+        arena.close();
+        active.set(false);
+        throw e;
+      }
+    });
+  }
+
+  // Publishes the records read from a blocking stream, which is closed once the subscription ends. A stream can only
+  // be read once, so the publisher accepts a single subscriber.
+  public JsonLinesPublisher publisher(InputStream stream) {
+    return publisher(Channels.newChannel(stream));
+  }
+
+  public JsonLinesPublisher publisher(ReadableByteChannel channel) {
+    AtomicBoolean subscribed = new AtomicBoolean();
+    return new JsonLinesPublisher(() -> {
+      if (!subscribed.compareAndSet(false, true)) {
+        throw new IllegalStateException("A channel can only be published to a single subscriber");
+      }
+      Tokenizer subscriptionTokenizer = tokenizerFactory == null ? tokenizer : tokenizerFactory.get();
+      return new ChannelRecordSource(channel, subscriptionTokenizer, prefilter);
+    });
+  }
+
+  public static JsonLinesReader withTokenizer(Tokenizer tokenizer) {
+    return new JsonLinesReader(tokenizer, null, null);
+  }
+
+  // Streams create one tokenizer per split from the factory.
+  public static JsonLinesReader withTokenizer(Supplier<? extends Tokenizer> tokenizerFactory) {
+    return new JsonLinesReader(tokenizerFactory.get(), tokenizerFactory, null);
+  }
+
+  public static JsonLinesReader sequentialTokenizer() {
+    return withTokenizer(SequentialTokenizer::new);
+  }
+
+  public static JsonLinesReader simdTokenizer() {
+    return withTokenizer(SimdTokenizer::new);
+  }
+
+  // Counts lines up to the offset only when an error has to be reported, so that skipped records cost nothing.
+  static long lineOf(SimdByteSearch byteSearch, MemorySegment segment, long offset) {
+    long line = 1;
+    for (long index = byteSearch.findByte(segment, 0, offset, NEWLINE); index < offset; line++) {
+      index = byteSearch.findByte(segment, index + 1, offset, NEWLINE);
+    }
+    return line;
+  }
+
+  // Records do not own the mapping: closing one is a no-op, the mapping is released once all records were read.
+  record RecordArena(MemorySegment.Scope scope) implements Arena {
+    @Override
+    public MemorySegment allocate(long byteSize, long byteAlignment) {
+      throw new UnsupportedOperationException("Records of a JSON Lines file cannot allocate");
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -0,0 +1,267 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.Token;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Applies a fixed set of edits to documents by splicing: the output is the original bytes with only the edited ranges
+// replaced, found through the offsets on the token tape. Unchanged values, including whole subtrees and their
+// formatting, are copied in bulk, so the cost depends on the number of edits rather than the size of the document.
+// Edits are encoded once when the patcher is built, and a patcher can be applied to any number of documents.
+public final class JsonPatcher {
+  private static final MemorySegment COMMA = MemorySegment.ofArray(new byte[]{','});
+
+  private final List<Edit> edits;
+
+  private JsonPatcher(List<Edit> edits) {
+    this.edits = edits;
+  }
+
+  public static JsonPatcher create() {
+    return new JsonPatcher(List.of());
+  }
+
+  // Replaces the value at the path, or adds the key to its object if it is missing.
+  public JsonPatcher set(JsonPath path, String value) {
+    return set(path, writer -> writer.writeString(value));
+  }
+
+  public JsonPatcher set(JsonPath path, long value) {
+    return set(path, writer -> writer.writeLong(value));
+  }
+
+  public JsonPatcher set(JsonPath path, double value) {
+    return set(path, writer -> writer.writeDouble(value));
+  }
+
+  public JsonPatcher set(JsonPath path, boolean value) {
+    return set(path, writer -> writer.writeBoolean(value));
+  }
+
+  public JsonPatcher setNull(JsonPath path) {
+    return set(path, JsonWriter::writeNull);
+  }
+
+  // The value has to be one complete JSON value; it is copied, so the segment may be released afterwards.
+  public JsonPatcher set(JsonPath path, MemorySegment json) {
+    return set(path, writer -> writer.writeRaw(json));
+  }
+
+  // Adds the key to its object; applying fails if the key already exists.
+  public JsonPatcher insert(JsonPath path, MemorySegment json) {
+    return with(new Edit(Kind.INSERT, path, encode(path, writer -> writer.writeRaw(json))));
+  }
+
+  // Removes the key and its value; applying fails if the key does not exist.
+  public JsonPatcher remove(JsonPath path) {
+    return with(new Edit(Kind.REMOVE, path, null));
+  }
+
+  // Writes the patched document to the writer as one value. Objects on the paths have to exist.
+  public void apply(JsonDocument document, JsonWriter writer) {
+    Map<Integer, ObjectEdits> objects = new LinkedHashMap<>();
+    List<Splice> splices = new ArrayList<>();
+    for (Edit edit : edits) {
+      JsonDocument parent = parentOf(document, edit.path());
+      int keyIndex = parent.indexOf(edit.path().last());
+      // Replacing a value splices it directly; only objects that gain or lose members have their members walked.
+      switch (edit.kind()) {
+        case SET -> {
+          if (keyIndex == -1) {
+            objects.computeIfAbsent(parent.startToken(), ObjectEdits::new).inserts.add(edit.fragment());
+          } else {
+            long start = document.rawStart(keyIndex + 1);
+            splices.add(new Splice(start, document.rawEnd(keyIndex + 1), null, edit.fragment().value()));
+          }
+        }
+        case INSERT -> {
+          if (keyIndex != -1) {
+            throw new IllegalStateException("The field '" + edit.path() + "' already exists");
+          }
+          objects.computeIfAbsent(parent.startToken(), ObjectEdits::new).inserts.add(edit.fragment());
+        }
+        case REMOVE -> {
+          if (keyIndex == -1) {
+            throw new JsonKeyNotFoundException(edit.path().last());
+          }
+          objects.computeIfAbsent(parent.startToken(), ObjectEdits::new).removed.add(keyIndex);
+        }
+      }
+    }
+    for (ObjectEdits object : objects.values()) {
+      object.splice(document, splices);
+    }
+    // Stable, so inserts into the same object keep their order.
+    splices.sort(Comparator.comparingLong(Splice::start));
+
+    MemorySegment source = document.segment;
+    long position = document.rawStart(document.startToken());
+    long end = document.rawEnd(document.startToken());
+    writer.beforeValue();
+    for (Splice splice : splices) {
+      if (splice.start() < position) {
+        throw new IllegalStateException("Edits overlap at byte " + splice.start());
+      }
+      writer.append(source, position, splice.start());
+      if (splice.separator() != null) {
+        writer.append(splice.separator(), 0, splice.separator().byteSize());
+      }
+      if (splice.replacement() != null) {
+        writer.append(splice.replacement(), 0, splice.replacement().byteSize());
+      }
+      position = splice.end();
+    }
+    writer.append(source, position, end);
+  }
+
+  private JsonPatcher set(JsonPath path, Consumer<JsonWriter> value) {
+    return with(new Edit(Kind.SET, path, encode(path, value)));
+  }
+
+  private JsonPatcher with(Edit edit) {
+    for (Edit existing : edits) {
+      if (existing.path().equals(edit.path())) {
+        throw new IllegalArgumentException("The patcher already edits '" + edit.path() + "'");
+      }
+    }
+    List<Edit> combined = new ArrayList<>(edits);
+    combined.add(edit);
+    return new JsonPatcher(List.copyOf(combined));
+  }
+
+  private static JsonDocument parentOf(JsonDocument document, JsonPath path) {
+    JsonDocument parent = document;
+    for (int step = 0; step < path.length() - 1; step++) {
+      int valueIndex = parent.findTokenIndex(path.key(step)) + 1;
+      if ((int) (document.tokens[valueIndex] >>> 60) != Token.OBJECT_START_MARKER) {
+        throw new IllegalStateException("The field '" + path.key(step).name() + "' of '" + path + "' is not an object");
+      }
+      parent = parent.readObjectAt(valueIndex);
+    }
+    return parent;
+  }
+
+  // Encodes the value on its own and as a new member ("key":value), since whether it replaces a value or adds a
+  // member is only known per document.
+  private static Fragment encode(JsonPath path, Consumer<JsonWriter> value) {
+    try (JsonWriter writer = JsonWriter.pooled()) {
+      writer.writeObjectStart().writeKey(path.last());
+      long valueStart = writer.size();
+      value.accept(writer);
+      byte[] member = writer.segment().asSlice(1).toArray(ValueLayout.JAVA_BYTE);
+      MemorySegment fragment = MemorySegment.ofArray(member);
+      return new Fragment(fragment.asSlice(valueStart - 1), fragment);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private enum Kind { SET, INSERT, REMOVE }
+
+  private record Edit(Kind kind, JsonPath path, Fragment fragment) {
+  }
+
+  private record Fragment(MemorySegment value, MemorySegment member) {
+  }
+
+  // Replaces [start, end) of the input with the separator and the replacement, either of which may be missing.
+  private record Splice(long start, long end, MemorySegment separator, MemorySegment replacement) {
+  }
+
+  // Members removed from and added to one object. Both change which commas are needed, so they are turned into splices
+  // together, reusing the object's own whitespace between members.
+  private static final class ObjectEdits {
+    private final int startIndex;
+    private final List<Integer> removed = new ArrayList<>();
+    private final List<Fragment> inserts = new ArrayList<>();
+
+    private ObjectEdits(int startIndex) {
+      this.startIndex = startIndex;
+    }
+
+    private void splice(JsonDocument document, List<Splice> splices) {
+      long[] tokens = document.tokens;
+      int endIndex = document.findEndOfStructure(startIndex);
+      List<Integer> keys = new ArrayList<>();
+      List<Integer> values = new ArrayList<>();
+      for (int index = startIndex + 1; index < endIndex; ) {
+        keys.add(index);
+        values.add(index + 1);
+        int type = (int) (tokens[index + 1] >>> 60);
+        boolean structure = type == Token.OBJECT_START_MARKER || type == Token.ARRAY_START_MARKER;
+        index = (structure ? document.findEndOfStructure(index + 1) : index + 1) + 1;
+      }
+      int members = keys.size();
+      boolean[] removedMembers = new boolean[members];
+      for (int keyIndex : removed) {
+        removedMembers[keys.indexOf(keyIndex)] = true;
+      }
+
+      // A run of removed members takes the separator in front of it along, or the one after it if it starts the object.
+      int kept = members;
+      for (int first = 0; first < members; first++) {
+        if (!removedMembers[first]) {
+          continue;
+        }
+        int last = first;
+        while (last + 1 < members && removedMembers[last + 1]) {
+          last++;
+        }
+        kept -= last - first + 1;
+        long start;
+        long end;
+        if (first > 0) {
+          start = document.rawEnd(values.get(first - 1));
+          end = document.rawEnd(values.get(last));
+        } else if (last + 1 < members) {
+          start = document.rawStart(keys.get(first));
+          end = document.rawStart(keys.get(last + 1));
+        } else {
+          start = document.rawStart(keys.get(first));
+          end = document.rawEnd(values.get(last));
+        }
+        splices.add(new Splice(start, end, null, null));
+        first = last;
+      }
+
+      if (inserts.isEmpty()) {
+        return;
+      }
+      long position = members == 0
+        ? (tokens[endIndex] >>> 30) & 0x3FFFFFFFL
+        : document.rawEnd(values.get(members - 1));
+      MemorySegment separator = separator(document, keys, values);
+      for (Fragment insert : inserts) {
+        splices.add(new Splice(position, position, kept > 0 ? separator : null, insert.member()));
+        kept++;
+      }
+    }
+
+    // The separator in front of the last member, so added members are laid out like the existing ones.
+    private MemorySegment separator(JsonDocument document, List<Integer> keys, List<Integer> values) {
+      int members = keys.size();
+      if (members >= 2) {
+        long start = document.rawEnd(values.get(members - 2));
+        return document.segment.asSlice(start, document.rawStart(keys.get(members - 1)) - start);
+      }
+      if (members == 1) {
+        long start = ((document.tokens[startIndex] >>> 30) & 0x3FFFFFFFL) + 1;
+        MemorySegment whitespace = document.segment.asSlice(start, document.rawStart(keys.getFirst()) - start);
+        byte[] separator = new byte[(int) whitespace.byteSize() + 1];
+        separator[0] = ',';
+        MemorySegment.copy(whitespace, ValueLayout.JAVA_BYTE, 0, separator, 1, separator.length - 1);
+        return MemorySegment.ofArray(separator);
+      }
+      return COMMA;
+    }
+  }
+}
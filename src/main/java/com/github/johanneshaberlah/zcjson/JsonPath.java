@@ -0,0 +1,61 @@
+package com.github.johanneshaberlah.zcjson;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+// A sequence of keys from a document down into its nested objects, e.g. JsonPath.of("user", "address", "zip"). The
+// keys are encoded once, so a path can be compiled up front and used for every document.
+public final class JsonPath {
+  private final JsonKey[] keys;
+
+  private JsonPath(JsonKey[] keys) {
+    if (keys.length == 0) {
+      throw new IllegalArgumentException("A path needs at least one key");
+    }
+    this.keys = keys;
+  }
+
+  public static JsonPath of(String... keys) {
+    return new JsonPath(Arrays.stream(keys).map(JsonKey::of).toArray(JsonKey[]::new));
+  }
+
+  public static JsonPath of(JsonKey... keys) {
+    return new JsonPath(keys.clone());
+  }
+
+  // Splits a dotted path such as "user.address.zip"; keys that contain dots need of(String...).
+  public static JsonPath parse(String path) {
+    return of(path.split("\\.", -1));
+  }
+
+  public int length() {
+    return keys.length;
+  }
+
+  public JsonKey key(int index) {
+    return keys[index];
+  }
+
+  public JsonKey last() {
+    return keys[keys.length - 1];
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof JsonPath path && Arrays.equals(names(), path.names());
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(names());
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.stream(keys).map(JsonKey::name).collect(Collectors.joining("."));
+  }
+
+  private String[] names() {
+    return Arrays.stream(keys).map(JsonKey::name).toArray(String[]::new);
+  }
+}
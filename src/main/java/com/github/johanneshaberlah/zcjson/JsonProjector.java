@@ -0,0 +1,139 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.Token;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Keeps only selected fields of documents, e.g. to drop unneeded fields from every record of an NDJSON file. The paths
+// are compiled into a tree once; every object is then walked once on its tape, and selected members are copied as the
+// byte ranges they have in the input. Values that are not selected are skipped with findEndOfStructure, so nothing is
+// decoded or re-encoded. Fields that are missing are left out, and the output keeps the nesting of the selected paths.
+public final class JsonProjector {
+  private final Selection[] selections;
+
+  private JsonProjector(Selection[] selections) {
+    this.selections = selections;
+  }
+
+  public static JsonProjector of(JsonPath... paths) {
+    List<Selection> roots = new ArrayList<>();
+    for (JsonPath path : paths) {
+      List<Selection> level = roots;
+      for (int step = 0; step < path.length(); step++) {
+        Selection selection = find(level, path.key(step));
+        if (selection == null) {
+          selection = new Selection(path.key(step));
+          level.add(selection);
+        }
+        if (step == path.length() - 1) {
+          // Selecting a whole value includes any of its fields selected on their own.
+          selection.whole = true;
+          selection.children.clear();
+        } else if (selection.whole) {
+          break;
+        }
+        level = selection.children;
+      }
+    }
+    return new JsonProjector(compile(roots));
+  }
+
+  // Paths in dotted form, e.g. "user.address.zip".
+  public static JsonProjector of(String... paths) {
+    return of(Arrays.stream(paths).map(JsonPath::parse).toArray(JsonPath[]::new));
+  }
+
+  // Writes the selected fields of the document as one object.
+  public void project(JsonDocument document, JsonWriter writer) {
+    int startIndex = document.startToken();
+    if ((int) (document.tokens[startIndex] >>> 60) != Token.OBJECT_START_MARKER) {
+      throw new IllegalStateException("Only objects can be projected");
+    }
+    projectObject(document, startIndex, selections, writer);
+  }
+
+  // Projects every record of a JSON Lines file into one line of the output and returns the number of records.
+  public long project(JsonLinesReader reader, Path input, WritableByteChannel output) throws IOException {
+    try (JsonWriter writer = JsonWriter.to(output)) {
+      return reader.forEach(input, record -> {
+        project(record, writer);
+        writer.writeNewline();
+      });
+    }
+  }
+
+  private static void projectObject(JsonDocument document, int startIndex, Selection[] selections, JsonWriter writer) {
+    long[] tokens = document.tokens;
+    MemorySegment segment = document.segment;
+    writer.writeObjectStart();
+    int remaining = selections.length;
+    for (int index = startIndex + 1; remaining > 0; ) {
+      long token = tokens[index];
+      if ((int) (token >>> 60) != Token.KEY) {
+        // The end marker of the object.
+        break;
+      }
+      int valueIndex = index + 1;
+      int valueType = (int) (tokens[valueIndex] >>> 60);
+      boolean structure = valueType == Token.OBJECT_START_MARKER || valueType == Token.ARRAY_START_MARKER;
+      int endIndex = structure ? document.findEndOfStructure(valueIndex) : valueIndex;
+
+      Selection selection = match(segment, token, selections);
+      if (selection != null) {
+        remaining--;
+        if (selection.whole) {
+          long end = structure ? ((tokens[endIndex] >>> 30) & 0x3FFFFFFFL) + 1 : document.rawEnd(valueIndex);
+          writer.appendMember(segment, document.rawStart(index), end);
+        } else if (valueType == Token.OBJECT_START_MARKER) {
+          writer.appendKey(segment, document.rawStart(index), document.rawEnd(index));
+          projectObject(document, valueIndex, selection.compiledChildren, writer);
+        }
+      }
+      index = endIndex + 1;
+    }
+    writer.writeObjectEnd();
+  }
+
+  private static Selection match(MemorySegment segment, long token, Selection[] selections) {
+    for (Selection selection : selections) {
+      if (selection.key.matches(segment, token)) {
+        return selection;
+      }
+    }
+    return null;
+  }
+
+  private static Selection find(List<Selection> level, JsonKey key) {
+    for (Selection selection : level) {
+      if (selection.key.name().equals(key.name())) {
+        return selection;
+      }
+    }
+    return null;
+  }
+
+  private static Selection[] compile(List<Selection> level) {
+    for (Selection selection : level) {
+      selection.compiledChildren = compile(selection.children);
+    }
+    return level.toArray(Selection[]::new);
+  }
+
+  // One key of the selection tree: either the whole value is kept, or only the selected fields inside it.
+  private static final class Selection {
+    private final JsonKey key;
+    private final List<Selection> children = new ArrayList<>();
+    private Selection[] compiledChildren;
+    private boolean whole;
+
+    private Selection(JsonKey key) {
+      this.key = key;
+    }
+  }
+}
@@ -44,19 +44,41 @@ public class JsonValue {
   }
 
   public long asLong() {
-    final long length = segment.byteSize();
+    return parseLong(segment, 0, segment.byteSize());
+  }
+
+  public int asInteger() {
+    return (int) asLong();
+  }
+
+  public double asDouble() {
+    return parseDouble(segment, 0, segment.byteSize());
+  }
+
+  public float asFloat() {
+    return (float) asDouble();
+  }
+
+  public static JsonValue of(MemorySegment segment) {
+    return new JsonValue(segment);
+  }
+
+  // Parses the number in [offset, offset + length) of the segment in place, for callers that walk the tape themselves
+  // and would otherwise slice and wrap every value.
+  static long parseLong(MemorySegment segment, long offset, long length) {
     if (length == 0) return 0;
 
-    long index = 0;
-    byte first = segment.get(ValueLayout.JAVA_BYTE, 0);
+    long index = offset;
+    final long end = offset + length;
+    byte first = segment.get(ValueLayout.JAVA_BYTE, offset);
     boolean isNegative = (first == MINUS);
 
     if (isNegative || first == PLUS) {
-      index = 1;
+      index++;
     }
 
     long value = 0;
-    for (; index < length; index++) {
+    for (; index < end; index++) {
       byte digitChar = segment.get(ValueLayout.JAVA_BYTE, index);
       value = value * 10 + (digitChar - ZERO);
     }
@@ -64,27 +86,23 @@ public class JsonValue {
     return isNegative ? -value : value;
   }
 
-  public int asInteger() {
-    return (int) asLong();
-  }
-
-  public double asDouble() {
-    final long length = segment.byteSize();
+  static double parseDouble(MemorySegment segment, long offset, long length) {
     if (length == 0) return 0.0;
 
-    long index = 0;
-    byte first = segment.get(ValueLayout.JAVA_BYTE, 0);
+    long index = offset;
+    final long end = offset + length;
+    byte first = segment.get(ValueLayout.JAVA_BYTE, offset);
     boolean isNegative = (first == MINUS);
 
     if (isNegative || first == PLUS) {
-      index = 1;
+      index++;
     }
 
     double mantissa = 0.0;
     int decimalExponent = 0;
     boolean parsingFraction = false;
 
-    while (index < length) {
+    while (index < end) {
       byte c = segment.get(ValueLayout.JAVA_BYTE, index);
 
       if (c == DOT) {
@@ -104,7 +122,7 @@ public class JsonValue {
       index++;
     }
 
-    if (index < length) {
+    if (index < end) {
       int exponentPart = 0;
       byte expFirst = segment.get(ValueLayout.JAVA_BYTE, index);
       boolean expNegative = (expFirst == MINUS);
@@ -113,7 +131,7 @@ public class JsonValue {
         index++;
       }
 
-      while (index < length) {
+      while (index < end) {
         exponentPart = exponentPart * 10 + (segment.get(ValueLayout.JAVA_BYTE, index) - ZERO);
         index++;
       }
@@ -123,12 +141,4 @@ public class JsonValue {
     double value = mantissa * Math.pow(10, decimalExponent);
     return isNegative ? -value : value;
   }
-
-  public float asFloat() {
-    return (float) asDouble();
-  }
-
-  public static JsonValue of(MemorySegment segment) {
-    return new JsonValue(segment);
-  }
 }
\ No newline at end of file
@@ -0,0 +1,485 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.simd.SimdByteSearch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+// Writes JSON straight into off-heap memory: a fixed segment, a pooled buffer that grows, or a pooled buffer that is
+// flushed to a channel whenever it is full. Separators are written automatically; beyond that the structure is not
+// validated, so keys and values have to alternate correctly inside objects. Values at the top level are written back to
+// back, writeNewline separates them for JSON Lines.
+public final class JsonWriter implements AutoCloseable {
+  private static final ValueLayout.OfLong LONG_LE = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+  private static final long DEFAULT_BUFFER_SIZE = 64 * 1024;
+  private static final long ASCII_ZEROS = 0x3030303030303030L;
+  private static final long TEN_TO_THE_8 = 100_000_000L;
+  private static final long TEN_TO_THE_16 = TEN_TO_THE_8 * TEN_TO_THE_8;
+  // Double.toString switches to computerized scientific notation from 10^7 on.
+  private static final double MAX_PLAIN_INTEGRAL_DOUBLE = 1e7;
+
+  private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+  private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+  private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+  private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+
+  private final BufferPool pool;
+  private final WritableByteChannel channel;
+  private final SimdByteSearch byteSearch = new SimdByteSearch();
+
+  private MemorySegment buffer;
+  private long position;
+
+  // One bit per nesting level: whether the container at that level already has an element and needs a comma.
+  private long[] hasElements = new long[1];
+  private int depth;
+  private boolean afterKey;
+
+  private JsonWriter(MemorySegment buffer, BufferPool pool, WritableByteChannel channel) {
+    this.buffer = buffer;
+    this.pool = pool;
+    this.channel = channel;
+  }
+
+  // Writes into the given segment, which has to be large enough for the whole output.
+  public static JsonWriter into(MemorySegment segment) {
+    return new JsonWriter(segment, null, null);
+  }
+
+  // Writes into a buffer from the pool that grows as needed and goes back to the pool on close.
+  public static JsonWriter pooled() {
+    return pooled(BufferPool.common());
+  }
+
+  public static JsonWriter pooled(BufferPool pool) {
+    return new JsonWriter(pool.acquire(DEFAULT_BUFFER_SIZE), pool, null);
+  }
+
+  // Writes to the channel through a pooled buffer, which is flushed whenever it is full and on close. The channel is
+  // not closed.
+  public static JsonWriter to(WritableByteChannel channel) {
+    BufferPool pool = BufferPool.common();
+    return new JsonWriter(pool.acquire(DEFAULT_BUFFER_SIZE), pool, channel);
+  }
+
+  public JsonWriter writeObjectStart() {
+    beforeValue();
+    put((byte) '{');
+    enter();
+    return this;
+  }
+
+  public JsonWriter writeObjectEnd() {
+    leave();
+    put((byte) '}');
+    return this;
+  }
+
+  public JsonWriter writeArrayStart() {
+    beforeValue();
+    put((byte) '[');
+    enter();
+    return this;
+  }
+
+  public JsonWriter writeArrayEnd() {
+    leave();
+    put((byte) ']');
+    return this;
+  }
+
+  public JsonWriter writeKey(String key) {
+    beforeValue();
+    writeQuoted(key);
+    put((byte) ':');
+    afterKey = true;
+    return this;
+  }
+
+  // Keys are usually constants, so their UTF-8 bytes are only encoded once.
+  public JsonWriter writeKey(JsonKey key) {
+    beforeValue();
+    writeQuoted(key.segment());
+    put((byte) ':');
+    afterKey = true;
+    return this;
+  }
+
+  public JsonWriter writeString(String value) {
+    beforeValue();
+    writeQuoted(value);
+    return this;
+  }
+
+  // Writes UTF-8 bytes as a string, escaping them where needed.
+  public JsonWriter writeString(MemorySegment utf8) {
+    beforeValue();
+    writeQuoted(utf8);
+    return this;
+  }
+
+  public JsonWriter writeLong(long value) {
+    beforeValue();
+    ensureCapacity(length(value));
+    appendLong(value);
+    return this;
+  }
+
+  // Writes the shortest decimal that reads back as the same double, in the format of Double.toString. JSON has no
+  // representation for NaN and the infinities.
+  public JsonWriter writeDouble(double value) {
+    if (!Double.isFinite(value)) {
+      throw new IllegalArgumentException("JSON numbers must be finite, was " + value);
+    }
+    beforeValue();
+    if (value == (long) value && Math.abs(value) < MAX_PLAIN_INTEGRAL_DOUBLE && !isNegativeZero(value)) {
+      ensureCapacity(length((long) value) + 2);
+      appendLong((long) value);
+      buffer.set(ValueLayout.JAVA_BYTE, position++, (byte) '.');
+      buffer.set(ValueLayout.JAVA_BYTE, position++, (byte) '0');
+      return this;
+    }
+    String text = Double.toString(value);
+    ensureCapacity(text.length());
+    for (int index = 0; index < text.length(); index++) {
+      buffer.set(ValueLayout.JAVA_BYTE, position++, (byte) text.charAt(index));
+    }
+    return this;
+  }
+
+  public JsonWriter writeBoolean(boolean value) {
+    beforeValue();
+    put(value ? TRUE : FALSE);
+    return this;
+  }
+
+  public JsonWriter writeNull() {
+    beforeValue();
+    put(NULL);
+    return this;
+  }
+
+  // Splices bytes that already are one complete JSON value, e.g. a value segment of a document, without checking them.
+  public JsonWriter writeRaw(MemorySegment json) {
+    beforeValue();
+    append(json, 0, json.byteSize());
+    return this;
+  }
+
+  // Ends a line of JSON Lines output.
+  public JsonWriter writeNewline() {
+    put((byte) '\n');
+    return this;
+  }
+
+  // The bytes written so far, valid until the next write. Writers to a channel only return what was not yet flushed.
+  public MemorySegment segment() {
+    return buffer.asSlice(0, position);
+  }
+
+  public long size() {
+    return position;
+  }
+
+  // Writes the bytes written so far to the channel and starts over with an empty buffer. The buffer is off-heap, so
+  // the channel reads it directly.
+  public void writeTo(WritableByteChannel target) throws IOException {
+    ByteBuffer pending = buffer.asSlice(0, position).asByteBuffer();
+    while (pending.hasRemaining()) {
+      target.write(pending);
+    }
+    position = 0;
+  }
+
+  public void flush() throws IOException {
+    if (channel != null) {
+      writeTo(channel);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (buffer == null) {
+      return;
+    }
+    try {
+      flush();
+    } finally {
+      if (pool != null) {
+        pool.release(buffer);
+      }
+      buffer = null;
+    }
+  }
+
+  void beforeValue() {
+    if (afterKey) {
+      afterKey = false;
+      return;
+    }
+    if (depth == 0) {
+      return;
+    }
+    long bit = 1L << depth;
+    int word = depth >>> 6;
+    if ((hasElements[word] & bit) != 0) {
+      put((byte) ',');
+    } else {
+      hasElements[word] |= bit;
+    }
+  }
+
+  private void enter() {
+    depth++;
+    int word = depth >>> 6;
+    if (word == hasElements.length) {
+      hasElements = Arrays.copyOf(hasElements, word + 1);
+    }
+    hasElements[word] &= ~(1L << depth);
+  }
+
+  private void leave() {
+    if (depth == 0) {
+      throw new IllegalStateException("No object or array to end");
+    }
+    depth--;
+    afterKey = false;
+  }
+
+  // Converts eight digits at once (SWAR): the value is split into two halves of four digits, each half into two pairs
+  // and each pair into two digits, with every step working on all lanes of one long. Multiplying and shifting by
+  // 10486 / 2^20 and 103 / 2^10 divides by 100 and 10 exactly in the ranges used.
+  private static long eightDigits(long value) {
+    long halves = (value / 10_000) | ((value % 10_000) << 32);
+    long hundreds = ((halves * 10486) >>> 20) & 0x0000_007F_0000_007FL;
+    long pairs = hundreds | ((halves - hundreds * 100) << 16);
+    long tens = ((pairs * 103) >>> 10) & 0x000F_000F_000F_000FL;
+    return tens | ((pairs - tens * 10) << 8);
+  }
+
+  private void appendLong(long value) {
+    if (value < 0) {
+      buffer.set(ValueLayout.JAVA_BYTE, position++, (byte) '-');
+      if (value == Long.MIN_VALUE) {
+        // Its magnitude does not fit a long: 9223372036854775808.
+        appendDigits(922, false);
+        appendDigits(33720368, true);
+        appendDigits(54775808, true);
+        return;
+      }
+      value = -value;
+    }
+    if (value < TEN_TO_THE_8) {
+      appendDigits(value, false);
+    } else if (value < TEN_TO_THE_16) {
+      appendDigits(value / TEN_TO_THE_8, false);
+      appendDigits(value % TEN_TO_THE_8, true);
+    } else {
+      appendDigits(value / TEN_TO_THE_16, false);
+      appendDigits(value / TEN_TO_THE_8 % TEN_TO_THE_8, true);
+      appendDigits(value % TEN_TO_THE_8, true);
+    }
+  }
+
+  // Writes a value below 10^8, with leading zeros to eight digits or without them.
+  private void appendDigits(long value, boolean padded) {
+    long digits = eightDigits(value);
+    // The first digit is in the lowest byte, so leading zeros are trailing zero bytes.
+    int leadingZeros = padded ? 0 : Math.min(Long.numberOfTrailingZeros(digits) >>> 3, 7);
+    long ascii = (digits + ASCII_ZEROS) >>> (leadingZeros << 3);
+    int length = 8 - leadingZeros;
+    if (position + 8 <= buffer.byteSize()) {
+      buffer.set(LONG_LE, position, ascii);
+    } else {
+      // Too close to the end of the buffer to store all eight bytes.
+      for (int index = 0; index < length; index++) {
+        buffer.set(ValueLayout.JAVA_BYTE, position + index, (byte) (ascii >>> (index << 3)));
+      }
+    }
+    position += length;
+  }
+
+  private static int length(long value) {
+    if (value == Long.MIN_VALUE) {
+      return 20;
+    }
+    int length = value < 0 ? 2 : 1;
+    long magnitude = Math.abs(value);
+    for (long bound = 10; length < 20 && magnitude >= bound; bound *= 10) {
+      length++;
+    }
+    return length;
+  }
+
+  private void writeQuoted(String value) {
+    put((byte) '"');
+    for (int index = 0; index < value.length(); index++) {
+      char symbol = value.charAt(index);
+      if (symbol < 0x80) {
+        if (symbol >= 0x20 && symbol != '"' && symbol != '\\') {
+          put((byte) symbol);
+        } else {
+          appendEscape((byte) symbol);
+        }
+      } else if (symbol < 0x800) {
+        ensureCapacity(2);
+        buffer.set(ValueLayout.JAVA_BYTE, position++, (byte) (0xC0 | symbol >> 6));
+        buffer.set(ValueLayout.JAVA_BYTE, position++, (byte) (0x80 | symbol & 0x3F));
+      } else if (Character.isHighSurrogate(symbol) && index + 1 < value.length()
+        && Character.isLowSurrogate(value.charAt(index + 1))) {
+        int codePoint = Character.toCodePoint(symbol, value.charAt(++index));
+        ensureCapacity(4);
+        buffer.set(ValueLayout.JAVA_BYTE, position++, (byte) (0xF0 | codePoint >> 18));
+        buffer.set(ValueLayout.JAVA_BYTE, position++, (byte) (0x80 | codePoint >> 12 & 0x3F));
+        buffer.set(ValueLayout.JAVA_BYTE, position++, (byte) (0x80 | codePoint >> 6 & 0x3F));
+        buffer.set(ValueLayout.JAVA_BYTE, position++, (byte) (0x80 | codePoint & 0x3F));
+      } else if (Character.isSurrogate(symbol)) {
+        // A lone surrogate cannot be encoded, like String.getBytes the writer replaces it.
+        put((byte) '?');
+      } else {
+        ensureCapacity(3);
+        buffer.set(ValueLayout.JAVA_BYTE, position++, (byte) (0xE0 | symbol >> 12));
+        buffer.set(ValueLayout.JAVA_BYTE, position++, (byte) (0x80 | symbol >> 6 & 0x3F));
+        buffer.set(ValueLayout.JAVA_BYTE, position++, (byte) (0x80 | symbol & 0x3F));
+      }
+    }
+    put((byte) '"');
+  }
+
+  // Copies the runs between bytes that need escaping in bulk; finding them is vectorized.
+  private void writeQuoted(MemorySegment utf8) {
+    put((byte) '"');
+    long length = utf8.byteSize();
+    long start = 0;
+    while (start < length) {
+      long escape = byteSearch.findEscape(utf8, start, length);
+      append(utf8, start, escape);
+      if (escape == length) {
+        break;
+      }
+      appendEscape(utf8.get(ValueLayout.JAVA_BYTE, escape));
+      start = escape + 1;
+    }
+    put((byte) '"');
+  }
+
+  private void appendEscape(byte symbol) {
+    byte shorthand = switch (symbol) {
+      case '"' -> '"';
+      case '\\' -> '\\';
+      case '\n' -> 'n';
+      case '\r' -> 'r';
+      case '\t' -> 't';
+      case '\b' -> 'b';
+      case '\f' -> 'f';
+      default -> 0;
+    };
+    ensureCapacity(shorthand != 0 ? 2 : 6);
+    buffer.set(ValueLayout.JAVA_BYTE, position++, (byte) '\\');
+    if (shorthand != 0) {
+      buffer.set(ValueLayout.JAVA_BYTE, position++, shorthand);
+      return;
+    }
+    buffer.set(ValueLayout.JAVA_BYTE, position++, (byte) 'u');
+    buffer.set(ValueLayout.JAVA_BYTE, position++, (byte) '0');
+    buffer.set(ValueLayout.JAVA_BYTE, position++, (byte) '0');
+    buffer.set(ValueLayout.JAVA_BYTE, position++, HEX[symbol >> 4]);
+    buffer.set(ValueLayout.JAVA_BYTE, position++, HEX[symbol & 0xF]);
+  }
+
+  void put(byte symbol) {
+    ensureCapacity(1);
+    buffer.set(ValueLayout.JAVA_BYTE, position++, symbol);
+  }
+
+  private void put(byte[] bytes) {
+    ensureCapacity(bytes.length);
+    MemorySegment.copy(bytes, 0, buffer, ValueLayout.JAVA_BYTE, position, bytes.length);
+    position += bytes.length;
+  }
+
+  // A key copied from input bytes (with its quotes); the value follows with the next write.
+  void appendKey(MemorySegment source, long from, long to) {
+    beforeValue();
+    append(source, from, to);
+    put((byte) ':');
+    afterKey = true;
+  }
+
+  // A whole member ("key": value) copied from input bytes.
+  void appendMember(MemorySegment source, long from, long to) {
+    beforeValue();
+    append(source, from, to);
+  }
+
+  // Copies input bytes outside of strings without their whitespace, at most one buffer at a time. Compacting never
+  // writes more bytes than it reads, so each chunk only takes the space left in the buffer, and the buffer is only
+  // grown or flushed once it is full. A fixed segment thus holds output that fits it exactly.
+  void appendWithoutWhitespace(MemorySegment source, long from, long to) {
+    while (from < to) {
+      long chunk = Math.min(to - from, DEFAULT_BUFFER_SIZE);
+      if (buffer == null || position == buffer.byteSize()) {
+        ensureCapacity(chunk);
+      }
+      chunk = Math.min(chunk, buffer.byteSize() - position);
+      position = byteSearch.copyWithoutWhitespace(source, from, from + chunk, buffer, position);
+      from += chunk;
+    }
+  }
+
+  // Large runs going to a channel bypass the buffer, so splicing a big segment does not grow it.
+  void append(MemorySegment source, long from, long to) {
+    long length = to - from;
+    if (channel != null && length > buffer.byteSize()) {
+      try {
+        flush();
+        ByteBuffer direct = source.asSlice(from, length).asByteBuffer();
+        while (direct.hasRemaining()) {
+          channel.write(direct);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return;
+    }
+    ensureCapacity(length);
+    MemorySegment.copy(source, from, buffer, position, length);
+    position += length;
+  }
+
+  private void ensureCapacity(long bytes) {
+    if (buffer == null) {
+      throw new IllegalStateException("The writer is closed");
+    }
+    if (position + bytes <= buffer.byteSize()) {
+      return;
+    }
+    if (channel != null) {
+      try {
+        flush();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      if (bytes <= buffer.byteSize()) {
+        return;
+      }
+    }
+    if (pool == null) {
+      throw new IllegalStateException("The output segment of " + buffer.byteSize() + " bytes is full");
+    }
+    MemorySegment larger = pool.acquire(Math.max(buffer.byteSize() * 2, position + bytes));
+    MemorySegment.copy(buffer, 0, larger, 0, position);
+    pool.release(buffer);
+    buffer = larger;
+  }
+
+  private static boolean isNegativeZero(double value) {
+    return value == 0 && Double.doubleToRawLongBits(value) != 0;
+  }
+}
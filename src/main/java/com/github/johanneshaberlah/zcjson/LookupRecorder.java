@@ -0,0 +1,31 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.metrics.DocumentMetrics;
+import com.github.johanneshaberlah.zcjson.metrics.JsonMetrics;
+
+// Per-document lookup counters, shared by a document and all objects read from it. Only exists if metrics are enabled.
+final class LookupRecorder {
+  private final JsonMetrics metrics;
+
+  private int lookups;
+  private long scannedTokens;
+  private boolean closed;
+
+  LookupRecorder(JsonMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  void record(JsonKey key, int scanned, boolean found) {
+    lookups++;
+    scannedTokens += scanned;
+    metrics.onLookup(key, scanned, found);
+  }
+
+  void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    metrics.onDocumentClose(new DocumentMetrics(lookups, scannedTokens));
+  }
+}
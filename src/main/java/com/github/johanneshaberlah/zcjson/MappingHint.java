@@ -0,0 +1,20 @@
+package com.github.johanneshaberlah.zcjson;
+
+// Access pattern hints for memory-mapped documents. The madvise based hints only take effect on Linux and are ignored
+// elsewhere; LOAD works on every platform.
+public enum MappingHint {
+  // madvise(MADV_SEQUENTIAL): aggressive read-ahead, pages behind the tokenizer may be dropped early.
+  SEQUENTIAL(2),
+  // madvise(MADV_WILLNEED): start reading the whole file into the page cache asynchronously.
+  WILL_NEED(3),
+  // madvise(MADV_HUGEPAGE): back the mapping with transparent huge pages where the file system supports it.
+  HUGE_PAGES(14),
+  // MemorySegment.load(): fault in every page before tokenizing.
+  LOAD(-1);
+
+  final int advice;
+
+  MappingHint(int advice) {
+    this.advice = advice;
+  }
+}
@@ -0,0 +1,59 @@
+package com.github.johanneshaberlah.zcjson;
+
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandle;
+import java.util.Set;
+
+// Applies mapping hints to a mapped segment. madvise is bound through the Panama linker on first use, and only on
+// Linux, where the advice values of MappingHint are defined.
+final class MemoryAdvice {
+
+  private MemoryAdvice() {
+  }
+
+  static void apply(MemorySegment segment, Set<MappingHint> hints) {
+    for (MappingHint hint : hints) {
+      if (hint == MappingHint.LOAD) {
+        segment.load();
+      } else {
+        advise(segment, hint.advice);
+      }
+    }
+  }
+
+  static boolean isSupported() {
+    return Madvise.HANDLE != null;
+  }
+
+  // Hints are best effort: a failing madvise (e.g. huge pages on an unsupported file system) leaves the mapping as is.
+  private static void advise(MemorySegment segment, int advice) {
+    if (Madvise.HANDLE == null || segment.byteSize() == 0) {
+      return;
+    }
+    try {
+      int ignored = (int) Madvise.HANDLE.invokeExact(segment, segment.byteSize(), advice);
+    } catch (Throwable e) {
+      throw new IllegalStateException("madvise failed", e);
+    }
+  }
+
+  private static final class Madvise {
+    private static final MethodHandle HANDLE = lookup();
+
+    private static MethodHandle lookup() {
+      if (!System.getProperty("os.name", "").startsWith("Linux")) {
+        return null;
+      }
+      Linker linker = Linker.nativeLinker();
+      return linker.defaultLookup().find("madvise")
+        .map(address -> linker.downcallHandle(
+          address,
+          FunctionDescriptor.of(ValueLayout.JAVA_INT, ValueLayout.ADDRESS, ValueLayout.JAVA_LONG, ValueLayout.JAVA_INT)
+        ))
+        .orElse(null);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.Token;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+
+// Packed columns for the arrays of a document that hold nothing but numbers, such as time series or embeddings. The
+// tape is scanned once after tokenizing; every such array with at least the minimum number of elements is parsed into
+// JAVA_DOUBLEs, and all columns share one off-heap block from the document's arena, so they are released with it.
+final class NumericColumns {
+  // The token index of each array start, ascending, and where its column begins in the block.
+  private final int[] arrays;
+  private final long[] offsets;
+  private final int[] lengths;
+  private final MemorySegment block;
+
+  private NumericColumns(int[] arrays, long[] offsets, int[] lengths, MemorySegment block) {
+    this.arrays = arrays;
+    this.offsets = offsets;
+    this.lengths = lengths;
+    this.block = block;
+  }
+
+  // Returns null if no array qualifies.
+  static NumericColumns of(MemorySegment segment, long[] tokens, int minimumLength, Arena arena) {
+    int[] arrays = new int[16];
+    int[] lengths = new int[16];
+    int count = 0;
+    long elements = 0;
+    // The start of the array all tokens since which were numbers, or -1.
+    int candidate = -1;
+    for (int index = 0; index < tokens.length && tokens[index] != -1; index++) {
+      int type = (int) (tokens[index] >>> 60);
+      if (type == Token.ARRAY_START_MARKER) {
+        candidate = index;
+      } else if (type == Token.ARRAY_END_MARKER && candidate != -1) {
+        int length = index - candidate - 1;
+        if (length >= minimumLength) {
+          if (count == arrays.length) {
+            arrays = Arrays.copyOf(arrays, count * 2);
+            lengths = Arrays.copyOf(lengths, count * 2);
+          }
+          arrays[count] = candidate;
+          lengths[count++] = length;
+          elements += length;
+        }
+        candidate = -1;
+      } else if (type != Token.NUMBER) {
+        candidate = -1;
+      }
+    }
+    if (count == 0) {
+      return null;
+    }
+
+    MemorySegment block = arena.allocate(elements * Double.BYTES, Double.BYTES);
+    long[] offsets = new long[count];
+    long offset = 0;
+    for (int column = 0; column < count; column++) {
+      offsets[column] = offset;
+      for (int index = arrays[column] + 1, end = index + lengths[column]; index < end; index++) {
+        long token = tokens[index];
+        double value = JsonValue.parseDouble(segment, (token >>> 30) & 0x3FFFFFFFL, token & 0x3FFFFFFFL);
+        block.set(ValueLayout.JAVA_DOUBLE, offset, value);
+        offset += Double.BYTES;
+      }
+    }
+    return new NumericColumns(Arrays.copyOf(arrays, count), offsets, Arrays.copyOf(lengths, count), block);
+  }
+
+  // The column of the array starting at the token, or null if it has none.
+  MemorySegment find(int arrayStart) {
+    int column = Arrays.binarySearch(arrays, arrayStart);
+    if (column < 0) {
+      return null;
+    }
+    return block.asSlice(offsets[column], (long) lengths[column] * Double.BYTES);
+  }
+}
@@ -0,0 +1,41 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.simd.SimdByteSearch;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+// Skips JSON Lines records whose raw bytes do not contain a byte sequence. The search runs over the whole remaining
+// input instead of record by record, so the records in between are never looked at, not even for their newlines; only
+// once the sequence is found does the prefilter step back to the start of the record it is in.
+final class RecordPrefilter {
+  private static final byte NEWLINE = '\n';
+
+  private final MemorySegment needle;
+
+  RecordPrefilter(byte[] needle) {
+    if (needle.length == 0) {
+      throw new IllegalArgumentException("The prefilter needs at least one byte");
+    }
+    for (byte value : needle) {
+      if (value == NEWLINE) {
+        throw new IllegalArgumentException("Records cannot contain a newline, neither can the prefilter");
+      }
+    }
+    this.needle = MemorySegment.ofArray(needle.clone());
+  }
+
+  // Returns the start of the first record in [from, end) that contains the sequence, or end if there is none. `from`
+  // has to be the start of a record.
+  long nextCandidate(SimdByteSearch byteSearch, MemorySegment segment, long from, long end) {
+    long match = byteSearch.findSequence(segment, from, end, needle);
+    if (match == end) {
+      return end;
+    }
+    long start = match;
+    while (start > from && segment.get(ValueLayout.JAVA_BYTE, start - 1) != NEWLINE) {
+      start--;
+    }
+    return start;
+  }
+}
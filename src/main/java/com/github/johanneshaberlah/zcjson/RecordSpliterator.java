@@ -0,0 +1,113 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.Tokenizer;
+import com.github.johanneshaberlah.zcjson.tokenizer.TokenizerException;
+import com.github.johanneshaberlah.zcjson.tokenizer.simd.SimdByteSearch;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// The records of a JSON Lines segment between two byte offsets. Splits at the first newline after the midpoint, so
+// every record belongs to exactly one split, and each split tokenizes with its own tokenizer and tape.
+final class RecordSpliterator implements Spliterator<JsonDocument> {
+  private static final byte NEWLINE = '\n';
+  // Below this, splitting costs more than the parallelism gains.
+  private static final long MIN_SPLIT_BYTES = 64 * 1024;
+
+  private final MemorySegment segment;
+  private final Arena arena;
+  private final Supplier<? extends Tokenizer> tokenizerFactory;
+  private final RecordPrefilter prefilter;
+  private final SimdByteSearch byteSearch = new SimdByteSearch();
+  private final long end;
+
+  private Tokenizer tokenizer;
+  private long[] tape = new long[1024];
+  private long position;
+
+  // A null factory means the tokenizer is a single instance and the records can only be read sequentially.
+  RecordSpliterator(
+    MemorySegment segment,
+    Arena arena,
+    Tokenizer tokenizer,
+    Supplier<? extends Tokenizer> tokenizerFactory,
+    RecordPrefilter prefilter,
+    long position,
+    long end
+  ) {
+    this.segment = segment;
+    this.arena = arena;
+    this.tokenizer = tokenizer;
+    this.tokenizerFactory = tokenizerFactory;
+    this.prefilter = prefilter;
+    this.position = position;
+    this.end = end;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super JsonDocument> action) {
+    while (position < end) {
+      long start = prefilter == null ? position : prefilter.nextCandidate(byteSearch, segment, position, end);
+      if (start == end) {
+        position = end;
+        return false;
+      }
+      long newline = byteSearch.findByte(segment, start, end, NEWLINE);
+      // The last record may end without a newline, in which case the search returns `end`.
+      position = Math.min(newline + 1, end);
+
+      MemorySegment record = segment.asSlice(start, newline - start);
+      if (tokenizer == null) {
+        tokenizer = tokenizerFactory.get();
+      }
+      try {
+        tape = tokenizer.read(record, tape);
+      } catch (TokenizerException e) {
+        throw new TokenizerException(
+          "Line " + JsonLinesReader.lineOf(byteSearch, segment, start) + ": " + e.getMessage()
+        );
+      }
+      if (tape[0] != -1) {
+        action.accept(new JsonDocument(arena, record, tape, 0, tape.length));
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Spliterator<JsonDocument> trySplit() {
+    if (tokenizerFactory == null || end - position < 2 * MIN_SPLIT_BYTES) {
+      return null;
+    }
+    long newline = byteSearch.findByte(segment, position + (end - position) / 2, end, NEWLINE);
+    if (newline >= end - 1) {
+      return null;
+    }
+    RecordSpliterator prefix = new RecordSpliterator(
+      segment,
+      arena,
+      null,
+      tokenizerFactory,
+      prefilter,
+      position,
+      newline + 1
+    );
+    position = newline + 1;
+    return prefix;
+  }
+
+  // The number of records is unknown until they are read; the remaining bytes keep the estimates of splits comparable.
+  @Override
+  public long estimateSize() {
+    return end - position;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL | IMMUTABLE;
+  }
+}
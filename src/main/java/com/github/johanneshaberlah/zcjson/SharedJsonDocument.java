@@ -0,0 +1,104 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.metrics.JsonMetrics;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// A document over a shared arena that any number of threads can query at once. Every thread acquires its own handle,
+// a regular JsonDocument, and closes it when done. The arena (and with it the mapping) is released once the owner has
+// closed this object and the last handle has been closed.
+public final class SharedJsonDocument implements AutoCloseable {
+  private final Arena arena;
+  private final MemorySegment segment;
+  private final long[] tokens;
+  private final int[] jumps;
+  private final NumericColumns columns;
+  private final JsonMetrics metrics;
+
+  // One reference for the owner plus one per open handle.
+  private final AtomicInteger references = new AtomicInteger(1);
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  SharedJsonDocument(
+    Arena arena,
+    MemorySegment segment,
+    long[] tokens,
+    int[] jumps,
+    NumericColumns columns,
+    JsonMetrics metrics
+  ) {
+    this.arena = arena;
+    this.segment = segment;
+    this.tokens = tokens;
+    this.jumps = jumps;
+    this.columns = columns;
+    this.metrics = metrics;
+  }
+
+  public JsonDocument acquire() {
+    if (closed.get()) {
+      throw new IllegalStateException("The shared document is already closed");
+    }
+    retain();
+    LookupRecorder recorder = metrics != null && metrics.isEnabled() ? new LookupRecorder(metrics) : null;
+    return new JsonDocument(new Handle(), segment, tokens, 0, tokens.length, recorder, jumps, columns);
+  }
+
+  // The size of the mapped or copied input, not counting the token tape on the heap.
+  public long byteSize() {
+    return segment.byteSize();
+  }
+
+  public int references() {
+    return references.get();
+  }
+
+  // Releases the owner's reference; handles that are still open stay valid.
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      release();
+    }
+  }
+
+  private void retain() {
+    int count;
+    do {
+      count = references.get();
+      if (count == 0) {
+        throw new IllegalStateException("The shared document is already closed");
+      }
+    } while (!references.compareAndSet(count, count + 1));
+  }
+
+  private void release() {
+    if (references.decrementAndGet() == 0) {
+      arena.close();
+    }
+  }
+
+  // The arena of a single handle: allocates from the shared arena and gives back exactly one reference on close.
+  private final class Handle implements Arena {
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    @Override
+    public MemorySegment allocate(long byteSize, long byteAlignment) {
+      return arena.allocate(byteSize, byteAlignment);
+    }
+
+    @Override
+    public MemorySegment.Scope scope() {
+      return arena.scope();
+    }
+
+    @Override
+    public void close() {
+      if (released.compareAndSet(false, true)) {
+        release();
+      }
+    }
+  }
+}
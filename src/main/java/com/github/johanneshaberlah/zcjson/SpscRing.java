@@ -0,0 +1,72 @@
+package com.github.johanneshaberlah.zcjson;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.LockSupport;
+
+// A bounded queue between exactly one producer and one consumer thread. Each index is written by one side only, so an
+// offer or poll is a plain array access plus one release store, without locks or CAS.
+final class SpscRing<T> {
+  private static final VarHandle HEAD;
+  private static final VarHandle TAIL;
+  private static final int SPINS = 100;
+  private static final long PARK_NANOS = 20_000;
+
+  static {
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      HEAD = lookup.findVarHandle(SpscRing.class, "head", long.class);
+      TAIL = lookup.findVarHandle(SpscRing.class, "tail", long.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final Object[] slots;
+  private final int mask;
+  // Next slot to poll, written by the consumer.
+  private long head;
+  // Next slot to offer, written by the producer.
+  private long tail;
+
+  SpscRing(int capacity) {
+    int size = Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1);
+    this.slots = new Object[size];
+    this.mask = size - 1;
+  }
+
+  // Producer only.
+  boolean offer(T value) {
+    long tail = this.tail;
+    if (tail - (long) HEAD.getAcquire(this) == slots.length) {
+      return false;
+    }
+    slots[(int) tail & mask] = value;
+    TAIL.setRelease(this, tail + 1);
+    return true;
+  }
+
+  // Consumer only.
+  @SuppressWarnings("unchecked")
+  T poll() {
+    long head = this.head;
+    if (head == (long) TAIL.getAcquire(this)) {
+      return null;
+    }
+    int slot = (int) head & mask;
+    T value = (T) slots[slot];
+    slots[slot] = null;
+    HEAD.setRelease(this, head + 1);
+    return value;
+  }
+
+  // Waiting for the other side: spin briefly, since a buffer is usually only microseconds away, then back off so a
+  // stalled side does not burn a core.
+  static void idle(int attempt) {
+    if (attempt < SPINS) {
+      Thread.onSpinWait();
+    } else {
+      LockSupport.parkNanos(PARK_NANOS);
+    }
+  }
+}
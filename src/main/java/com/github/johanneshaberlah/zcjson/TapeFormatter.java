@@ -0,0 +1,104 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.Token;
+
+import java.lang.foreign.MemorySegment;
+
+// Re-formats a document from its tape instead of parsing it into values: tokens are copied as the byte ranges they have
+// in the input, so numbers and strings are never decoded or re-encoded.
+final class TapeFormatter {
+  private static final MemorySegment SPACES = MemorySegment.ofArray(" ".repeat(256).getBytes());
+
+  private TapeFormatter() {
+  }
+
+  // Outside of strings the input only holds tokens, punctuation and whitespace, so minifying is copying everything
+  // between the strings without whitespace, and the strings themselves unchanged.
+  static void minify(JsonDocument document, JsonWriter writer) {
+    long[] tokens = document.tokens;
+    MemorySegment segment = document.segment;
+    int startIndex = document.startToken();
+    int endIndex = endOf(document, startIndex);
+    long position = document.rawStart(startIndex);
+    writer.beforeValue();
+    for (int index = startIndex; index <= endIndex; index++) {
+      int type = (int) (tokens[index] >>> 60);
+      if (type == Token.STRING || type == Token.KEY) {
+        long start = document.rawStart(index);
+        long end = document.rawEnd(index);
+        writer.appendWithoutWhitespace(segment, position, start);
+        writer.append(segment, start, end);
+        position = end;
+      }
+    }
+    writer.appendWithoutWhitespace(segment, position, document.rawEnd(startIndex));
+  }
+
+  static void pretty(JsonDocument document, JsonWriter writer, int indent) {
+    if (indent < 0) {
+      throw new IllegalArgumentException("The indent must not be negative, was " + indent);
+    }
+    long[] tokens = document.tokens;
+    MemorySegment segment = document.segment;
+    int startIndex = document.startToken();
+    int endIndex = endOf(document, startIndex);
+    int depth = 0;
+    boolean first = true;
+    boolean afterKey = false;
+    writer.beforeValue();
+    for (int index = startIndex; index <= endIndex; index++) {
+      int type = (int) (tokens[index] >>> 60);
+      if (type == Token.OBJECT_END_MARKER || type == Token.ARRAY_END_MARKER) {
+        depth--;
+        newline(writer, depth * indent);
+        writer.put(type == Token.OBJECT_END_MARKER ? (byte) '}' : (byte) ']');
+        first = false;
+        continue;
+      }
+      if (!afterKey && depth > 0) {
+        if (!first) {
+          writer.put((byte) ',');
+        }
+        newline(writer, depth * indent);
+      }
+      afterKey = false;
+      first = false;
+      switch (type) {
+        case Token.KEY -> {
+          writer.append(segment, document.rawStart(index), document.rawEnd(index));
+          writer.put((byte) ':');
+          writer.put((byte) ' ');
+          afterKey = true;
+        }
+        case Token.OBJECT_START_MARKER, Token.ARRAY_START_MARKER -> {
+          writer.put(type == Token.OBJECT_START_MARKER ? (byte) '{' : (byte) '[');
+          int nextType = (int) (tokens[index + 1] >>> 60);
+          if (nextType == Token.OBJECT_END_MARKER || nextType == Token.ARRAY_END_MARKER) {
+            // Empty containers stay on one line.
+            writer.put(nextType == Token.OBJECT_END_MARKER ? (byte) '}' : (byte) ']');
+            index++;
+          } else {
+            depth++;
+            first = true;
+          }
+        }
+        default -> writer.append(segment, document.rawStart(index), document.rawEnd(index));
+      }
+    }
+  }
+
+  private static int endOf(JsonDocument document, int startIndex) {
+    int type = (int) (document.tokens[startIndex] >>> 60);
+    boolean structure = type == Token.OBJECT_START_MARKER || type == Token.ARRAY_START_MARKER;
+    return structure ? document.findEndOfStructure(startIndex) : startIndex;
+  }
+
+  private static void newline(JsonWriter writer, long spaces) {
+    writer.put((byte) '\n');
+    while (spaces > 0) {
+      long chunk = Math.min(spaces, SPACES.byteSize());
+      writer.append(SPACES, 0, chunk);
+      spaces -= chunk;
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.Token;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+// A token tape plus container jump pointers, persisted next to the source file (data.json -> data.json.zci) so that
+// reopening a large file skips tokenization.
+//
+// Layout, little endian:
+//   0  int   magic "ZCJI"
+//   4  int   version
+//   8  long  source size in bytes
+//   16 long  source modification time in nanoseconds
+//   24 int   token count
+//   28 int   reserved
+//   32 long  CRC32C of everything after the header
+//   40 long  tokens[count]
+//   ..  int  jumps[count]
+record TokenIndex(long[] tokens, int[] jumps) {
+  private static final int MAGIC = 0x494A435A;
+  private static final int VERSION = 1;
+  private static final long HEADER_SIZE = 40;
+  private static final long CHECKSUM_CHUNK = 1L << 30;
+
+  private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+  private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+  static Path sidecarOf(Path source) {
+    return source.resolveSibling(source.getFileName() + ".zci");
+  }
+
+  // Builds the jump pointers for a freshly tokenized tape: the index of the matching end marker for every container
+  // start, the token itself for everything else.
+  static TokenIndex of(long[] tokens) {
+    int count = 0;
+    while (count < tokens.length && tokens[count] != -1) {
+      count++;
+    }
+    int[] jumps = new int[count];
+    int[] open = new int[16];
+    int depth = 0;
+    for (int index = 0; index < count; index++) {
+      int type = (int) (tokens[index] >>> 60);
+      jumps[index] = index;
+      if (type == Token.OBJECT_START_MARKER || type == Token.ARRAY_START_MARKER) {
+        if (depth == open.length) {
+          open = Arrays.copyOf(open, depth * 2);
+        }
+        open[depth++] = index;
+      } else if ((type == Token.OBJECT_END_MARKER || type == Token.ARRAY_END_MARKER) && depth > 0) {
+        jumps[open[--depth]] = index;
+      }
+    }
+    // Containers that are never closed have no end; the document reports them as malformed.
+    while (depth > 0) {
+      jumps[open[--depth]] = -1;
+    }
+    return new TokenIndex(tokens, jumps);
+  }
+
+  // Returns null if there is no sidecar, or if it belongs to another version of the source or fails its checksum.
+  static TokenIndex load(Path sidecar, long sourceSize, FileTime sourceModified) throws IOException {
+    try (Arena arena = Arena.ofConfined();
+         FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_SIZE) {
+        return null;
+      }
+      MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size, arena);
+      int count = file.get(INT, 24);
+      boolean matches = file.get(INT, 0) == MAGIC
+        && file.get(INT, 4) == VERSION
+        && file.get(LONG, 8) == sourceSize
+        && file.get(LONG, 16) == sourceModified.to(TimeUnit.NANOSECONDS)
+        && count >= 0
+        && size == HEADER_SIZE + 12L * count;
+      if (!matches || file.get(LONG, 32) != checksum(file.asSlice(HEADER_SIZE))) {
+        return null;
+      }
+      // The tape keeps its -1 terminator, like the ones handed out by the tokenizers.
+      long[] tokens = new long[count + 1];
+      tokens[count] = -1;
+      int[] jumps = new int[count];
+      MemorySegment.copy(file, LONG, HEADER_SIZE, tokens, 0, count);
+      MemorySegment.copy(file, INT, HEADER_SIZE + 8L * count, jumps, 0, count);
+      return new TokenIndex(tokens, jumps);
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+  }
+
+  // Writes to a temporary file first, so concurrent readers never map a partially written sidecar.
+  void write(Path sidecar, long sourceSize, FileTime sourceModified) throws IOException {
+    int count = jumps.length;
+    long size = HEADER_SIZE + 12L * count;
+    Path temporary = Files.createTempFile(sidecar.toAbsolutePath().getParent(), sidecar.getFileName().toString(), ".tmp");
+    try {
+      try (Arena arena = Arena.ofConfined();
+           FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        MemorySegment file = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena);
+        file.set(INT, 0, MAGIC);
+        file.set(INT, 4, VERSION);
+        file.set(LONG, 8, sourceSize);
+        file.set(LONG, 16, sourceModified.to(TimeUnit.NANOSECONDS));
+        file.set(INT, 24, count);
+        file.set(INT, 28, 0);
+        MemorySegment.copy(tokens, 0, file, LONG, HEADER_SIZE, count);
+        MemorySegment.copy(jumps, 0, file, INT, HEADER_SIZE + 8L * count, count);
+        file.set(LONG, 32, checksum(file.asSlice(HEADER_SIZE)));
+        file.force();
+      }
+      Files.move(temporary, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  private static long checksum(MemorySegment payload) {
+    CRC32C crc = new CRC32C();
+    for (long offset = 0; offset < payload.byteSize(); offset += CHECKSUM_CHUNK) {
+      crc.update(payload.asSlice(offset, Math.min(CHECKSUM_CHUNK, payload.byteSize() - offset)).asByteBuffer());
+    }
+    return crc.getValue();
+  }
+}
@@ -0,0 +1,31 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.Tokenizer;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+// Hands out at most `size` tokenizers at a time and reuses released ones, so their tapes keep their grown capacity.
+final class TokenizerPool {
+  private final Supplier<? extends Tokenizer> factory;
+  private final Queue<Tokenizer> idle = new ConcurrentLinkedQueue<>();
+  private final Semaphore permits;
+
+  TokenizerPool(Supplier<? extends Tokenizer> factory, int size) {
+    this.factory = factory;
+    this.permits = new Semaphore(size);
+  }
+
+  Tokenizer acquire() throws InterruptedException {
+    permits.acquire();
+    Tokenizer tokenizer = idle.poll();
+    return tokenizer != null ? tokenizer : factory.get();
+  }
+
+  void release(Tokenizer tokenizer) {
+    idle.offer(tokenizer);
+    permits.release();
+  }
+}
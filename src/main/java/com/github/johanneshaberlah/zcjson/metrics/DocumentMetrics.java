@@ -0,0 +1,5 @@
+package com.github.johanneshaberlah.zcjson.metrics;
+
+// Lookup totals of one document (including the objects read from it), reported when it is closed.
+public record DocumentMetrics(int lookups, long scannedTokens) {
+}
@@ -0,0 +1,57 @@
+package com.github.johanneshaberlah.zcjson.metrics;
+
+import com.github.johanneshaberlah.zcjson.JsonKey;
+import jdk.jfr.EventType;
+
+// Publishes metrics as zcjson.Tokenize and zcjson.Lookup Flight Recorder events. Documents are only measured while a
+// recording has one of the events enabled.
+final class JfrJsonMetrics implements JsonMetrics {
+  private static final EventType TOKENIZE = EventType.getEventType(TokenizeEvent.class);
+  private static final EventType LOOKUP = EventType.getEventType(LookupEvent.class);
+
+  private final boolean countContent;
+
+  JfrJsonMetrics(boolean countContent) {
+    this.countContent = countContent;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return TOKENIZE.isEnabled() || LOOKUP.isEnabled();
+  }
+
+  @Override
+  public boolean countsContent() {
+    return countContent;
+  }
+
+  @Override
+  public void onTokenize(TokenizeMetrics metrics) {
+    TokenizeEvent event = new TokenizeEvent();
+    if (!event.shouldCommit()) {
+      return;
+    }
+    event.bytes = metrics.bytes();
+    event.tokens = metrics.tokens();
+    event.maxDepth = metrics.maxDepth();
+    event.escapes = metrics.escapes();
+    event.tokenizerNanos = metrics.tokenizerNanos();
+    event.commit();
+  }
+
+  @Override
+  public void onLookup(JsonKey key, int scannedTokens, boolean found) {
+    LookupEvent event = new LookupEvent();
+    if (!event.shouldCommit()) {
+      return;
+    }
+    event.key = key.name();
+    event.scannedTokens = scannedTokens;
+    event.found = found;
+    event.commit();
+  }
+
+  @Override
+  public void onDocumentClose(DocumentMetrics metrics) {
+  }
+}
@@ -0,0 +1,33 @@
+package com.github.johanneshaberlah.zcjson.metrics;
+
+import com.github.johanneshaberlah.zcjson.JsonKey;
+
+// Listener for tokenizer and lookup metrics. Readers without a listener skip all bookkeeping, so metrics cost nothing
+// unless they are enabled via JsonDocumentReader.withMetrics(...).
+public interface JsonMetrics {
+
+  // Checked once per document; returning false skips measuring the document entirely.
+  default boolean isEnabled() {
+    return true;
+  }
+
+  // Also checked once per document; returning true fills in the maximum depth and the escape count of the tokenize
+  // metrics. Both take an extra pass over the input and the tape, so they are off by default.
+  default boolean countsContent() {
+    return false;
+  }
+
+  void onTokenize(TokenizeMetrics metrics);
+
+  void onLookup(JsonKey key, int scannedTokens, boolean found);
+
+  void onDocumentClose(DocumentMetrics metrics);
+
+  static JsonMetrics jfr() {
+    return new JfrJsonMetrics(false);
+  }
+
+  static JsonMetrics jfr(boolean countContent) {
+    return new JfrJsonMetrics(countContent);
+  }
+}
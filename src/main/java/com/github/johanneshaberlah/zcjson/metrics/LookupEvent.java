@@ -0,0 +1,19 @@
+package com.github.johanneshaberlah.zcjson.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("zcjson.Lookup")
+@Label("Lookup")
+@Category("zc-json")
+final class LookupEvent extends jdk.jfr.Event {
+  @Label("Key")
+  String key;
+
+  @Label("Scanned Tokens")
+  int scannedTokens;
+
+  @Label("Found")
+  boolean found;
+}
@@ -0,0 +1,29 @@
+package com.github.johanneshaberlah.zcjson.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("zcjson.Tokenize")
+@Label("Tokenize")
+@Category("zc-json")
+final class TokenizeEvent extends jdk.jfr.Event {
+  @Label("Bytes")
+  @DataAmount
+  long bytes;
+
+  @Label("Tokens")
+  int tokens;
+
+  @Label("Max Depth")
+  int maxDepth;
+
+  @Label("Escapes")
+  int escapes;
+
+  @Label("Tokenizer Time")
+  @Timespan
+  long tokenizerNanos;
+}
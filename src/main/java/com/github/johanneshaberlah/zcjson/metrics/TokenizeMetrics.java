@@ -0,0 +1,47 @@
+package com.github.johanneshaberlah.zcjson.metrics;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.Token;
+import com.github.johanneshaberlah.zcjson.tokenizer.simd.SimdByteSearch;
+
+import java.lang.foreign.MemorySegment;
+
+// maxDepth and escapes are -1 unless the listener counts content (see JsonMetrics.countsContent).
+public record TokenizeMetrics(long bytes, int tokens, int maxDepth, int escapes, long tokenizerNanos) {
+  private static final SimdByteSearch SEARCH = new SimdByteSearch();
+  private static final byte ESCAPE = '\\';
+
+  // Derives the metrics from the input and the finished tape, so the tokenizers themselves stay untouched.
+  public static TokenizeMetrics of(MemorySegment segment, long[] tokens, long tokenizerNanos, boolean countContent) {
+    if (!countContent) {
+      int count = 0;
+      while (count < tokens.length && tokens[count] != -1) {
+        count++;
+      }
+      return new TokenizeMetrics(segment.byteSize(), count, -1, -1, tokenizerNanos);
+    }
+    int count = 0;
+    int depth = 0;
+    int maxDepth = 0;
+    for (; count < tokens.length && tokens[count] != -1; count++) {
+      int type = (int) (tokens[count] >>> 60);
+      if (type == Token.OBJECT_START_MARKER || type == Token.ARRAY_START_MARKER) {
+        maxDepth = Math.max(maxDepth, ++depth);
+      }
+      if (type == Token.OBJECT_END_MARKER || type == Token.ARRAY_END_MARKER) {
+        depth--;
+      }
+    }
+    return new TokenizeMetrics(segment.byteSize(), count, maxDepth, countEscapes(segment), tokenizerNanos);
+  }
+
+  // Backslashes only occur inside strings, each one starting an escape sequence that also covers the next byte.
+  private static int countEscapes(MemorySegment segment) {
+    long length = segment.byteSize();
+    int escapes = 0;
+    for (long index = SEARCH.findByte(segment, 0, length, ESCAPE); index < length;
+         index = SEARCH.findByte(segment, index + 2, length, ESCAPE)) {
+      escapes++;
+    }
+    return escapes;
+  }
+}
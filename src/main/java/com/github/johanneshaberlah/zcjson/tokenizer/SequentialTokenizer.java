@@ -3,7 +3,6 @@ package com.github.johanneshaberlah.zcjson.tokenizer;
 import java.lang.foreign.MemorySegment;
 import java.lang.foreign.ValueLayout;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 
 public final class SequentialTokenizer implements Tokenizer {
   private static final byte OBJECT_START = '{';
@@ -32,8 +31,15 @@ public final class SequentialTokenizer implements Tokenizer {
   }
 
   public long[] read(MemorySegment segment) {
+    // Every read hands out its own tape, sized after the previous one so similar inputs do not regrow it.
+    return read(segment, new long[tokens.length]);
+  }
+
+  @Override
+  public long[] read(MemorySegment segment, long[] tape) {
     long length = segment.byteSize();
-    Arrays.fill(tokens, -1);
+    tokens = tape;
+    tokenCount = 0;
 
     for (long index = 0; index < length; index++) {
       byte symbol = segment.get(ValueLayout.JAVA_BYTE, index);
@@ -92,6 +98,9 @@ public final class SequentialTokenizer implements Tokenizer {
           );
       }
     }
+    if (tokenCount < tokens.length) {
+      tokens[tokenCount] = -1;
+    }
     return tokens;
   }
 
@@ -119,7 +128,7 @@ public final class SequentialTokenizer implements Tokenizer {
 
   private void addToken(int type, int start, int len) {
     if (tokenCount >= tokens.length) {
-      int newCapacity = tokens.length * 2;
+      int newCapacity = Math.max(tokens.length * 2, 16);
       long[] newTokens = new long[newCapacity];
       System.arraycopy(tokens, 0, newTokens, 0, tokens.length);
       this.tokens = newTokens;
@@ -0,0 +1,264 @@
+package com.github.johanneshaberlah.zcjson.tokenizer;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.simd.SimdByteSearch;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Tokenizes input that arrives in chunks, e.g. from a pipe or a socket, and passes every token to a handler instead of
+// building a tape. A token that is cut by a chunk boundary is carried over into a buffer that only grows to the size of
+// the largest such token, so unbounded input is tokenized in constant memory. Tokens within a chunk are handed out as
+// slices of the chunk without copying.
+public final class StreamingTokenizer {
+  private static final byte OBJECT_START = '{';
+  private static final byte OBJECT_END = '}';
+  private static final byte ARRAY_START = '[';
+  private static final byte ARRAY_END = ']';
+  private static final byte STRING_LITERAL = '"';
+  private static final byte ESCAPE = '\\';
+
+  private static final byte COLON = ':';
+  private static final byte COMMA = ',';
+  private static final byte WHITESPACE = ' ';
+
+  private static final byte[] TRUE = "true".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] FALSE = "false".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+
+  // What the tokenizer is in the middle of when a chunk ends.
+  private static final int BETWEEN_TOKENS = 0;
+  private static final int IN_STRING = 1;
+  // The string is closed, but whether it is a key depends on the next byte that is not whitespace.
+  private static final int AFTER_STRING = 2;
+  private static final int IN_NUMBER = 3;
+  private static final int IN_LITERAL = 4;
+
+  private static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+  private final TokenHandler handler;
+  private final SimdByteSearch simdByteSearch = new SimdByteSearch();
+
+  private int state = BETWEEN_TOKENS;
+  private int depth;
+  // Offset of the current chunk in the stream.
+  private long position;
+
+  // The token in progress: where it started in the stream and in the current chunk, and whether its first bytes are in
+  // the carry buffer because it started in an earlier chunk.
+  private long tokenOffset;
+  private long tokenStart;
+  private long tokenEnd;
+  private boolean carried;
+  private byte[] carry = new byte[256];
+  private int carryLength;
+
+  // Backslashes directly before the end of the previous chunk, for a quote at the start of the next one.
+  private int pendingEscapes;
+  private byte[] literal;
+  private int literalType;
+  private int literalMatched;
+
+  public StreamingTokenizer(TokenHandler handler) {
+    this.handler = handler;
+  }
+
+  // Tokenizes the channel to its end, reading it in chunks of a fixed size.
+  public static void tokenize(ReadableByteChannel channel, TokenHandler handler) throws IOException {
+    StreamingTokenizer tokenizer = new StreamingTokenizer(handler);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(DEFAULT_CHUNK_SIZE);
+    MemorySegment chunk = MemorySegment.ofBuffer(buffer);
+    while (channel.read(buffer.clear()) != -1) {
+      tokenizer.accept(chunk.asSlice(0, buffer.position()));
+    }
+    tokenizer.finish();
+  }
+
+  public void accept(MemorySegment chunk) {
+    long length = chunk.byteSize();
+    long index = 0;
+    while (index < length) {
+      index = switch (state) {
+        case IN_STRING -> continueString(chunk, index, length);
+        case AFTER_STRING -> continueAfterString(chunk, index, length);
+        case IN_NUMBER -> continueNumber(chunk, index, length);
+        case IN_LITERAL -> continueLiteral(chunk, index, length);
+        default -> nextToken(chunk, index, length);
+      };
+    }
+    if (state != BETWEEN_TOKENS) {
+      carryOver(chunk, length);
+    }
+    position += length;
+  }
+
+  // Completes the last token and checks that the input was complete. The tokenizer can be reused afterwards.
+  public void finish() {
+    try {
+      switch (state) {
+        case IN_NUMBER -> emit(Token.NUMBER, null, 0);
+        case AFTER_STRING -> emit(Token.STRING, null, 0);
+        case IN_STRING, IN_LITERAL -> throw new TokenizerException("Unexpected end of input in token at " + tokenOffset);
+        default -> { }
+      }
+      if (depth != 0) {
+        throw new TokenizerException("Unexpected end of input at depth " + depth);
+      }
+    } finally {
+      state = BETWEEN_TOKENS;
+      depth = 0;
+      position = 0;
+      carried = false;
+      carryLength = 0;
+    }
+  }
+
+  private long nextToken(MemorySegment chunk, long index, long length) {
+    byte symbol = chunk.get(ValueLayout.JAVA_BYTE, index);
+    if (symbol <= WHITESPACE) {
+      return index + 1;
+    }
+    switch (symbol) {
+      case STRING_LITERAL -> {
+        begin(IN_STRING, index + 1);
+        pendingEscapes = 0;
+        return index + 1;
+      }
+      case OBJECT_START -> structure(Token.OBJECT_START_MARKER, chunk, index, 1);
+      case OBJECT_END -> structure(Token.OBJECT_END_MARKER, chunk, index, -1);
+      case ARRAY_START -> structure(Token.ARRAY_START_MARKER, chunk, index, 1);
+      case ARRAY_END -> structure(Token.ARRAY_END_MARKER, chunk, index, -1);
+      case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> {
+        begin(IN_NUMBER, index);
+        return index + 1;
+      }
+      case 't' -> beginLiteral(Token.BOOLEAN_TRUE, TRUE, index);
+      case 'f' -> beginLiteral(Token.BOOLEAN_FALSE, FALSE, index);
+      case 'n' -> beginLiteral(Token.NULL, NULL, index);
+      case COLON, COMMA -> { }
+      default -> throw new TokenizerException(
+        String.format("Unexpected symbol '%c' at char %d", symbol, position + index)
+      );
+    }
+    return index + 1;
+  }
+
+  private long continueString(MemorySegment chunk, long index, long length) {
+    long scanStart = index;
+    long quote = simdByteSearch.findByte(chunk, index, length, STRING_LITERAL);
+    while (quote < length) {
+      // A quote preceded by an odd number of backslashes is part of the string.
+      if (escapesBefore(chunk, scanStart, quote) % 2 == 0) {
+        tokenEnd = quote;
+        state = AFTER_STRING;
+        return quote + 1;
+      }
+      quote = simdByteSearch.findByte(chunk, quote + 1, length, STRING_LITERAL);
+    }
+    pendingEscapes = escapesBefore(chunk, scanStart, length);
+    return length;
+  }
+
+  private int escapesBefore(MemorySegment chunk, long scanStart, long index) {
+    int escapes = 0;
+    while (index - escapes > scanStart && chunk.get(ValueLayout.JAVA_BYTE, index - escapes - 1) == ESCAPE) {
+      escapes++;
+    }
+    return index - escapes == scanStart ? escapes + pendingEscapes : escapes;
+  }
+
+  private long continueAfterString(MemorySegment chunk, long index, long length) {
+    for (; index < length; index++) {
+      byte symbol = chunk.get(ValueLayout.JAVA_BYTE, index);
+      if (symbol > WHITESPACE) {
+        emit(symbol == COLON ? Token.KEY : Token.STRING, chunk, tokenEnd);
+        return index;
+      }
+    }
+    return length;
+  }
+
+  private long continueNumber(MemorySegment chunk, long index, long length) {
+    long end = simdByteSearch.findFirstNonNumeric(chunk, index, length);
+    if (end < length) {
+      emit(Token.NUMBER, chunk, end);
+    }
+    return end;
+  }
+
+  private long continueLiteral(MemorySegment chunk, long index, long length) {
+    for (; index < length && literalMatched < literal.length; index++, literalMatched++) {
+      if (chunk.get(ValueLayout.JAVA_BYTE, index) != literal[literalMatched]) {
+        throw new TokenizerException("Expected literal match failed at index: " + (position + index));
+      }
+    }
+    if (literalMatched == literal.length) {
+      emit(literalType, chunk, index);
+    }
+    return index;
+  }
+
+  private void structure(int type, MemorySegment chunk, long index, int depthChange) {
+    depth += depthChange;
+    if (depth < 0) {
+      throw new TokenizerException("Unbalanced closing bracket at char " + (position + index));
+    }
+    handler.onToken(type, position + index, chunk.asSlice(index, 1));
+  }
+
+  private void beginLiteral(int type, byte[] expected, long index) {
+    begin(IN_LITERAL, index);
+    literal = expected;
+    literalType = type;
+    // The first byte is what identified the literal.
+    literalMatched = 1;
+  }
+
+  private void begin(int state, long start) {
+    this.state = state;
+    tokenOffset = position + start;
+    tokenStart = start;
+    carried = false;
+    carryLength = 0;
+  }
+
+  // Hands out the token ending at `end` in the chunk (a null chunk at the end of the input adds nothing).
+  private void emit(int type, MemorySegment chunk, long end) {
+    MemorySegment bytes;
+    if (carried) {
+      if (chunk != null) {
+        append(chunk, 0, end);
+      }
+      bytes = MemorySegment.ofArray(carry).asSlice(0, carryLength);
+    } else {
+      bytes = chunk.asSlice(tokenStart, end - tokenStart);
+    }
+    state = BETWEEN_TOKENS;
+    carried = false;
+    carryLength = 0;
+    handler.onToken(type, tokenOffset, bytes);
+  }
+
+  // The chunk ends inside a token: keep its bytes, the caller may reuse the chunk for the next one.
+  private void carryOver(MemorySegment chunk, long length) {
+    long from = carried ? 0 : tokenStart;
+    long to = state == AFTER_STRING ? tokenEnd : length;
+    append(chunk, from, to);
+    carried = true;
+    // All of the string is carried, nothing in the next chunk belongs to it.
+    tokenEnd = 0;
+  }
+
+  private void append(MemorySegment chunk, long from, long to) {
+    int size = (int) (to - from);
+    if (carryLength + size > carry.length) {
+      carry = Arrays.copyOf(carry, Math.max(carry.length * 2, carryLength + size));
+    }
+    MemorySegment.copy(chunk, ValueLayout.JAVA_BYTE, from, carry, carryLength, size);
+    carryLength += size;
+  }
+}
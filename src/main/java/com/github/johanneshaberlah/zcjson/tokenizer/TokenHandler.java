@@ -0,0 +1,12 @@
+package com.github.johanneshaberlah.zcjson.tokenizer;
+
+import java.lang.foreign.MemorySegment;
+
+// Receives the tokens of a StreamingTokenizer. The offset is the position of the token in the whole stream (for keys
+// and strings the first byte after the quote), the bytes are only valid during the call.
+@FunctionalInterface
+public interface TokenHandler {
+
+  void onToken(int type, long offset, MemorySegment bytes);
+
+}
@@ -6,4 +6,10 @@ public interface Tokenizer {
 
   public long[] read(MemorySegment segment);
 
+  // Tokenizes into the given tape and returns it, or a larger copy if the input did not fit. Callers that only need
+  // one document at a time can pass the returned tape back in and tokenize without allocating.
+  public default long[] read(MemorySegment segment, long[] tape) {
+    return read(segment);
+  }
+
 }
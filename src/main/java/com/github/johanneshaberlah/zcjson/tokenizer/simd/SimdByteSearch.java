@@ -6,6 +6,7 @@ import jdk.incubator.vector.VectorOperators;
 import jdk.incubator.vector.VectorSpecies;
 
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
 import java.nio.ByteOrder;
 import java.util.function.Function;
 
@@ -29,6 +30,76 @@ public class SimdByteSearch {
     );
   }
 
+  // Returns the offset of the first byte that has to be escaped in a JSON string: a quote, a backslash or a control
+  // character. Bytes of multi-byte UTF-8 sequences are negative as signed bytes, so the comparison is unsigned.
+  public long findEscape(MemorySegment segment, long from, long length) {
+    return findFirstMatch(segment, from, length, mask ->
+      mask.compare(VectorOperators.UNSIGNED_LT, 0x20)
+        .or(mask.compare(VectorOperators.EQ, '"'))
+        .or(mask.compare(VectorOperators.EQ, '\\'))
+    );
+  }
+
+  // Copies [from, to) to the target at the offset without whitespace and returns where the copy ends. Meant for bytes
+  // outside of strings, where every byte up to ' ' is whitespace: each vector is compressed to the bytes it keeps, and
+  // vectors without whitespace, as in already minified input, are stored as they are.
+  public long copyWithoutWhitespace(MemorySegment source, long from, long to, MemorySegment target, long offset) {
+    int step = BYTE_SPECIES.length();
+    long index = from;
+    for (; index + step <= to; index += step) {
+      ByteVector input = ByteVector.fromMemorySegment(BYTE_SPECIES, source, index, NATIVE_ORDER);
+      VectorMask<Byte> kept = input.compare(VectorOperators.UNSIGNED_GT, ' ');
+      if (kept.allTrue()) {
+        input.intoMemorySegment(target, offset, NATIVE_ORDER);
+        offset += step;
+      } else if (kept.anyTrue()) {
+        int count = kept.trueCount();
+        input.compress(kept).intoMemorySegment(target, offset, NATIVE_ORDER, BYTE_SPECIES.indexInRange(0, count));
+        offset += count;
+      }
+    }
+    for (; index < to; index++) {
+      byte symbol = source.get(ValueLayout.JAVA_BYTE, index);
+      if (Byte.toUnsignedInt(symbol) > ' ') {
+        target.set(ValueLayout.JAVA_BYTE, offset++, symbol);
+      }
+    }
+    return offset;
+  }
+
+  // Returns the offset of the first occurrence of the needle in [from, length), or length if there is none. Compares a
+  // vector of candidate first bytes and a vector of candidate last bytes at once and only verifies the whole needle
+  // where both match, which on typical text leaves very few candidates per vector.
+  public long findSequence(MemorySegment segment, long from, long length, MemorySegment needle) {
+    long needleLength = needle.byteSize();
+    if (needleLength == 0) {
+      return Math.min(from, length);
+    }
+    byte first = needle.get(ValueLayout.JAVA_BYTE, 0);
+    byte last = needle.get(ValueLayout.JAVA_BYTE, needleLength - 1);
+    long limit = length - needleLength + 1;
+    int step = BYTE_SPECIES.length();
+
+    for (long index = from; index < limit; index += step) {
+      VectorMask<Byte> inRange = BYTE_SPECIES.indexInRange(index, limit);
+      ByteVector heads = ByteVector.fromMemorySegment(BYTE_SPECIES, segment, index, NATIVE_ORDER, inRange);
+      ByteVector tails = ByteVector.fromMemorySegment(BYTE_SPECIES, segment, index + needleLength - 1, NATIVE_ORDER, inRange);
+
+      long candidates = heads.compare(VectorOperators.EQ, first)
+        .and(tails.compare(VectorOperators.EQ, last))
+        .and(inRange)
+        .toLong();
+      while (candidates != 0) {
+        long start = index + Long.numberOfTrailingZeros(candidates);
+        if (MemorySegment.mismatch(segment, start, start + needleLength, needle, 0, needleLength) == -1) {
+          return start;
+        }
+        candidates &= candidates - 1;
+      }
+    }
+    return length;
+  }
+
   private long findFirstMatch(
     MemorySegment segment,
     long from,
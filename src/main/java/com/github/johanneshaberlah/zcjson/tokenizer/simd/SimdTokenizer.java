@@ -3,7 +3,6 @@ package com.github.johanneshaberlah.zcjson.tokenizer.simd;
 import java.lang.foreign.MemorySegment;
 import java.lang.foreign.ValueLayout;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 
 import com.github.johanneshaberlah.zcjson.tokenizer.Token;
 import com.github.johanneshaberlah.zcjson.tokenizer.Tokenizer;
@@ -30,8 +29,14 @@ public final class SimdTokenizer implements Tokenizer {
   private int tokenCount = 0;
 
   public long[] read(MemorySegment segment) {
+    return read(segment, new long[tokens.length]);
+  }
+
+  @Override
+  public long[] read(MemorySegment segment, long[] tape) {
     long length = segment.byteSize();
-    Arrays.fill(tokens, -1);
+    tokens = tape;
+    tokenCount = 0;
 
     for (long index = 0; index < length; index++) {
       byte symbol = segment.get(ValueLayout.JAVA_BYTE, index);
@@ -90,6 +95,9 @@ public final class SimdTokenizer implements Tokenizer {
           );
       }
     }
+    if (tokenCount < tokens.length) {
+      tokens[tokenCount] = -1;
+    }
     return tokens;
   }
 
@@ -117,7 +125,7 @@ public final class SimdTokenizer implements Tokenizer {
 
   private void addToken(int type, int start, int len) {
     if (tokenCount >= tokens.length) {
-      int newCapacity = tokens.length * 2;
+      int newCapacity = Math.max(tokens.length * 2, 16);
       long[] newTokens = new long[newCapacity];
       System.arraycopy(tokens, 0, newTokens, 0, tokens.length);
       this.tokens = newTokens;
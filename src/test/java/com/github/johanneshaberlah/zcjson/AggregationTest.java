@@ -0,0 +1,166 @@
+package com.github.johanneshaberlah.zcjson;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Random;
+
+import static com.github.johanneshaberlah.zcjson.JsonDocumentReaderTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Aggregation Tests")
+class AggregationTest {
+    private static final JsonKey VALUES = JsonKey.of("values");
+    private static final JsonKey AMOUNT = JsonKey.of("amount");
+
+    @Test
+    @DisplayName("Built-in aggregators over a numeric array, skipping nulls")
+    void testNumericArray() {
+        List<Double> numbers = new ArrayList<>();
+        StringBuilder json = new StringBuilder("{\"values\": [");
+        Random random = new Random(3);
+        for (int i = 0; i < 1_337; i++) {
+            if (i > 0) {
+                json.append(", ");
+            }
+            if (i % 100 == 50) {
+                json.append("null");
+                continue;
+            }
+            double value = random.nextInt(-50_000, 50_000) / 100.0;
+            numbers.add(value);
+            json.append(value);
+        }
+        json.append("]}");
+        DoubleSummaryStatistics expected = numbers.stream().mapToDouble(Double::doubleValue).summaryStatistics();
+
+        try (JsonDocument document = parseJson(json.toString())) {
+            JsonArray values = document.readArray(VALUES);
+            assertEquals(expected.getSum(), values.aggregate(Aggregator.sum()).doubleValue(), 1e-6);
+            assertEquals(expected.getMin(), values.aggregate(Aggregator.min()).doubleValue());
+            assertEquals(expected.getMax(), values.aggregate(Aggregator.max()).doubleValue());
+            assertEquals(expected.getCount(), values.aggregate(Aggregator.count()).longValue());
+            assertEquals(expected.getAverage(), values.aggregate(Aggregator.mean()).doubleValue(), 1e-9);
+
+            DoubleSummaryStatistics statistics = values.aggregate(Aggregator.statistics());
+            assertEquals(expected.getCount(), statistics.getCount());
+            assertEquals(expected.getMin(), statistics.getMin());
+            assertEquals(expected.getMax(), statistics.getMax());
+            assertEquals(expected.getSum(), statistics.getSum(), 1e-6);
+        }
+    }
+
+    @Test
+    @DisplayName("Aggregate a member of every object, skipping missing members")
+    void testObjectArray() {
+        String json = """
+            {"orders": [
+              {"id": 1, "amount": 10.5, "items": [{"amount": 1000}]},
+              {"id": 2},
+              {"amount": null, "id": 3},
+              {"id": 4, "amount": -2.5e1}
+            ]}""";
+
+        try (JsonDocument document = parseJson(json)) {
+            JsonArray orders = document.readArray(JsonKey.of("orders"));
+            assertEquals(-14.5, orders.aggregate(AMOUNT, Aggregator.sum()).doubleValue());
+            assertEquals(2, orders.aggregate(AMOUNT, Aggregator.count()).longValue());
+            assertEquals(10, orders.aggregate(JsonKey.of("id"), Aggregator.sum()).doubleValue());
+            assertEquals(Double.POSITIVE_INFINITY, orders.aggregate(JsonKey.of("missing"), Aggregator.min()).doubleValue());
+            assertEquals(0.0, orders.aggregate(JsonKey.of("missing"), Aggregator.mean()).doubleValue());
+            assertThrows(IllegalStateException.class, () -> orders.aggregate(JsonKey.of("items"), Aggregator.sum()).doubleValue());
+            assertThrows(IllegalStateException.class, () -> orders.aggregate(Aggregator.sum()).doubleValue());
+        }
+    }
+
+    @Test
+    @DisplayName("Histograms count values in equally wide buckets")
+    void testHistogram() {
+        try (JsonDocument document = parseJson("{\"values\": [0, 0.5, 1, 2.25, 9.999, 10, -1, 5]}")) {
+            long[] buckets = document.readArray(VALUES).aggregate(Aggregator.histogram(0, 10, 5));
+            assertArrayEquals(new long[]{3, 1, 1, 0, 1}, buckets);
+        }
+        assertThrows(IllegalArgumentException.class, () -> Aggregator.histogram(1, 1, 5));
+        assertThrows(IllegalArgumentException.class, () -> Aggregator.histogram(0, 1, 0));
+    }
+
+    @Test
+    @DisplayName("Parallel aggregation matches the sequential result")
+    void testParallel() {
+        StringBuilder numbers = new StringBuilder("{\"values\": [");
+        StringBuilder objects = new StringBuilder("{\"values\": [");
+        for (int i = 0; i < 200_000; i++) {
+            String separator = i == 0 ? "" : ",";
+            numbers.append(separator).append(i % 1_000);
+            objects.append(separator).append("{\"tags\": [1, {\"amount\": 5}], \"amount\": ").append(i % 1_000).append('}');
+        }
+        numbers.append("]}");
+        objects.append("]}");
+
+        try (JsonDocument document = parseJson(numbers.toString())) {
+            JsonArray values = document.readArray(VALUES);
+            assertEquals(99_900_000.0, values.parallelAggregate(Aggregator.sum()).doubleValue());
+            assertEquals(200_000, values.parallelAggregate(Aggregator.count()).longValue());
+            assertEquals(999.0, values.parallelAggregate(Aggregator.max()).doubleValue());
+            assertArrayEquals(
+                values.aggregate(Aggregator.histogram(0, 1_000, 7)),
+                values.parallelAggregate(Aggregator.histogram(0, 1_000, 7))
+            );
+        }
+        try (JsonDocument document = parseJson(objects.toString())) {
+            JsonArray values = document.readArray(VALUES);
+            assertEquals(99_900_000.0, values.parallelAggregate(AMOUNT, Aggregator.sum()).doubleValue());
+            assertEquals(0.0, values.parallelAggregate(AMOUNT, Aggregator.min()).doubleValue());
+            assertEquals(499.5, values.parallelAggregate(AMOUNT, Aggregator.mean()).doubleValue());
+        }
+    }
+
+    @Test
+    @DisplayName("Small arrays are aggregated in parallel on the calling thread")
+    void testParallelSmallArray() {
+        byte[] json = "{\"values\": [1, 2, 3, 4]}".getBytes(StandardCharsets.UTF_8);
+        Aggregator<Thread[], Thread> thread = Aggregator.of(
+            () -> new Thread[1],
+            (state, batch, count) -> state[0] = Thread.currentThread(),
+            (left, right) -> left,
+            state -> state[0]
+        );
+        // A confined segment can only be read from the thread that allocated it.
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment segment = arena.allocate(json.length);
+            MemorySegment.copy(MemorySegment.ofArray(json), 0, segment, 0, json.length);
+            try (JsonDocument document = JsonDocumentReader.simdTokenizer().read(segment)) {
+                JsonArray values = document.readArray(VALUES);
+                assertEquals(10.0, values.parallelAggregate(Aggregator.sum()).doubleValue());
+                assertSame(Thread.currentThread(), values.parallelAggregate(thread));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Custom aggregators receive every number once, in order")
+    void testCustomAggregator() {
+        Aggregator<List<Double>, List<Double>> collect = Aggregator.of(
+            ArrayList::new,
+            (state, batch, count) -> {
+                for (int i = 0; i < count; i++) {
+                    state.add(batch[i]);
+                }
+            },
+            (left, right) -> {
+                left.addAll(right);
+                return left;
+            },
+            List::copyOf
+        );
+        try (JsonDocument document = parseJson("{\"values\": [3, 1, null, 2]}")) {
+            assertEquals(List.of(3.0, 1.0, 2.0), document.readArray(VALUES).aggregate(collect));
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.SequentialTokenizer;
+import com.github.johanneshaberlah.zcjson.tokenizer.Tokenizer;
+import com.github.johanneshaberlah.zcjson.tokenizer.simd.SimdTokenizer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.foreign.MemorySegment;
+import java.util.function.LongSupplier;
+
+import static com.github.johanneshaberlah.zcjson.JsonDocumentReaderTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Enforces per-operation heap allocation budgets. Budgets are upper bounds: the JIT may scalar-replace some of the
+// wrappers below, but a path must never allocate more than what its budget allows. Runs in its own JVM (the
+// allocationTest task): the type profiles other tests leave behind can make the vector API fall back to boxing, which
+// would distort the tokenizer budgets.
+@Tag("allocation")
+@DisplayName("Allocation Budget Tests")
+class AllocationTest {
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 20_000;
+    private static final int MEASURED_ROUNDS = 5;
+
+    // Room for one small wrapper object (MemorySegment slice, JsonValue, JsonDocument, JsonArray) including padding.
+    private static final long OBJECT = 64;
+
+    private static final String JSON = """
+        {
+          "id": 1234567890,
+          "name": "Alice",
+          "ratio": -12.5e-3,
+          "tags": ["a", "b", "c", {"nested": true}, [1, 2, 3]],
+          "address": {
+            "city": "Berlin",
+            "zip": 10115
+          },
+          "active": true
+        }
+        """;
+
+    private static final JsonKey ID = JsonKey.of("id");
+    private static final JsonKey RATIO = JsonKey.of("ratio");
+    private static final JsonKey TAGS = JsonKey.of("tags");
+    private static final JsonKey ADDRESS = JsonKey.of("address");
+    private static final JsonKey ZIP = JsonKey.of("zip");
+    private static final JsonKey ACTIVE = JsonKey.of("active");
+
+    private static long sink;
+
+    @Test
+    @DisplayName("Key lookup does not allocate")
+    void testFindTokenIndex() {
+        try (JsonDocument document = parseJson(JSON)) {
+            assertBudget("findTokenIndex(early key)", 0, () -> document.findTokenIndex(ID));
+            assertBudget("findTokenIndex(late key)", 0, () -> document.findTokenIndex(ACTIVE));
+        }
+    }
+
+    @Test
+    @DisplayName("readValueSegment(JsonKey) allocates at most the returned slice")
+    void testReadValueSegment() {
+        try (JsonDocument document = parseJson(JSON)) {
+            assertBudget("readValueSegment(JsonKey)", OBJECT, () -> document.readValueSegment(ACTIVE).byteSize());
+        }
+    }
+
+    @Test
+    @DisplayName("readValue(JsonKey) allocates at most the slice and the JsonValue")
+    void testReadValueByKey() {
+        try (JsonDocument document = parseJson(JSON)) {
+            assertBudget("readValue(JsonKey).asLong()", 2 * OBJECT, () -> document.readValue(ID).asLong());
+        }
+    }
+
+    @Test
+    @DisplayName("readValue(String) additionally pays for the JsonKey")
+    void testReadValueByString() {
+        try (JsonDocument document = parseJson(JSON)) {
+            assertBudget("readValue(String).asLong()", 5 * OBJECT, () -> document.readValue("id").asLong());
+        }
+    }
+
+    @Test
+    @DisplayName("Nested navigation allocates one view per step")
+    void testNavigation() {
+        try (JsonDocument document = parseJson(JSON)) {
+            assertBudget("readObject(JsonKey)", OBJECT, () -> document.readObject(ADDRESS).findTokenIndex(ZIP));
+            assertBudget("readArray(JsonKey).length()", OBJECT, () -> document.readArray(TAGS).length());
+        }
+    }
+
+    @Test
+    @DisplayName("Array access on an existing JsonArray does not allocate beyond the returned slice")
+    void testArrayAccess() {
+        try (JsonDocument document = parseJson(JSON)) {
+            JsonArray tags = document.readArray(TAGS);
+            assertBudget("JsonArray.length()", 0, tags::length);
+            assertBudget("JsonArray.findTokenIndex(int)", 0, () -> tags.findTokenIndex(4));
+            assertBudget("JsonArray.readValueSegment(int)", OBJECT, () -> tags.readValueSegment(2).byteSize());
+        }
+    }
+
+    @Test
+    @DisplayName("Number accessors parse without allocating")
+    void testNumberAccessors() {
+        try (JsonDocument document = parseJson(JSON)) {
+            JsonValue id = document.readValue(ID);
+            JsonValue ratio = document.readValue(RATIO);
+            assertBudget("JsonValue.asLong()", 0, id::asLong);
+            assertBudget("JsonValue.asInteger()", 0, id::asInteger);
+            assertBudget("JsonValue.asDouble()", 0, () -> (long) ratio.asDouble());
+            assertBudget("JsonValue.isNull()", 0, () -> ratio.isNull() ? 1 : 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Tokenizing allocates nothing but the token tape")
+    void testTokenizers() {
+        MemorySegment segment = jsonToSegment(JSON);
+        for (Tokenizer tokenizer : new Tokenizer[]{new SequentialTokenizer(), new SimdTokenizer()}) {
+            long tapeBytes = 16 + 8L * tokenizer.read(segment).length;
+            assertBudget(
+                tokenizer.getClass().getSimpleName() + ".read(MemorySegment)",
+                tapeBytes + OBJECT,
+                () -> tokenizer.read(segment).length
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("JSON Lines records reuse the tape and only allocate their views")
+    void testJsonLines() {
+        int records = 64;
+        MemorySegment segment = jsonToSegment((JSON.replace("\n", "") + "\n").repeat(records));
+        JsonLinesReader reader = JsonLinesReader.simdTokenizer();
+        assertBudget(
+            "JsonLinesReader.forEach(MemorySegment)",
+            records * 2 * OBJECT + 2 * OBJECT,
+            () -> reader.forEach(segment, record -> sink += record.tokens.length)
+        );
+    }
+
+    private static void assertBudget(String path, long budget, LongSupplier operation) {
+        long allocated = allocatedBytesPerOperation(operation);
+        assertTrue(
+            allocated <= budget,
+            () -> String.format("%s allocated %d bytes per operation, budget is %d bytes", path, allocated, budget)
+        );
+    }
+
+    private static long allocatedBytesPerOperation(LongSupplier operation) {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(
+            bean instanceof com.sun.management.ThreadMXBean threads && threads.isThreadAllocatedMemorySupported(),
+            "Thread allocation accounting is not supported by this JVM"
+        );
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += operation.getAsLong();
+        }
+        // Background compilation may still be running after the warmup (the vector API in particular allocates
+        // until C2 has compiled it), so the best of a few rounds is taken as the steady state.
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                sink += operation.getAsLong();
+            }
+            long after = threads.getCurrentThreadAllocatedBytes();
+            best = Math.min(best, (after - before) / MEASURED_ITERATIONS);
+        }
+        return best;
+    }
+}
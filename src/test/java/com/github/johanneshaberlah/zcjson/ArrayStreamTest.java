@@ -0,0 +1,167 @@
+package com.github.johanneshaberlah.zcjson;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static com.github.johanneshaberlah.zcjson.JsonDocumentReaderTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Array Stream Tests")
+class ArrayStreamTest {
+    private static final JsonKey ITEMS = JsonKey.of("items");
+
+    @Test
+    @DisplayName("Iterate elements of every type in order")
+    void testIterate() {
+        String json = "{\"items\": [1, -2.5, \"text\", true, null, {\"a\": [1]}, [3, 4], false]}";
+
+        try (JsonDocument document = parseJson(json)) {
+            List<String> seen = new ArrayList<>();
+            for (JsonElement element : document.readArray(ITEMS)) {
+                seen.add(element.index() + ":" + segmentToString(element.rawSegment()));
+            }
+            assertEquals(List.of("0:1", "1:-2.5", "2:\"text\"", "3:true", "4:null", "5:{\"a\": [1]}", "6:[3, 4]", "7:false"), seen);
+
+            List<JsonElement> elements = document.readArray(ITEMS).stream().map(JsonElement::copy).toList();
+            assertEquals(1, elements.get(0).asLong());
+            assertEquals(-2.5, elements.get(1).asDouble());
+            assertEquals("text", elements.get(2).asString());
+            assertTrue(elements.get(3).asBoolean());
+            assertTrue(elements.get(4).isNull());
+            assertEquals(1, elements.get(5).asObject().readArray(JsonKey.of("a")).length());
+            assertEquals(2, elements.get(6).asArray().length());
+            assertFalse(elements.get(7).asBoolean());
+            assertTrue(elements.get(2).isString() && elements.get(0).isNumber() && elements.get(5).isObject());
+            assertThrows(IllegalStateException.class, () -> elements.get(2).asLong());
+            assertThrows(IllegalStateException.class, () -> elements.get(0).asObject());
+            assertThrows(IllegalStateException.class, () -> elements.get(5).asArray());
+        }
+    }
+
+    @Test
+    @DisplayName("Streamed and iterated elements can be kept")
+    void testKeepElements() {
+        try (JsonDocument document = parseJson("{\"items\": [30, 10, 20, 10]}")) {
+            JsonArray items = document.readArray(ITEMS);
+            List<JsonElement> elements = items.stream().toList();
+            assertEquals(List.of(30L, 10L, 20L, 10L), elements.stream().map(JsonElement::asLong).toList());
+            List<JsonElement> sorted = items.stream().sorted(Comparator.comparingLong(JsonElement::asLong)).toList();
+            assertEquals(List.of(10L, 10L, 20L, 30L), sorted.stream().map(JsonElement::asLong).toList());
+
+            List<JsonElement> iterated = new ArrayList<>();
+            for (JsonElement element : items) {
+                iterated.add(element);
+            }
+            assertEquals(List.of(0, 1, 2, 3), iterated.stream().map(JsonElement::index).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("forEach passes independent elements")
+    void testForEach() {
+        try (JsonDocument document = parseJson("{\"items\": [10, {\"a\": [1, 2]}, 30]}")) {
+            List<JsonElement> elements = new ArrayList<>();
+            document.readArray(ITEMS).forEach(elements::add);
+            assertEquals(List.of(0, 1, 2), elements.stream().map(JsonElement::index).toList());
+            assertEquals(List.of("10", "{\"a\": [1, 2]}", "30"),
+                elements.stream().map(element -> segmentToString(element.rawSegment())).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("forEachCursor moves one cursor unless the element is copied")
+    void testForEachCursor() {
+        try (JsonDocument document = parseJson("{\"items\": [10, {\"a\": [1, 2]}, 30]}")) {
+            List<JsonElement> cursors = new ArrayList<>();
+            List<JsonElement> copies = new ArrayList<>();
+            document.readArray(ITEMS).forEachCursor(element -> {
+                cursors.add(element);
+                copies.add(element.copy());
+            });
+            assertSame(cursors.get(0), cursors.get(2));
+            assertEquals(2, cursors.get(0).index());
+            assertEquals(List.of("10", "{\"a\": [1, 2]}", "30"),
+                copies.stream().map(element -> segmentToString(element.rawSegment())).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("The spliterator is sized and splits into even runs of elements")
+    void testSpliterator() {
+        try (JsonDocument document = parseJson(objects(1_000))) {
+            JsonArray items = document.readArray(ITEMS);
+            Spliterator<JsonElement> spliterator = items.spliterator();
+            assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+            assertEquals(1_000, spliterator.getExactSizeIfKnown());
+
+            Spliterator<JsonElement> prefix = spliterator.trySplit();
+            assertNotNull(prefix);
+            assertEquals(500, prefix.estimateSize());
+            assertEquals(500, spliterator.estimateSize());
+            int[] first = new int[1];
+            spliterator.tryAdvance(element -> first[0] = element.index());
+            assertEquals(500, first[0]);
+
+            try (JsonDocument small = parseJson("{\"items\": [1, 2, 3]}")) {
+                assertNull(small.readArray(ITEMS).spliterator().trySplit());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Parallel streams visit every element exactly once")
+    void testParallel() {
+        try (JsonDocument document = parseJson(objects(50_000))) {
+            JsonArray items = document.readArray(ITEMS);
+            long sum = items.stream().parallel().mapToLong(element -> element.asObject().readValue("id").asLong()).sum();
+            assertEquals(50_000L * 49_999 / 2, sum);
+
+            BitSet visited = items.stream().parallel()
+                .map(JsonElement::index)
+                .collect(BitSet::new, BitSet::set, BitSet::or);
+            assertEquals(50_000, visited.cardinality());
+            assertEquals(50_000, items.length());
+        }
+    }
+
+    @Test
+    @DisplayName("Index access after iterating uses the element offsets")
+    void testIndexAfterIteration() {
+        try (JsonDocument document = parseJson(objects(100))) {
+            JsonArray items = document.readArray(ITEMS);
+            assertEquals(100, items.stream().count());
+            assertEquals("42", items.readObject(42).readValue("id").asString());
+            assertThrows(ArrayIndexOutOfBoundsException.class, () -> items.readObject(100));
+            assertThrows(ArrayIndexOutOfBoundsException.class, () -> items.readObject(-1));
+        }
+    }
+
+    @Test
+    @DisplayName("Numeric arrays with a column are streamed without collecting offsets")
+    void testNumericColumn() {
+        String numbers = "{\"items\": [" + java.util.stream.IntStream.range(0, 100).mapToObj(String::valueOf)
+            .collect(Collectors.joining(", ")) + "]}";
+        JsonDocumentReader reader = JsonDocumentReader.simdTokenizer().withNumericColumns();
+        try (JsonDocument document = reader.read(jsonToSegment(numbers))) {
+            JsonArray items = document.readArray(ITEMS);
+            assertEquals(100, items.spliterator().getExactSizeIfKnown());
+            assertEquals(4_950, items.stream().mapToLong(JsonElement::asLong).sum());
+            assertEquals(99, items.stream().reduce((left, right) -> right).orElseThrow().index());
+        }
+    }
+
+    private static String objects(int count) {
+        StringBuilder json = new StringBuilder("{\"items\": [");
+        for (int i = 0; i < count; i++) {
+            json.append(i == 0 ? "" : ", ").append("{\"id\": ").append(i).append(", \"tags\": [\"a\", {\"b\": null}]}");
+        }
+        return json.append("]}").toString();
+    }
+}
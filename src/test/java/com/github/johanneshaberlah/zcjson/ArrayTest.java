@@ -3,6 +3,10 @@ package com.github.johanneshaberlah.zcjson;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
 import static com.github.johanneshaberlah.zcjson.JsonDocumentReaderTest.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -239,4 +243,78 @@ class ArrayTest {
             assertEquals("Charlie", segmentToString(team1Members.readObject(0).readValueSegment(JsonKey.of("name"))));
         }
     }
+
+    @Test
+    @DisplayName("Extract a numeric field of every element into a primitive array")
+    void testExtractNumbers() {
+        String json = """
+            {
+              "prices": [
+                {"currency": "EUR", "amount": 12.5, "units": 3},
+                {"amount": -0.25, "meta": {"amount": 99, "tags": [1, 2]}, "units": 7},
+                {"units": 1, "amount": null},
+                {"tags": [{"amount": 5}], "units": -4}
+              ]
+            }
+            """;
+
+        try (JsonDocument document = parseJson(json)) {
+            JsonArray prices = document.readArray(JsonKey.of("prices"));
+            assertArrayEquals(new double[]{12.5, -0.25, Double.NaN, Double.NaN}, prices.extractDoubles(JsonKey.of("amount")));
+            assertArrayEquals(new long[]{3, 7, 1, -4}, prices.extractLongs(JsonKey.of("units")));
+            assertThrows(JsonKeyNotFoundException.class, () -> prices.extractLongs(JsonKey.of("missing")));
+            assertThrows(IllegalStateException.class, () -> prices.extractLongs(JsonKey.of("amount")));
+            assertThrows(IllegalStateException.class, () -> prices.extractDoubles(JsonKey.of("currency")));
+        }
+    }
+
+    @Test
+    @DisplayName("Extract value segments of every element")
+    void testExtractSegments() {
+        String json = "{\"users\": [{\"name\": \"Alice\", \"age\": 30}, {\"age\": 41}, {\"name\": \"Bob\"}], \"empty\": []}";
+
+        try (JsonDocument document = parseJson(json)) {
+            MemorySegment[] names = document.readArray(JsonKey.of("users")).extractSegments(JsonKey.of("name"));
+            assertEquals(3, names.length);
+            assertEquals("Alice", segmentToString(names[0]));
+            assertNull(names[1]);
+            assertEquals("Bob", segmentToString(names[2]));
+            assertEquals(0, document.readArray(JsonKey.of("empty")).extractDoubles(JsonKey.of("x")).length);
+        }
+        try (JsonDocument document = parseJson("{\"values\": [1, 2]}")) {
+            assertThrows(IllegalStateException.class, () -> document.readArray(JsonKey.of("values")).extractSegments(JsonKey.of("x")));
+        }
+    }
+
+    @Test
+    @DisplayName("Extract into off-heap columns, with and without jump pointers")
+    void testExtractIntoColumn() {
+        StringBuilder json = new StringBuilder("{\"points\": [");
+        for (int i = 0; i < 1_000; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"nested\": {\"x\": -1}, \"x\": ").append(i)
+                .append(", \"y\": ").append(i).append(".5, \"rest\": [").append(i).append("]}");
+        }
+        json.append("]}");
+
+        try (JsonDocument document = parseJson(json.toString());
+             Arena arena = Arena.ofConfined()) {
+            JsonDocument indexed = new JsonDocument(
+                Arena.ofConfined(), document.segment, document.tokens, 0, document.tokens.length, null,
+                TokenIndex.of(document.tokens).jumps()
+            );
+            for (JsonDocument source : new JsonDocument[]{document, indexed}) {
+                JsonArray points = source.readArray(JsonKey.of("points"));
+                MemorySegment xs = arena.allocate(Long.BYTES * 1_000L, Long.BYTES);
+                MemorySegment ys = arena.allocate(Double.BYTES * 1_000L, Double.BYTES);
+                assertEquals(1_000, points.extractLongs(JsonKey.of("x"), xs));
+                assertEquals(1_000, points.extractDoubles(JsonKey.of("y"), ys));
+                for (int i = 0; i < 1_000; i++) {
+                    assertEquals(i, xs.getAtIndex(ValueLayout.JAVA_LONG, i));
+                    assertEquals(i + 0.5, ys.getAtIndex(ValueLayout.JAVA_DOUBLE, i));
+                }
+                assertEquals(1_000, points.extractLongs(JsonKey.of("x")).length);
+            }
+            indexed.close();
+        }
+    }
 }
@@ -0,0 +1,162 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.SequentialTokenizer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static com.github.johanneshaberlah.zcjson.JsonDocumentReaderTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Batch Read Tests")
+class BatchReadTest {
+    private static final JsonKey ID = JsonKey.of("id");
+    private static final JsonKey NAME = JsonKey.of("name");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Read all files on virtual threads")
+    void testReadAll() throws IOException {
+        List<Path> paths = writeFiles(200);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        AtomicInteger platformThreads = new AtomicInteger();
+
+        JsonDocumentReader.simdTokenizer().readAll(paths, 8, document -> {
+            ids.add(document.readValue(ID).asLong());
+            if (!Thread.currentThread().isVirtual()) {
+                platformThreads.incrementAndGet();
+            }
+        });
+
+        assertEquals(LongStream.range(0, 200).boxed().collect(Collectors.toSet()), ids);
+        assertEquals(0, platformThreads.get());
+    }
+
+    @Test
+    @DisplayName("Documents are closed once the consumer returns")
+    void testDocumentsClosedAfterConsumer() throws IOException {
+        List<Path> paths = writeFiles(10);
+        List<MemorySegment> segments = new ArrayList<>();
+
+        JsonDocumentReader.sequentialTokenizer().readAll(paths, 1, document -> {
+            synchronized (segments) {
+                segments.add(document.readValueSegment(NAME));
+            }
+        });
+
+        assertEquals(10, segments.size());
+        for (MemorySegment segment : segments) {
+            assertFalse(segment.scope().isAlive());
+        }
+    }
+
+    @Test
+    @DisplayName("A reader with a single tokenizer instance still reads every file")
+    void testSingleTokenizerInstance() throws IOException {
+        List<Path> paths = writeFiles(50);
+        AtomicInteger count = new AtomicInteger();
+
+        JsonDocumentReader.withTokenizer(new SequentialTokenizer()).readAll(paths, 16, document -> {
+            assertEquals("document-" + document.readValue(ID).asLong(), document.readValue(NAME).asString());
+            count.incrementAndGet();
+        });
+
+        assertEquals(50, count.get());
+    }
+
+    @Test
+    @DisplayName("The first failure is rethrown")
+    void testFailure() throws IOException {
+        List<Path> paths = new ArrayList<>(writeFiles(5));
+        paths.add(2, directory.resolve("missing.json"));
+
+        assertThrows(
+            NoSuchFileException.class,
+            () -> JsonDocumentReader.simdTokenizer().readAll(paths, 2, document -> { })
+        );
+    }
+
+    @Test
+    @DisplayName("Stream documents in path order")
+    void testStreamAll() throws IOException {
+        List<Path> paths = writeFiles(100);
+
+        try (Stream<JsonDocument> documents = JsonDocumentReader.simdTokenizer().streamAll(paths, 4)) {
+            List<String> names = documents.map(document -> document.readValue(NAME).asString()).toList();
+            assertEquals(IntStream.range(0, 100).mapToObj(i -> "document-" + i).toList(), names);
+        }
+    }
+
+    @Test
+    @DisplayName("The stream knows how many documents remain")
+    void testStreamAllSize() throws IOException {
+        List<Path> paths = writeFiles(10);
+
+        try (Stream<JsonDocument> documents = JsonDocumentReader.simdTokenizer().streamAll(paths, 4)) {
+            Spliterator<JsonDocument> spliterator = documents.spliterator();
+            assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+            assertEquals(10, spliterator.getExactSizeIfKnown());
+            assertTrue(spliterator.tryAdvance(document -> assertEquals(0, document.readValue(ID).asLong())));
+            assertEquals(9, spliterator.estimateSize());
+        }
+        try (Stream<JsonDocument> documents = JsonDocumentReader.simdTokenizer().streamAll(paths, 4)) {
+            assertEquals(10, documents.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Closing a partially consumed stream releases read-ahead documents")
+    void testStreamAllShortCircuit() throws IOException {
+        List<Path> paths = writeFiles(50);
+
+        try (Stream<JsonDocument> documents = JsonDocumentReader.simdTokenizer().streamAll(paths, 8)) {
+            long first = documents.map(document -> document.readValue(ID).asLong()).findFirst().orElseThrow();
+            assertEquals(0, first);
+        }
+    }
+
+    @Test
+    @DisplayName("Stream failures surface as UncheckedIOException")
+    void testStreamAllFailure() throws IOException {
+        List<Path> paths = new ArrayList<>(writeFiles(3));
+        paths.add(directory.resolve("missing.json"));
+
+        try (Stream<JsonDocument> documents = JsonDocumentReader.simdTokenizer().streamAll(paths, 2)) {
+            // count() is answered from the size without reading, so the documents are traversed instead.
+            UncheckedIOException exception = assertThrows(
+                UncheckedIOException.class,
+                () -> documents.forEach(document -> { })
+            );
+            assertInstanceOf(NoSuchFileException.class, exception.getCause());
+        }
+    }
+
+    private List<Path> writeFiles(int count) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Path path = directory.resolve("document-" + i + ".json");
+            Files.writeString(path, String.format("{\"id\": %d, \"name\": \"document-%d\"}", i, i));
+            paths.add(path);
+        }
+        return paths;
+    }
+}
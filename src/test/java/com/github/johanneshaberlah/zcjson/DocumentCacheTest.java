@@ -0,0 +1,184 @@
+package com.github.johanneshaberlah.zcjson;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Document Cache Tests")
+class DocumentCacheTest {
+    private static final JsonKey NAME = JsonKey.of("name");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Repeated reads of an unchanged file are hits")
+    void testHits() throws IOException {
+        Path file = writeFile("a.json", "alpha");
+
+        try (JsonDocumentCache cache = new JsonDocumentCache(JsonDocumentReader.simdTokenizer(), 1 << 20)) {
+            for (int i = 0; i < 3; i++) {
+                try (JsonDocument document = cache.acquire(file)) {
+                    assertEquals("alpha", document.readValue(NAME).asString());
+                }
+            }
+            CacheStats stats = cache.stats();
+            assertEquals(2, stats.hits());
+            assertEquals(1, stats.misses());
+            assertEquals(1, stats.documents());
+            assertEquals(Files.size(file), stats.bytes());
+        }
+    }
+
+    @Test
+    @DisplayName("A changed file is read again")
+    void testChangedFile() throws IOException {
+        Path file = writeFile("a.json", "alpha");
+
+        try (JsonDocumentCache cache = new JsonDocumentCache(JsonDocumentReader.simdTokenizer(), 1 << 20)) {
+            JsonDocument stale = cache.acquire(file);
+
+            writeFile("a.json", "beta");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+            try (JsonDocument document = cache.acquire(file)) {
+                assertEquals("beta", document.readValue(NAME).asString());
+            }
+            assertEquals(2, cache.stats().misses());
+            assertEquals(1, cache.stats().documents());
+            stale.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Least recently used documents are evicted by mapped bytes")
+    void testEviction() throws IOException {
+        Path a = writeFile("a.json", "a".repeat(1000));
+        Path b = writeFile("b.json", "b".repeat(1000));
+        Path c = writeFile("c.json", "c".repeat(1000));
+
+        try (JsonDocumentCache cache = new JsonDocumentCache(JsonDocumentReader.sequentialTokenizer(), 2500)) {
+            cache.acquire(a).close();
+            cache.acquire(b).close();
+            cache.acquire(a).close();
+            cache.acquire(c).close();
+
+            CacheStats stats = cache.stats();
+            assertEquals(1, stats.evictions());
+            assertEquals(2, stats.documents());
+
+            cache.acquire(a).close();
+            assertEquals(2, cache.stats().hits());
+            cache.acquire(b).close();
+            assertEquals(4, cache.stats().misses());
+        }
+    }
+
+    @Test
+    @DisplayName("Handles stay valid after their entry was evicted")
+    void testHandleOutlivesEviction() throws IOException {
+        Path a = writeFile("a.json", "alpha");
+        Path b = writeFile("b.json", "beta");
+
+        try (JsonDocumentCache cache = new JsonDocumentCache(JsonDocumentReader.simdTokenizer(), Files.size(a))) {
+            try (JsonDocument document = cache.acquire(a)) {
+                cache.acquire(b).close();
+                assertEquals(1, cache.stats().evictions());
+                assertEquals("alpha", document.readValue(NAME).asString());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Cached documents can be acquired from many threads")
+    void testConcurrentAcquire() throws Exception {
+        Path file = writeFile("a.json", "alpha");
+
+        try (JsonDocumentCache cache = new JsonDocumentCache(JsonDocumentReader.simdTokenizer(), 1 << 20);
+             ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<String>> names = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                names.add(executor.submit(() -> {
+                    try (JsonDocument document = cache.acquire(file)) {
+                        return document.readValue(NAME).asString();
+                    }
+                }));
+            }
+            for (Future<String> name : names) {
+                assertEquals("alpha", name.get());
+            }
+            assertEquals(64, cache.stats().hits() + cache.stats().misses());
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent misses on different files each get their own tape")
+    void testConcurrentMisses() throws Exception {
+        int files = 16;
+        List<Path> paths = new ArrayList<>();
+        for (int i = 0; i < files; i++) {
+            StringBuilder json = new StringBuilder("{\"name\": \"file" + i + "\", \"values\": [");
+            for (int value = 0; value < 20_000; value++) {
+                json.append(value == 0 ? "" : ", ").append(i * 100_000 + value);
+            }
+            paths.add(Files.writeString(directory.resolve(i + ".json"), json.append("]}").toString()));
+        }
+
+        for (int round = 0; round < 4; round++) {
+            try (JsonDocumentCache cache = new JsonDocumentCache(JsonDocumentReader.simdTokenizer(), 1L << 30);
+                 ExecutorService executor = Executors.newFixedThreadPool(files)) {
+                CyclicBarrier start = new CyclicBarrier(files);
+                List<Future<?>> reads = new ArrayList<>();
+                for (int i = 0; i < files; i++) {
+                    int file = i;
+                    reads.add(executor.submit(() -> {
+                        start.await();
+                        try (JsonDocument document = cache.acquire(paths.get(file))) {
+                            assertEquals("file" + file, document.readValue(NAME).asString());
+                            JsonArray values = document.readArray(JsonKey.of("values"));
+                            assertEquals(20_000, values.length());
+                            assertEquals(file * 100_000L, values.readValue(0).asLong());
+                            assertEquals(file * 100_000L + 19_999, values.readValue(19_999).asLong());
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> read : reads) {
+                    read.get();
+                }
+                assertEquals(files, cache.stats().misses());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A closed cache refuses further reads")
+    void testClosed() throws IOException {
+        Path file = writeFile("a.json", "alpha");
+        JsonDocumentCache cache = new JsonDocumentCache(JsonDocumentReader.simdTokenizer(), 1 << 20);
+        JsonDocument document = cache.acquire(file);
+
+        cache.close();
+        assertEquals("alpha", document.readValue(NAME).asString());
+        document.close();
+        assertThrows(IllegalStateException.class, () -> cache.acquire(file));
+    }
+
+    private Path writeFile(String name, String value) throws IOException {
+        Path file = directory.resolve(name);
+        Files.writeString(file, "{\"name\": \"" + value + "\"}");
+        return file;
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.johanneshaberlah.zcjson;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static com.github.johanneshaberlah.zcjson.JsonDocumentReaderTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Input Source Tests")
+class InputSourceTest {
+    private static final JsonKey NAME = JsonKey.of("name");
+    private static final JsonKey ITEMS = JsonKey.of("items");
+
+    private static final byte[] JSON = "{\"name\": \"Alice\", \"age\": 30}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("Read from byte array")
+    void testByteArray() {
+        try (JsonDocument document = JsonDocumentReader.simdTokenizer().read(JSON)) {
+            assertEquals("Alice", segmentToString(document.readValueSegment(NAME)));
+        }
+    }
+
+    @Test
+    @DisplayName("Read from heap and direct ByteBuffers")
+    void testByteBuffer() {
+        ByteBuffer direct = ByteBuffer.allocateDirect(JSON.length + 4);
+        direct.put("    ".getBytes(StandardCharsets.UTF_8)).put(JSON).flip().position(4);
+
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.wrap(JSON), direct}) {
+            try (JsonDocument document = JsonDocumentReader.simdTokenizer().read(buffer)) {
+                assertEquals("Alice", segmentToString(document.readValueSegment(NAME)));
+                assertEquals(30, document.readValue(JsonKey.of("age")).asInteger());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Read from InputStream and channel")
+    void testStreamAndChannel() throws IOException {
+        JsonDocumentReader reader = JsonDocumentReader.sequentialTokenizer();
+
+        try (JsonDocument document = reader.read(new ByteArrayInputStream(JSON))) {
+            assertEquals("Alice", segmentToString(document.readValueSegment(NAME)));
+        }
+        try (JsonDocument document = reader.read(Channels.newChannel(new ByteArrayInputStream(JSON)))) {
+            assertEquals("Alice", segmentToString(document.readValueSegment(NAME)));
+        }
+    }
+
+    @Test
+    @DisplayName("Read a stream larger than the smallest buffer")
+    void testGrowingStream() throws IOException {
+        StringBuilder json = new StringBuilder("{\"items\": [");
+        for (int i = 0; i < 10_000; i++) {
+            json.append(i == 0 ? "" : ", ").append(i);
+        }
+        json.append("], \"name\": \"end\"}");
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+
+        try (JsonDocument document = JsonDocumentReader.simdTokenizer().read(new ByteArrayInputStream(bytes))) {
+            assertEquals(10_000, document.readArray(ITEMS).length());
+            assertEquals(9_999, document.readArray(ITEMS).readValue(9_999).asInteger());
+            assertEquals("end", segmentToString(document.readValueSegment(NAME)));
+        }
+    }
+
+    @Test
+    @DisplayName("Buffers return to the pool when the document is closed")
+    void testBufferReuse() throws IOException {
+        BufferPool pool = new BufferPool(1 << 20);
+        JsonDocumentReader reader = JsonDocumentReader.simdTokenizer().withBufferPool(pool);
+
+        MemorySegment name;
+        try (JsonDocument document = reader.read(new ByteArrayInputStream(JSON))) {
+            name = document.readValueSegment(NAME);
+            assertEquals(0, pool.retainedBytes());
+        }
+        assertFalse(name.scope().isAlive());
+        assertEquals(4096, pool.retainedBytes());
+
+        MemorySegment buffer = pool.acquire(100);
+        assertEquals(4096, buffer.byteSize());
+        assertEquals(0, pool.retainedBytes());
+        pool.release(buffer);
+    }
+
+    @Test
+    @DisplayName("The pool keeps at most its byte limit of idle buffers")
+    void testRetentionLimit() {
+        BufferPool pool = new BufferPool(8192);
+        MemorySegment first = pool.acquire(4096);
+        MemorySegment second = pool.acquire(4096);
+        MemorySegment third = pool.acquire(4096);
+
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+
+        assertEquals(8192, pool.retainedBytes());
+        assertThrows(IllegalArgumentException.class, () -> pool.release(MemorySegment.ofArray(new byte[100])));
+    }
+}
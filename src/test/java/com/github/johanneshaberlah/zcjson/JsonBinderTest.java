@@ -0,0 +1,105 @@
+package com.github.johanneshaberlah.zcjson;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.johanneshaberlah.zcjson.JsonDocumentReaderTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JsonBinder Tests")
+class JsonBinderTest {
+    enum Level { INFO, ERROR }
+
+    record Address(String city, String zip) {
+    }
+
+    record User(long id, int age, double score, float weight, boolean active, String name, Level level, Address address,
+                List<String> roles) {
+    }
+
+    record Optionals(Long id, Integer count, Double ratio, Boolean flag, String name, Address address, List<Long> values) {
+    }
+
+    record Node(String name, List<Node> children) {
+    }
+
+    record Empty() {
+    }
+
+    record Unsupported(Map<String, String> attributes) {
+    }
+
+    @Test
+    @DisplayName("All component types are bound regardless of member order")
+    void testBind() {
+        String json = """
+            {"roles": ["admin", "dev"], "unused": {"deep": [1, 2, {"x": 3}]}, "address": {"zip": "10115", "city": "Berlin"},
+             "level": "ERROR", "name": "Alice", "active": true, "weight": 61.5, "score": -1.25e2, "age": 42, "id": 9007199254740993}""";
+        try (JsonDocument document = parseJson(json)) {
+            User user = JsonBinder.of(User.class).read(document);
+            assertEquals(
+                new User(9007199254740993L, 42, -125.0, 61.5f, true, "Alice", Level.ERROR, new Address("Berlin", "10115"),
+                    List.of("admin", "dev")),
+                user
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Missing and null members become null for reference types")
+    void testNullable() {
+        try (JsonDocument document = parseJson("{\"count\": null, \"flag\": false, \"values\": [1, null, 3], \"address\": null}")) {
+            Optionals optionals = JsonBinder.of(Optionals.class).read(document);
+            assertNull(optionals.id());
+            assertNull(optionals.count());
+            assertNull(optionals.ratio());
+            assertEquals(Boolean.FALSE, optionals.flag());
+            assertNull(optionals.name());
+            assertNull(optionals.address());
+            assertEquals(Arrays.asList(1L, null, 3L), optionals.values());
+        }
+    }
+
+    @Test
+    @DisplayName("Missing primitives and mismatching types are errors")
+    void testErrors() {
+        JsonBinder<Address> addresses = JsonBinder.of(Address.class);
+        try (JsonDocument document = parseJson("{\"id\": 1}")) {
+            assertThrows(JsonKeyNotFoundException.class, () -> JsonBinder.of(User.class).read(document));
+        }
+        try (JsonDocument document = parseJson("{\"city\": 1}")) {
+            assertThrows(IllegalStateException.class, () -> addresses.read(document));
+        }
+        try (JsonDocument document = parseJson("{\"id\": \"1\", \"count\": 1}")) {
+            assertThrows(IllegalStateException.class, () -> JsonBinder.of(Optionals.class).read(document));
+        }
+        assertThrows(IllegalArgumentException.class, () -> JsonBinder.of(Unsupported.class));
+    }
+
+    @Test
+    @DisplayName("Nested and recursive records are bound, also below a key")
+    void testNested() {
+        String json = "{\"envelope\": 1, \"root\": {\"name\": \"a\", \"children\": [{\"name\": \"b\", \"children\": []}, "
+            + "{\"name\": \"c\", \"children\": [{\"name\": \"d\"}]}]}}";
+        try (JsonDocument document = parseJson(json)) {
+            Node root = JsonBinder.of(Node.class).read(document, JsonKey.of("root"));
+            assertEquals("a", root.name());
+            assertEquals(List.of(new Node("b", List.of())), root.children().subList(0, 1));
+            assertEquals(new Node("d", null), root.children().get(1).children().getFirst());
+        }
+        try (JsonDocument document = parseJson("{\"a\": 1}")) {
+            assertEquals(new Empty(), JsonBinder.of(Empty.class).read(document));
+        }
+    }
+
+    @Test
+    @DisplayName("Binders are cached per record")
+    void testCache() {
+        assertSame(JsonBinder.of(Address.class), JsonBinder.of(Address.class));
+        assertEquals(Address.class, JsonBinder.of(Address.class).type());
+    }
+}
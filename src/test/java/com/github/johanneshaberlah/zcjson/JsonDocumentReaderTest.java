@@ -70,6 +70,19 @@ class JsonDocumentReaderTest {
         }
     }
 
+    @Test
+    @DisplayName("Reuse one reader for several documents")
+    void testReaderReuse() {
+        JsonDocumentReader reader = JsonDocumentReader.simdTokenizer();
+
+        try (JsonDocument first = reader.read(jsonToSegment("{\"name\": \"Alice\"}"));
+             JsonDocument second = reader.read(jsonToSegment("{\"name\": \"Bob\", \"age\": 30}"))) {
+            assertEquals("Alice", segmentToString(first.readValueSegment(JsonKey.of("name"))));
+            assertEquals("Bob", segmentToString(second.readValueSegment(JsonKey.of("name"))));
+            assertEquals("30", segmentToString(second.readValueSegment(JsonKey.of("age"))));
+        }
+    }
+
   protected static MemorySegment jsonToSegment(String json) {
     return MemorySegment.ofArray(json.getBytes(StandardCharsets.UTF_8));
   }
@@ -0,0 +1,145 @@
+package com.github.johanneshaberlah.zcjson;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.github.johanneshaberlah.zcjson.JsonDocumentReaderTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Minify and Pretty-Print Tests")
+class JsonFormatTest {
+    private static final String PRETTY = """
+        {
+          "id": 7,
+          "name": "Alice  and\\tBob",
+          "tags": [
+            "a",
+            true,
+            null
+          ],
+          "empty": {},
+          "none": [],
+          "nested": {
+            "value": -1.5e3,
+            "list": [
+              {
+                "x": 1
+              },
+              [
+                2,
+                3
+              ]
+            ]
+          }
+        }""";
+
+    private static final String MINIFIED =
+        "{\"id\":7,\"name\":\"Alice  and\\tBob\",\"tags\":[\"a\",true,null],\"empty\":{},\"none\":[],"
+            + "\"nested\":{\"value\":-1.5e3,\"list\":[{\"x\":1},[2,3]]}}";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Minifying removes whitespace outside of strings only")
+    void testMinify() throws IOException {
+        assertEquals(MINIFIED, minify(PRETTY));
+        assertEquals(MINIFIED, minify(MINIFIED));
+        assertEquals("{\"a\":[1,2]}", minify(" {\r\n\t\"a\" :\t[ 1 ,\n 2 ] } "));
+    }
+
+    @Test
+    @DisplayName("Pretty-printing indents one member or element per line")
+    void testPretty() throws IOException {
+        assertEquals(PRETTY, pretty(MINIFIED, 2));
+        assertEquals(PRETTY, pretty(PRETTY, 2));
+        assertEquals("{\n\"a\": [\n1\n]\n}", pretty("{\"a\":[1]}", 0));
+        assertEquals("{}", pretty(" { } ", 4));
+        assertThrows(IllegalArgumentException.class, () -> pretty(MINIFIED, -1));
+    }
+
+    @Test
+    @DisplayName("Formatting round-trips through minify and pretty-print")
+    void testRoundTrip() throws IOException {
+        StringBuilder json = new StringBuilder("{ \"items\" : [");
+        for (int i = 0; i < 2_000; i++) {
+            json.append(i == 0 ? "" : " ,").append("\n  { \"id\" : ").append(i)
+                .append(" , \"text\" : \"spaces   inside ").append(i).append("\" , \"flags\" : [ true , false ] }");
+        }
+        json.append(" ] }");
+
+        String minified = minify(json.toString());
+        assertFalse(minified.contains("\n"));
+        assertTrue(minified.contains("\"spaces   inside 1999\""));
+        assertEquals(minified, minify(pretty(json.toString(), 3)));
+        assertEquals(pretty(json.toString(), 3), pretty(minified, 3));
+    }
+
+    @Test
+    @DisplayName("A nested object is formatted on its own")
+    void testNestedDocument() throws IOException {
+        try (JsonDocument document = parseJson(PRETTY);
+             JsonWriter writer = JsonWriter.pooled()) {
+            document.readObject("nested").writeMinified(writer);
+            assertEquals("{\"value\":-1.5e3,\"list\":[{\"x\":1},[2,3]]}", segmentToString(writer.segment()));
+        }
+    }
+
+    @Test
+    @DisplayName("Minifying fits into a segment of exactly the minified length")
+    void testExactSegment() throws IOException {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < 5000; i++) {
+            json.append(i == 0 ? "" : ",\n").append("  {\n    \"id\" :   ").append(i);
+            json.append(" ,\n    \"flag\" :   true\n  }");
+        }
+        String pretty = json.append("\n]").toString();
+        String minified = minify(pretty);
+        assertTrue(pretty.length() > 2 * minified.length());
+
+        for (String input : new String[]{PRETTY, pretty}) {
+            String expected = minify(input);
+            try (Arena arena = Arena.ofConfined();
+                 JsonDocument document = parseJson(input)) {
+                JsonWriter writer = JsonWriter.into(arena.allocate(expected.length()));
+                document.writeMinified(writer);
+                assertEquals(expected, segmentToString(writer.segment()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Documents are written to a channel")
+    void testChannel() throws IOException {
+        Path output = directory.resolve("formatted.json");
+        try (JsonDocument document = parseJson(PRETTY);
+             FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            document.writeMinified(channel);
+        }
+        assertEquals(MINIFIED, Files.readString(output));
+    }
+
+    private static String minify(String json) throws IOException {
+        try (JsonDocument document = parseJson(json);
+             JsonWriter writer = JsonWriter.pooled()) {
+            document.writeMinified(writer);
+            return segmentToString(writer.segment());
+        }
+    }
+
+    private static String pretty(String json, int indent) throws IOException {
+        try (JsonDocument document = parseJson(json);
+             JsonWriter writer = JsonWriter.pooled()) {
+            document.writePretty(writer, indent);
+            return segmentToString(writer.segment());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.johanneshaberlah.zcjson;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JSON Lines Follow Tests")
+class JsonLinesFollowTest {
+    private static final JsonKey ID = JsonKey.of("id");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Each poll reads only the appended records")
+    void testAppendedRecords() throws IOException {
+        Path file = directory.resolve("app.jsonl");
+        Files.writeString(file, "{\"id\": 1}\n{\"id\": 2}\n");
+        List<Long> ids = new ArrayList<>();
+
+        try (JsonLinesFollower follower = JsonLinesReader.simdTokenizer().follow(file)) {
+            assertEquals(2, follower.poll(record -> ids.add(record.readValue(ID).asLong())));
+            assertEquals(0, follower.poll(record -> ids.add(record.readValue(ID).asLong())));
+
+            append(file, "{\"id\": 3}\n{\"id\": 4}\n{\"id\": 5}\n");
+            assertEquals(3, follower.poll(record -> ids.add(record.readValue(ID).asLong())));
+            assertEquals(Files.size(file), follower.offset());
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids);
+    }
+
+    @Test
+    @DisplayName("A line without its newline is held back until it is complete")
+    void testPartialLine() throws IOException {
+        Path file = directory.resolve("app.jsonl");
+        Files.writeString(file, "{\"id\": 1}\n{\"id\": ");
+        List<Long> ids = new ArrayList<>();
+
+        try (JsonLinesFollower follower = JsonLinesReader.sequentialTokenizer().follow(file)) {
+            assertEquals(1, follower.poll(record -> ids.add(record.readValue(ID).asLong())));
+            assertEquals(10, follower.offset());
+
+            append(file, "22");
+            assertEquals(0, follower.poll(record -> ids.add(record.readValue(ID).asLong())));
+            assertEquals(10, follower.offset());
+
+            append(file, "}\n{\"id\": 3}");
+            assertEquals(1, follower.poll(record -> ids.add(record.readValue(ID).asLong())));
+
+            append(file, "\n");
+            assertEquals(1, follower.poll(record -> ids.add(record.readValue(ID).asLong())));
+        }
+
+        assertEquals(List.of(1L, 22L, 3L), ids);
+    }
+
+    @Test
+    @DisplayName("A truncated file is read from its start again")
+    void testTruncation() throws IOException {
+        Path file = directory.resolve("app.jsonl");
+        Files.writeString(file, "{\"id\": 1}\n{\"id\": 2}\n");
+        List<Long> ids = new ArrayList<>();
+
+        try (JsonLinesFollower follower = JsonLinesReader.simdTokenizer().follow(file)) {
+            follower.poll(record -> ids.add(record.readValue(ID).asLong()));
+
+            Files.writeString(file, "{\"id\": 9}\n");
+            assertEquals(1, follower.poll(record -> ids.add(record.readValue(ID).asLong())));
+        }
+
+        assertEquals(List.of(1L, 2L, 9L), ids);
+    }
+
+    @Test
+    @DisplayName("Following continues from a saved offset")
+    void testResume() throws IOException {
+        Path file = directory.resolve("app.jsonl");
+        Files.writeString(file, "{\"id\": 1}\n{\"id\": 2}\n");
+        long offset;
+        try (JsonLinesFollower follower = JsonLinesReader.simdTokenizer().follow(file)) {
+            follower.poll(record -> { });
+            offset = follower.offset();
+        }
+        append(file, "{\"id\": 3}\n");
+        List<Long> ids = new ArrayList<>();
+
+        try (JsonLinesFollower follower = JsonLinesReader.simdTokenizer().follow(file, offset)) {
+            follower.poll(record -> ids.add(record.readValue(ID).asLong()));
+        }
+
+        assertEquals(List.of(3L), ids);
+    }
+
+    @Test
+    @DisplayName("A failing consumer does not move the offset")
+    void testFailingConsumer() throws IOException {
+        Path file = directory.resolve("app.jsonl");
+        Files.writeString(file, "{\"id\": 1}\n{\"id\": 2}\n");
+
+        try (JsonLinesFollower follower = JsonLinesReader.simdTokenizer().follow(file)) {
+            assertThrows(IllegalStateException.class, () -> follower.poll(record -> {
+                throw new IllegalStateException("consumer failed");
+            }));
+            assertEquals(0, follower.offset());
+            assertEquals(2, follower.poll(record -> { }));
+        }
+    }
+
+    private static void append(Path file, String text) throws IOException {
+        Files.writeString(file, text, StandardOpenOption.APPEND);
+    }
+}
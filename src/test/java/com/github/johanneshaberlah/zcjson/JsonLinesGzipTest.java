@@ -0,0 +1,182 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.TokenizerException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JSON Lines Gzip Tests")
+class JsonLinesGzipTest {
+    private static final JsonKey ID = JsonKey.of("id");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Records spanning many inflated buffers are read in order")
+    void testManyBuffers() throws IOException {
+        Path file = directory.resolve("records.jsonl.gz");
+        Files.write(file, gzip(records(0, 200_000)));
+
+        long[] next = new long[1];
+        long records = JsonLinesReader.simdTokenizer().forEachGzip(file, record -> {
+            assertEquals(next[0]++, record.readValue(ID).asLong());
+        });
+
+        assertEquals(200_000, records);
+        assertEquals(200_000, next[0]);
+    }
+
+    @Test
+    @DisplayName("Concatenated gzip members are read as one stream")
+    void testConcatenatedMembers() throws IOException {
+        Path file = directory.resolve("records.jsonl.gz");
+        Files.write(file, gzip(records(0, 1000)));
+        Files.write(file, gzip(records(1000, 2000)), StandardOpenOption.APPEND);
+
+        long[] sum = new long[1];
+        long records = JsonLinesReader.sequentialTokenizer().forEachGzip(file, record -> sum[0] += record.readValue(ID).asLong());
+
+        assertEquals(2000, records);
+        assertEquals(1999L * 2000 / 2, sum[0]);
+    }
+
+    @Test
+    @DisplayName("A line longer than a buffer grows it")
+    void testLongLine() throws IOException {
+        String text = "{\"id\": 0}\n{\"id\": 1, \"padding\": \"" + "x".repeat(3 << 20) + "\"}\n{\"id\": 2}";
+        Path file = directory.resolve("long.jsonl.gz");
+        Files.write(file, gzip(text));
+
+        long[] sum = new long[1];
+        assertEquals(3, JsonLinesReader.simdTokenizer().forEachGzip(file, record -> sum[0] += record.readValue(ID).asLong()));
+        assertEquals(3, sum[0]);
+    }
+
+    @Test
+    @DisplayName("The unfinished line of a grown buffer fits into the next buffer")
+    void testLongLinesInReusedBuffers() throws IOException {
+        // The first line grows a buffer to 2 MiB. By the time the short lines have cycled through the ring, that buffer
+        // is reused and ends more than 1 MiB into the second long line, which then has to move into a 1 MiB buffer.
+        StringBuilder text = new StringBuilder();
+        text.append("{\"id\": 0, \"padding\": \"").append("x".repeat(3 << 19)).append("\"}\n");
+        int lines = 1;
+        for (; lines <= 305_000; lines++) {
+            text.append("{\"id\": ").append(lines).append("}\n");
+        }
+        text.append("{\"id\": ").append(lines++).append(", \"padding\": \"")
+            .append("x".repeat(1_677_721)).append("\"}\n");
+        for (int end = lines + 10; lines < end; lines++) {
+            text.append("{\"id\": ").append(lines).append("}\n");
+        }
+        Path file = directory.resolve("long.jsonl.gz");
+        Files.write(file, gzip(text.toString()));
+
+        long[] next = new long[1];
+        long records = JsonLinesReader.simdTokenizer().forEachGzip(file, record -> {
+            assertEquals(next[0]++, record.readValue(ID).asLong());
+        });
+        assertEquals(lines, records);
+    }
+
+    @Test
+    @DisplayName("Errors are reported with their line in the whole file")
+    void testLineNumber() throws IOException {
+        String text = records(0, 100_000) + "{\"id\": ?}\n" + records(0, 10);
+        Path file = directory.resolve("broken.jsonl.gz");
+        Files.write(file, gzip(text));
+
+        TokenizerException error = assertThrows(
+            TokenizerException.class,
+            () -> JsonLinesReader.simdTokenizer().forEachGzip(file, record -> { })
+        );
+        assertTrue(error.getMessage().startsWith("Line 100001:"), error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Errors behind lines skipped by the prefilter are reported with their line in the whole file")
+    void testPrefilterLineNumber() throws IOException {
+        String text = records(0, 100_000) + "\n{\"id\": 4999?}\n" + records(0, 10);
+        Path file = directory.resolve("broken.jsonl.gz");
+        Files.write(file, gzip(text));
+
+        TokenizerException error = assertThrows(
+            TokenizerException.class,
+            () -> JsonLinesReader.simdTokenizer().withPrefilter("\"id\": 4999?").forEachGzip(file, record -> { })
+        );
+        assertTrue(error.getMessage().startsWith("Line 100002:"), error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Corrupt and foreign input is rejected")
+    void testCorruptInput() throws IOException {
+        byte[] compressed = gzip(records(0, 100));
+        // The CRC32 of the inflated bytes is the first field of the trailer.
+        compressed[compressed.length - 8] ^= 1;
+        Path corrupt = directory.resolve("corrupt.jsonl.gz");
+        Files.write(corrupt, compressed);
+        Path plain = directory.resolve("plain.jsonl");
+        Files.writeString(plain, records(0, 100));
+
+        JsonLinesReader reader = JsonLinesReader.simdTokenizer();
+        assertThrows(ZipException.class, () -> reader.forEachGzip(corrupt, record -> { }));
+        assertThrows(ZipException.class, () -> reader.forEachGzip(plain, record -> { }));
+    }
+
+    @Test
+    @DisplayName("A failing consumer stops the inflater")
+    void testConsumerFailure() throws IOException {
+        Path file = directory.resolve("records.jsonl.gz");
+        Files.write(file, gzip(records(0, 200_000)));
+        JsonLinesReader reader = JsonLinesReader.simdTokenizer();
+
+        assertThrows(IllegalStateException.class, () -> reader.forEachGzip(file, record -> {
+            if (record.readValue(ID).asLong() == 10) {
+                throw new IllegalStateException();
+            }
+        }));
+        // The reader is usable again afterwards.
+        assertEquals(200_000, reader.forEachGzip(file, record -> { }));
+    }
+
+    @Test
+    @DisplayName("The prefilter applies to inflated records")
+    void testPrefilter() throws IOException {
+        Path file = directory.resolve("records.jsonl.gz");
+        Files.write(file, gzip(records(0, 50_000)));
+
+        long[] count = new long[1];
+        long records = JsonLinesReader.simdTokenizer().withPrefilter("\"id\": 4999").forEachGzip(file, record -> count[0]++);
+
+        // 4999 and 49990 … 49999
+        assertEquals(11, records);
+        assertEquals(11, count[0]);
+    }
+
+    private static String records(int from, int to) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            builder.append("{\"id\": ").append(i).append(", \"level\": \"INFO\"}\n");
+        }
+        return builder.toString();
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream stream = new GZIPOutputStream(bytes)) {
+            stream.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,265 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.simd.SimdTokenizer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JSON Lines Publisher Tests")
+class JsonLinesPublisherTest {
+    private static final JsonKey ID = JsonKey.of("id");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Records are only read as they are requested")
+    void testBackpressure() throws IOException {
+        Path file = write(5);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        JsonLinesReader.simdTokenizer().publisher(file).subscribe(subscriber);
+
+        assertTrue(subscriber.ids.isEmpty());
+        subscriber.subscription.request(2);
+        assertEquals(List.of(0L, 1L), subscriber.ids);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(3);
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), subscriber.ids);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(1);
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    @DisplayName("Requesting more records than there are completes the subscription")
+    void testUnboundedRequest() throws IOException {
+        Path file = write(100);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        JsonLinesReader.sequentialTokenizer().publisher(file).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(100, subscriber.ids.size());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    @DisplayName("Cancelling releases the mapping of the file")
+    void testCancel() throws IOException {
+        Path file = write(10);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        JsonLinesReader.simdTokenizer().publisher(file).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        MemorySegment record = subscriber.last;
+        assertTrue(record.scope().isAlive());
+
+        subscriber.subscription.cancel();
+        assertFalse(record.scope().isAlive());
+        subscriber.subscription.request(5);
+        assertEquals(1, subscriber.ids.size());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    @DisplayName("A request that is not positive fails the subscription")
+    void testInvalidRequest() throws IOException {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        JsonLinesReader.simdTokenizer().publisher(write(3)).subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        assertTrue(subscriber.ids.isEmpty());
+    }
+
+    @Test
+    @DisplayName("A missing file fails the subscription")
+    void testMissingFile() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        JsonLinesReader.simdTokenizer().publisher(directory.resolve("missing.jsonl")).subscribe(subscriber);
+
+        assertInstanceOf(IOException.class, subscriber.error);
+    }
+
+    @Test
+    @DisplayName("A single tokenizer instance serves one subscription at a time")
+    void testSingleTokenizerSubscription() throws IOException {
+        JsonLinesPublisher publisher = JsonLinesReader.withTokenizer(new SimdTokenizer()).publisher(write(3));
+        RecordingSubscriber first = new RecordingSubscriber();
+        RecordingSubscriber second = new RecordingSubscriber();
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+
+        assertNull(first.error);
+        assertInstanceOf(IllegalStateException.class, second.error);
+
+        first.subscription.cancel();
+        RecordingSubscriber third = new RecordingSubscriber();
+        publisher.subscribe(third);
+        third.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(List.of(0L, 1L, 2L), third.ids);
+        assertTrue(third.completed);
+    }
+
+    @Test
+    @DisplayName("A tokenizer factory serves concurrent subscriptions")
+    void testFactorySubscriptions() throws IOException {
+        JsonLinesPublisher publisher = JsonLinesReader.simdTokenizer().publisher(write(3));
+        RecordingSubscriber first = new RecordingSubscriber();
+        RecordingSubscriber second = new RecordingSubscriber();
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+
+        first.subscription.request(1);
+        second.subscription.request(Long.MAX_VALUE);
+        first.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(List.of(0L, 1L, 2L), first.ids);
+        assertEquals(List.of(0L, 1L, 2L), second.ids);
+        assertNull(second.error);
+    }
+
+    @Test
+    @DisplayName("Requests from onNext do not recurse")
+    void testReentrantRequest() throws IOException {
+        int[] depth = new int[1];
+        int[] maxDepth = new int[1];
+        RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onNext(JsonDocument record) {
+                depth[0]++;
+                maxDepth[0] = Math.max(maxDepth[0], depth[0]);
+                super.onNext(record);
+                subscription.request(1);
+                depth[0]--;
+            }
+        };
+        JsonLinesReader.simdTokenizer().publisher(write(1000)).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        assertEquals(1000, subscriber.ids.size());
+        assertEquals(1, maxDepth[0]);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    @DisplayName("Records are read from a stream in bounded chunks")
+    void testStream() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            builder.append("{\"id\": ").append(i).append(", \"padding\": \"").append("x".repeat(i % 50)).append("\"}\n");
+        }
+        // One record longer than the initial buffer and a last one without a newline.
+        builder.append("{\"id\": 5000, \"padding\": \"").append("y".repeat(100_000)).append("\"}\n\n");
+        builder.append("{\"id\": 5001}");
+        byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        JsonLinesPublisher publisher = JsonLinesReader.sequentialTokenizer().publisher(new ByteArrayInputStream(bytes));
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(5002, subscriber.ids.size());
+        for (int i = 0; i < 5002; i++) {
+            assertEquals(i, subscriber.ids.get(i).longValue());
+        }
+        assertTrue(subscriber.completed);
+
+        RecordingSubscriber second = new RecordingSubscriber();
+        publisher.subscribe(second);
+        assertInstanceOf(IllegalStateException.class, second.error);
+    }
+
+    @Test
+    @DisplayName("The prefilter skips records in a stream")
+    void testStreamPrefilter() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            builder.append("{\"id\": ").append(i).append(", \"level\": \"").append(i % 7 == 0 ? "ERROR" : "INFO").append("\"}\n");
+        }
+        byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        JsonLinesReader.simdTokenizer().withPrefilter("\"ERROR\"").publisher(new ByteArrayInputStream(bytes))
+            .subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(20_000 / 7 + 1, subscriber.ids.size());
+        for (Long id : subscriber.ids) {
+            assertEquals(0, id % 7);
+        }
+    }
+
+    @Test
+    @DisplayName("A malformed record fails the subscription")
+    void testMalformedRecord() throws IOException {
+        Path file = directory.resolve("broken.jsonl");
+        Files.writeString(file, "{\"id\": 1}\n{\"id\": ?}\n{\"id\": 3}\n");
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        JsonLinesReader.simdTokenizer().publisher(file).subscribe(subscriber);
+
+        subscriber.subscription.request(3);
+
+        assertEquals(List.of(1L), subscriber.ids);
+        assertNotNull(subscriber.error);
+        assertTrue(subscriber.error.getMessage().startsWith("Line 2"));
+    }
+
+    private Path write(int records) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < records; i++) {
+            builder.append("{\"id\": ").append(i).append("}\n");
+        }
+        Path file = directory.resolve("records.jsonl");
+        Files.writeString(file, builder);
+        return file;
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<JsonDocument> {
+        final List<Long> ids = new ArrayList<>();
+        Flow.Subscription subscription;
+        MemorySegment last;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(JsonDocument record) {
+            ids.add(record.readValue(ID).asLong());
+            last = record.segment;
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.Tokenizer;
+import com.github.johanneshaberlah.zcjson.tokenizer.TokenizerException;
+import com.github.johanneshaberlah.zcjson.tokenizer.simd.SimdTokenizer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static com.github.johanneshaberlah.zcjson.JsonDocumentReaderTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JSON Lines Tests")
+class JsonLinesTest {
+    private static final JsonKey ID = JsonKey.of("id");
+    private static final JsonKey NAME = JsonKey.of("name");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Read every record of a file")
+    void testReadFile() throws IOException {
+        Path file = directory.resolve("records.jsonl");
+        Files.writeString(file, IntStream.range(0, 10_000)
+            .mapToObj(i -> String.format("{\"id\": %d, \"name\": \"record-%d\", \"tags\": [\"a\", {\"b\": %d}]}", i, i, i))
+            .collect(Collectors.joining("\n", "", "\n")));
+
+        List<Long> ids = new ArrayList<>();
+        long records = JsonLinesReader.simdTokenizer().forEach(file, record -> {
+            long id = record.readValue(ID).asLong();
+            assertEquals("record-" + id, record.readValue(NAME).asString());
+            assertEquals(id, record.readArray("tags").readObject(1).readValue("b").asLong());
+            ids.add(id);
+        });
+
+        assertEquals(10_000, records);
+        assertEquals(LongStream.range(0, 10_000).boxed().toList(), ids);
+    }
+
+    @Test
+    @DisplayName("Blank lines, CRLF line endings and a missing final newline")
+    void testLineEndings() {
+        String json = "{\"id\": 1}\r\n\r\n   \n{\"id\": 2}\r\n{\"id\": 3}";
+        List<Long> ids = new ArrayList<>();
+
+        long records = JsonLinesReader.sequentialTokenizer()
+            .forEach(jsonToSegment(json), record -> ids.add(record.readValue(ID).asLong()));
+
+        assertEquals(3, records);
+        assertEquals(List.of(1L, 2L, 3L), ids);
+    }
+
+    @Test
+    @DisplayName("Records share one tape")
+    void testTapeReuse() {
+        String json = "{\"id\": 1, \"name\": \"first\"}\n{\"id\": 2}\n{\"id\": 3, \"name\": \"third\", \"extra\": [1, 2, 3]}\n";
+        List<long[]> tapes = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+
+        JsonLinesReader.simdTokenizer().forEach(jsonToSegment(json), record -> {
+            tapes.add(record.tokens);
+            values.add(segmentToString(record.readValueSegment(ID)));
+        });
+
+        assertEquals(List.of("1", "2", "3"), values);
+        assertSame(tapes.get(0), tapes.get(1));
+        assertSame(tapes.get(1), tapes.get(2));
+    }
+
+    @Test
+    @DisplayName("Records that outgrow the tape are still read correctly")
+    void testTapeGrowth() {
+        String large = IntStream.range(0, 5000).mapToObj(i -> "\"k" + i + "\": " + i).collect(Collectors.joining(", ", "{", "}"));
+        String json = "{\"k1\": -1}\n" + large + "\n{\"k1\": -2}\n";
+        List<Long> values = new ArrayList<>();
+
+        JsonLinesReader.simdTokenizer().forEach(jsonToSegment(json), record -> values.add(record.readValue("k1").asLong()));
+
+        assertEquals(List.of(-1L, 1L, -2L), values);
+    }
+
+    @Test
+    @DisplayName("Parallel streams see every record exactly once")
+    void testParallelStream() throws IOException {
+        Path file = directory.resolve("records.jsonl");
+        int count = 200_000;
+        Files.writeString(file, IntStream.range(0, count)
+            .mapToObj(i -> String.format("{\"id\": %d, \"even\": %b}", i, i % 2 == 0))
+            .collect(Collectors.joining("\n", "", "\n")));
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        long sum;
+        long evens;
+        try (Stream<JsonDocument> records = JsonLinesReader.simdTokenizer().stream(file)) {
+            sum = records.parallel()
+                .peek(record -> threads.add(Thread.currentThread().getName()))
+                .mapToLong(record -> record.readValue(ID).asLong())
+                .sum();
+        }
+        try (Stream<JsonDocument> records = JsonLinesReader.sequentialTokenizer().stream(file)) {
+            evens = records.parallel().filter(record -> record.readValue("even").asBoolean()).count();
+        }
+
+        assertEquals((long) count * (count - 1) / 2, sum);
+        assertEquals(count / 2, evens);
+        if (Runtime.getRuntime().availableProcessors() > 1) {
+            assertTrue(threads.size() > 1, threads.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Splits end at record boundaries")
+    void testSplitBoundaries() {
+        String json = IntStream.range(0, 50_000)
+            .mapToObj(i -> String.format("{\"id\": %d}", i))
+            .collect(Collectors.joining("\n"));
+        MemorySegment segment = jsonToSegment(json);
+        Spliterator<JsonDocument> suffix = JsonLinesReader.simdTokenizer().stream(segment).spliterator();
+        Spliterator<JsonDocument> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+
+        List<Long> ids = new ArrayList<>();
+        prefix.forEachRemaining(record -> ids.add(record.readValue(ID).asLong()));
+        int prefixSize = ids.size();
+        suffix.forEachRemaining(record -> ids.add(record.readValue(ID).asLong()));
+
+        assertTrue(prefixSize > 0 && prefixSize < 50_000);
+        assertEquals(LongStream.range(0, 50_000).boxed().toList(), ids);
+    }
+
+    @Test
+    @DisplayName("The size estimate ends at zero without a final newline")
+    void testEstimateWithoutFinalNewline() {
+        MemorySegment segment = jsonToSegment("{\"id\": 0}\n{\"id\": 1}");
+        Spliterator<JsonDocument> records = JsonLinesReader.simdTokenizer().stream(segment).spliterator();
+
+        assertTrue(records.tryAdvance(record -> assertEquals(0, record.readValue(ID).asLong())));
+        assertTrue(records.tryAdvance(record -> assertEquals(1, record.readValue(ID).asLong())));
+        assertEquals(0, records.estimateSize());
+        assertFalse(records.tryAdvance(record -> fail("No more records expected")));
+    }
+
+    @Test
+    @DisplayName("Readers with a single tokenizer instance do not split")
+    void testSingleTokenizerInstance() {
+        String json = "{\"id\": 1}\n".repeat(100_000);
+        Spliterator<JsonDocument> records = JsonLinesReader.withTokenizer(new SimdTokenizer())
+            .stream(jsonToSegment(json))
+            .spliterator();
+
+        assertNull(records.trySplit());
+    }
+
+    @Test
+    @DisplayName("Closing the stream releases the mapping")
+    void testStreamClose() throws IOException {
+        Path file = directory.resolve("records.jsonl");
+        Files.writeString(file, "{\"id\": 1}\n{\"id\": 2}\n");
+        List<MemorySegment> values = new ArrayList<>();
+
+        try (Stream<JsonDocument> records = JsonLinesReader.simdTokenizer().stream(file)) {
+            records.forEach(record -> values.add(record.readValueSegment(ID)));
+        }
+
+        assertEquals(2, values.size());
+        assertFalse(values.getFirst().scope().isAlive());
+    }
+
+    @Test
+    @DisplayName("The prefilter only tokenizes records containing the text")
+    void testPrefilter() {
+        String json = IntStream.range(0, 1000)
+            .mapToObj(i -> String.format("{\"id\": %d, \"level\": \"%s\"}", i, i % 100 == 0 ? "ERROR" : "INFO"))
+            .collect(Collectors.joining("\n"));
+        AtomicInteger tokenizations = new AtomicInteger();
+        JsonLinesReader reader = JsonLinesReader.withTokenizer(() -> new CountingTokenizer(tokenizations))
+            .withPrefilter("ERROR");
+        List<Long> ids = new ArrayList<>();
+
+        long records = reader.forEach(jsonToSegment(json), record -> ids.add(record.readValue(ID).asLong()));
+
+        assertEquals(10, records);
+        assertEquals(LongStream.range(0, 10).map(i -> i * 100).boxed().toList(), ids);
+        assertEquals(10, tokenizations.get());
+    }
+
+    @Test
+    @DisplayName("The prefilter finds text at the edges of records and files")
+    void testPrefilterEdges() {
+        String json = "{\"k\": \"x\"}\n{\"k\": \"y\"}\n\n{\"x\": 1}\n{\"k\": 2}\n{\"k\": \"x\"}";
+        List<String> keys = new ArrayList<>();
+
+        JsonLinesReader.simdTokenizer().withPrefilter("x").forEach(
+            jsonToSegment(json),
+            record -> keys.add(segmentToString(record.readValueSegment(JsonKey.of(firstKey(record)))))
+        );
+
+        assertEquals(List.of("x", "1", "x"), keys);
+    }
+
+    @Test
+    @DisplayName("Parallel streams apply the prefilter in every split")
+    void testPrefilterParallel() {
+        String json = IntStream.range(0, 100_000)
+            .mapToObj(i -> String.format("{\"id\": %d, \"level\": \"%s\"}", i, i % 1000 == 7 ? "ERROR" : "INFO"))
+            .collect(Collectors.joining("\n"));
+        MemorySegment segment = jsonToSegment(json);
+
+        try (Stream<JsonDocument> records = JsonLinesReader.simdTokenizer().withPrefilter("\"ERROR\"").stream(segment)) {
+            List<Long> ids = records.parallel().map(record -> record.readValue(ID).asLong()).toList();
+            assertEquals(LongStream.range(0, 100).map(i -> i * 1000 + 7).boxed().toList(), ids);
+        }
+    }
+
+    @Test
+    @DisplayName("A prefilter cannot contain a newline")
+    void testPrefilterNewline() {
+        assertThrows(IllegalArgumentException.class, () -> JsonLinesReader.simdTokenizer().withPrefilter("a\nb"));
+        assertThrows(IllegalArgumentException.class, () -> JsonLinesReader.simdTokenizer().withPrefilter(""));
+    }
+
+    @Test
+    @DisplayName("Malformed records report their line")
+    void testMalformedLine() {
+        MemorySegment segment = jsonToSegment("{\"id\": 1}\n{\"id\": 2}\n{\"id\": x}\n");
+
+        TokenizerException exception = assertThrows(
+            TokenizerException.class,
+            () -> JsonLinesReader.sequentialTokenizer().forEach(segment, record -> { })
+        );
+        assertTrue(exception.getMessage().startsWith("Line 3: "), exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Malformed records in a prefiltered or parallel read still report their line")
+    void testMalformedLineSkipped() {
+        MemorySegment segment = jsonToSegment("{\"id\": 1}\n\n{\"id\": 2}\n{\"id\": x, \"m\": 1}\n");
+
+        TokenizerException prefiltered = assertThrows(
+            TokenizerException.class,
+            () -> JsonLinesReader.sequentialTokenizer().withPrefilter("\"m\"").forEach(segment, record -> { })
+        );
+        assertTrue(prefiltered.getMessage().startsWith("Line 4: "), prefiltered.getMessage());
+
+        TokenizerException streamed = assertThrows(
+            TokenizerException.class,
+            () -> JsonLinesReader.sequentialTokenizer().stream(segment).count()
+        );
+        assertTrue(streamed.getMessage().startsWith("Line 4: "), streamed.getMessage());
+    }
+
+    private static String firstKey(JsonDocument record) {
+        long token = record.tokens[1];
+        int start = (int) ((token >>> 30) & 0x3FFFFFFFL);
+        int length = (int) (token & 0x3FFFFFFFL);
+        return segmentToString(record.segment.asSlice(start, length));
+    }
+
+    private record CountingTokenizer(AtomicInteger count) implements Tokenizer {
+        @Override
+        public long[] read(MemorySegment segment) {
+            count.incrementAndGet();
+            return new SimdTokenizer().read(segment);
+        }
+    }
+}
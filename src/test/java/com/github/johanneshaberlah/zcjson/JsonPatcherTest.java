@@ -0,0 +1,140 @@
+package com.github.johanneshaberlah.zcjson;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+
+import static com.github.johanneshaberlah.zcjson.JsonDocumentReaderTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JsonPatcher Tests")
+class JsonPatcherTest {
+    private static final String ORDER = """
+        {
+          "id": 42,
+          "status": "open",
+          "customer": {"name": "Alice", "tier": "gold"},
+          "items": [{"sku": "A-1", "qty": 2}, {"sku": "B-7", "qty": 1}],
+          "note": null
+        }""";
+
+    @Test
+    @DisplayName("Setting existing values replaces only their bytes")
+    void testSet() throws IOException {
+        JsonPatcher patcher = JsonPatcher.create()
+            .set(JsonPath.of("status"), "shipped")
+            .set(JsonPath.of("customer", "tier"), "platinum \"vip\"")
+            .set(JsonPath.of("id"), 43)
+            .setNull(JsonPath.of("items"));
+
+        assertEquals("""
+            {
+              "id": 43,
+              "status": "shipped",
+              "customer": {"name": "Alice", "tier": "platinum \\"vip\\""},
+              "items": null,
+              "note": null
+            }""", patch(patcher, ORDER));
+    }
+
+    @Test
+    @DisplayName("Added members are laid out like their siblings")
+    void testInsert() throws IOException {
+        JsonPatcher patcher = JsonPatcher.create()
+            .set(JsonPath.of("total"), 19.5)
+            .insert(JsonPath.of("customer", "vip"), json("true"))
+            .set(JsonPath.of("paid"), false);
+
+        assertEquals("""
+            {
+              "id": 42,
+              "status": "open",
+              "customer": {"name": "Alice", "tier": "gold", "vip":true},
+              "items": [{"sku": "A-1", "qty": 2}, {"sku": "B-7", "qty": 1}],
+              "note": null,
+              "total":19.5,
+              "paid":false
+            }""", patch(patcher, ORDER));
+        assertEquals("{\"a\":1,\"b\":2}", patch(JsonPatcher.create().set(JsonPath.of("a"), 1).set(JsonPath.of("b"), 2), "{}"));
+        assertEquals("{ \"a\": 0, \"b\":2}", patch(JsonPatcher.create().set(JsonPath.of("b"), 2), "{ \"a\": 0}"));
+    }
+
+    @Test
+    @DisplayName("Removing members keeps the remaining separators valid")
+    void testRemove() throws IOException {
+        assertEquals("""
+            {
+              "status": "open",
+              "items": [{"sku": "A-1", "qty": 2}, {"sku": "B-7", "qty": 1}]
+            }""", patch(JsonPatcher.create()
+                .remove(JsonPath.of("id"))
+                .remove(JsonPath.of("customer"))
+                .remove(JsonPath.of("note")), ORDER));
+
+        assertEquals("{\"b\": 2}", patch(JsonPatcher.create().remove(JsonPath.of("a")), "{\"a\": 1, \"b\": 2}"));
+        assertEquals("{\"a\": 1}", patch(JsonPatcher.create().remove(JsonPath.of("b")), "{\"a\": 1, \"b\": 2}"));
+        assertEquals("{}", patch(JsonPatcher.create().remove(JsonPath.of("a")).remove(JsonPath.of("b")), "{\"a\": 1, \"b\": 2}"));
+        assertEquals("{\"c\":3}", patch(
+            JsonPatcher.create().remove(JsonPath.of("a")).remove(JsonPath.of("b")).set(JsonPath.of("c"), 3),
+            "{\"a\": 1, \"b\": 2}"
+        ));
+    }
+
+    @Test
+    @DisplayName("Patched documents parse and a patcher is reusable")
+    void testReuse() throws IOException {
+        JsonPatcher patcher = JsonPatcher.create()
+            .remove(JsonPath.of("status"))
+            .set(JsonPath.parse("customer.name"), "Bob")
+            .set(JsonPath.of("customer", "since"), 2019);
+
+        for (int i = 0; i < 3; i++) {
+            try (JsonDocument patched = parseJson(patch(patcher, ORDER))) {
+                JsonDocument customer = patched.readObject(JsonKey.of("customer"));
+                assertEquals("Bob", customer.readValue(JsonKey.of("name")).asString());
+                assertEquals(2019, customer.readValue(JsonKey.of("since")).asLong());
+                assertThrows(JsonKeyNotFoundException.class, () -> patched.readValue(JsonKey.of("status")));
+                assertEquals(2, patched.readArray(JsonKey.of("items")).length());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A nested object can be patched on its own")
+    void testNestedDocument() throws IOException {
+        try (JsonDocument document = parseJson(ORDER);
+             JsonWriter writer = JsonWriter.pooled()) {
+            JsonPatcher.create().set(JsonPath.of("tier"), "silver").apply(document.readObject(JsonKey.of("customer")), writer);
+            assertEquals("{\"name\": \"Alice\", \"tier\": \"silver\"}", segmentToString(writer.segment()));
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid edits are rejected")
+    void testInvalidEdits() {
+        assertThrows(IllegalArgumentException.class, () -> JsonPatcher.create().set(JsonPath.of("id"), 1).remove(JsonPath.of("id")));
+        assertThrows(IllegalStateException.class, () -> patch(JsonPatcher.create().insert(JsonPath.of("id"), json("1")), ORDER));
+        assertThrows(JsonKeyNotFoundException.class, () -> patch(JsonPatcher.create().remove(JsonPath.of("missing")), ORDER));
+        assertThrows(JsonKeyNotFoundException.class, () -> patch(JsonPatcher.create().set(JsonPath.of("missing", "x"), 1), ORDER));
+        assertThrows(IllegalStateException.class, () -> patch(JsonPatcher.create().set(JsonPath.of("status", "x"), 1), ORDER));
+        assertThrows(IllegalStateException.class, () -> patch(
+            JsonPatcher.create().remove(JsonPath.of("customer")).set(JsonPath.of("customer", "tier"), "x"),
+            ORDER
+        ));
+    }
+
+    private static String patch(JsonPatcher patcher, String json) throws IOException {
+        try (JsonDocument document = parseJson(json);
+             JsonWriter writer = JsonWriter.pooled()) {
+            patcher.apply(document, writer);
+            return segmentToString(writer.segment());
+        }
+    }
+
+    private static MemorySegment json(String json) {
+        return MemorySegment.ofArray(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
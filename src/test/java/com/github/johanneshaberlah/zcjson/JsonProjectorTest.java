@@ -0,0 +1,91 @@
+package com.github.johanneshaberlah.zcjson;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.github.johanneshaberlah.zcjson.JsonDocumentReaderTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JsonProjector Tests")
+class JsonProjectorTest {
+    private static final String EVENT = """
+        {"id": 7, "level": "ERROR", "tags": ["a", {"b": [1, 2]}],
+         "user": {"name": "Alice", "address": {"city": "Berlin", "zip": "10115"}, "roles": ["admin"]},
+         "payload": {"large": [1, 2, 3, {"deep": {"deeper": true}}]}, "message": "disk full"}""";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Selected members are copied with their original bytes")
+    void testTopLevel() throws IOException {
+        assertEquals(
+            "{\"id\": 7,\"tags\": [\"a\", {\"b\": [1, 2]}],\"message\": \"disk full\"}",
+            project(JsonProjector.of("message", "id", "tags"), EVENT)
+        );
+    }
+
+    @Test
+    @DisplayName("Nested paths keep their nesting")
+    void testNested() throws IOException {
+        assertEquals(
+            "{\"level\": \"ERROR\",\"user\":{\"name\": \"Alice\",\"address\":{\"zip\": \"10115\"}}}",
+            project(JsonProjector.of("user.address.zip", "level", "user.name"), EVENT)
+        );
+    }
+
+    @Test
+    @DisplayName("A whole value includes paths below it")
+    void testWholeValue() throws IOException {
+        String expected = "{\"user\": {\"name\": \"Alice\", \"address\": {\"city\": \"Berlin\", \"zip\": \"10115\"}, \"roles\": [\"admin\"]}}";
+        assertEquals(expected, project(JsonProjector.of("user.name", "user"), EVENT));
+        assertEquals(expected, project(JsonProjector.of("user", "user.address.city"), EVENT));
+    }
+
+    @Test
+    @DisplayName("Missing fields and paths through non-objects are left out")
+    void testMissing() throws IOException {
+        assertEquals("{}", project(JsonProjector.of("missing"), EVENT));
+        assertEquals("{\"user\":{}}", project(JsonProjector.of("user.missing"), EVENT));
+        assertEquals("{}", project(JsonProjector.of("level.nested"), EVENT));
+        assertEquals("{\"id\": 7}", project(JsonProjector.of("id"), "{\"id\": 7}"));
+    }
+
+    @Test
+    @DisplayName("Every record of a JSON Lines file becomes one projected line")
+    void testJsonLines() throws IOException {
+        Path input = directory.resolve("events.jsonl");
+        StringBuilder lines = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            lines.append("{\"id\":").append(i).append(",\"payload\":{\"x\":[").append(i).append("]},\"user\":{\"name\":\"u")
+                .append(i).append("\",\"age\":").append(i % 90).append("}}\n");
+            expected.append("{\"id\":").append(i).append(",\"user\":{\"name\":\"u").append(i).append("\"}}\n");
+        }
+        Files.writeString(input, lines);
+        Path output = directory.resolve("projected.jsonl");
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long records = JsonProjector.of("id", "user.name").project(JsonLinesReader.simdTokenizer(), input, channel);
+            assertEquals(10_000, records);
+        }
+        assertEquals(expected.toString(), Files.readString(output));
+    }
+
+    private static String project(JsonProjector projector, String json) throws IOException {
+        try (JsonDocument document = parseJson(json);
+             JsonWriter writer = JsonWriter.pooled()) {
+            projector.project(document, writer);
+            String projected = segmentToString(writer.segment());
+            parseJson(projected).close();
+            return projected;
+        }
+    }
+}
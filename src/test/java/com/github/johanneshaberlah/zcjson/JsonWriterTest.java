@@ -0,0 +1,176 @@
+package com.github.johanneshaberlah.zcjson;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static com.github.johanneshaberlah.zcjson.JsonDocumentReaderTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JsonWriter Tests")
+class JsonWriterTest {
+
+    @Test
+    @DisplayName("Separators are written between keys, values and nested containers")
+    void testStructure() throws IOException {
+        try (JsonWriter writer = JsonWriter.pooled()) {
+            writer.writeObjectStart()
+                .writeKey("name").writeString("Alice")
+                .writeKey(JsonKey.of("age")).writeLong(30)
+                .writeKey("tags").writeArrayStart().writeString("a").writeArrayStart().writeArrayEnd().writeNull().writeArrayEnd()
+                .writeKey("address").writeObjectStart().writeKey("zip").writeLong(12345).writeObjectEnd()
+                .writeKey("active").writeBoolean(true)
+                .writeKey("score").writeDouble(9.5)
+                .writeObjectEnd();
+
+            String json = segmentToString(writer.segment());
+            assertEquals(
+                "{\"name\":\"Alice\",\"age\":30,\"tags\":[\"a\",[],null],\"address\":{\"zip\":12345},\"active\":true,\"score\":9.5}",
+                json
+            );
+            try (JsonDocument document = parseJson(json)) {
+                assertEquals(12345, document.readObject(JsonKey.of("address")).readValue(JsonKey.of("zip")).asLong());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Longs are written like Long.toString")
+    void testLongs() throws IOException {
+        Random random = new Random(42);
+        try (JsonWriter writer = JsonWriter.pooled()) {
+            long[] edges = {0, 1, -1, 9, 10, 99_999_999, 100_000_000, 9_999_999_999_999_999L, 10_000_000_000_000_000L,
+                Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1};
+            for (long value : edges) {
+                assertLong(writer, value);
+            }
+            for (long power = 1; power > 0 && power <= Long.MAX_VALUE / 10; power *= 10) {
+                assertLong(writer, power);
+                assertLong(writer, power - 1);
+                assertLong(writer, -power);
+            }
+            for (int i = 0; i < 100_000; i++) {
+                long value = random.nextLong() >> random.nextInt(64);
+                assertLong(writer, value);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Doubles are written like Double.toString")
+    void testDoubles() throws IOException {
+        Random random = new Random(42);
+        try (JsonWriter writer = JsonWriter.pooled()) {
+            double[] edges = {0.0, -0.0, 1.0, -1.0, 0.1, 1e7, 9_999_999.0, 1e-7, Double.MIN_VALUE, Double.MAX_VALUE, 123.456};
+            for (double value : edges) {
+                assertDouble(writer, value);
+            }
+            for (int i = 0; i < 100_000; i++) {
+                double value = i % 2 == 0 ? random.nextInt(20_000_000) - 10_000_000 : Double.longBitsToDouble(random.nextLong());
+                if (Double.isFinite(value)) {
+                    assertDouble(writer, value);
+                }
+            }
+            assertThrows(IllegalArgumentException.class, () -> writer.writeDouble(Double.NaN));
+            assertThrows(IllegalArgumentException.class, () -> writer.writeDouble(Double.POSITIVE_INFINITY));
+        }
+    }
+
+    @Test
+    @DisplayName("Strings are escaped from String and UTF-8 input alike")
+    void testEscaping() throws IOException {
+        String text = "quote \" backslash \\ newline \n tab \t bell \u0007 umlaut ä euro € emoji 😀 " + "x".repeat(100);
+        String expected = "\"quote \\\" backslash \\\\ newline \\n tab \\t bell \\u0007 umlaut ä euro € emoji 😀 "
+            + "x".repeat(100) + "\"";
+
+        try (JsonWriter writer = JsonWriter.pooled()) {
+            writer.writeString(text);
+            assertEquals(expected, segmentToString(writer.segment()));
+        }
+        try (JsonWriter writer = JsonWriter.pooled()) {
+            writer.writeString(MemorySegment.ofArray(text.getBytes(StandardCharsets.UTF_8)));
+            assertEquals(expected, segmentToString(writer.segment()));
+        }
+    }
+
+    @Test
+    @DisplayName("Raw JSON is spliced verbatim")
+    void testRaw() throws IOException {
+        try (JsonDocument document = parseJson("{\"user\": {\"name\": \"Alice\", \"ids\": [1, 2]}}");
+             JsonWriter writer = JsonWriter.pooled()) {
+            JsonDocument user = document.readObject(JsonKey.of("user"));
+            writer.writeArrayStart()
+                .writeRaw(document.readRawSegment(JsonKey.of("user")))
+                .writeRaw(user.readRawSegment(JsonKey.of("name")))
+                .writeRaw(user.readRawSegment(JsonKey.of("ids")))
+                .writeRaw(user.rawSegment())
+                .writeArrayEnd();
+
+            assertEquals(
+                "[{\"name\": \"Alice\", \"ids\": [1, 2]},\"Alice\",[1, 2],{\"name\": \"Alice\", \"ids\": [1, 2]}]",
+                segmentToString(writer.segment())
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("A fixed segment is filled exactly and rejects more")
+    void testFixedSegment() {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment target = arena.allocate(11);
+            JsonWriter writer = JsonWriter.into(target);
+            writer.writeArrayStart().writeLong(-12345678).writeArrayEnd();
+
+            assertEquals("[-12345678]", segmentToString(writer.segment()));
+            assertThrows(IllegalStateException.class, writer::writeNewline);
+        }
+    }
+
+    @Test
+    @DisplayName("Output larger than the buffer grows it or is flushed to the channel")
+    void testLargeOutput() throws IOException {
+        MemorySegment raw = MemorySegment.ofArray(("\"" + "y".repeat(200_000) + "\"").getBytes(StandardCharsets.UTF_8));
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            expected.append("{\"id\":").append(i).append(",\"raw\":").append(i == 10_000 ? segmentToString(raw) : "0").append("}\n");
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonWriter pooled = JsonWriter.pooled();
+             JsonWriter streaming = JsonWriter.to(Channels.newChannel(bytes))) {
+            for (JsonWriter writer : new JsonWriter[]{pooled, streaming}) {
+                for (int i = 0; i < 20_000; i++) {
+                    writer.writeObjectStart().writeKey("id").writeLong(i).writeKey("raw");
+                    if (i == 10_000) {
+                        writer.writeRaw(raw);
+                    } else {
+                        writer.writeLong(0);
+                    }
+                    writer.writeObjectEnd().writeNewline();
+                }
+            }
+            assertEquals(expected.toString(), segmentToString(pooled.segment()));
+            assertTrue(streaming.size() < 64 * 1024);
+        }
+        assertEquals(expected.toString(), bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    private static void assertLong(JsonWriter writer, long value) throws IOException {
+        writer.writeTo(Channels.newChannel(new ByteArrayOutputStream()));
+        writer.writeLong(value);
+        assertEquals(Long.toString(value), segmentToString(writer.segment()));
+    }
+
+    private static void assertDouble(JsonWriter writer, double value) throws IOException {
+        writer.writeTo(Channels.newChannel(new ByteArrayOutputStream()));
+        writer.writeDouble(value);
+        assertEquals(Double.toString(value), segmentToString(writer.segment()));
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.johanneshaberlah.zcjson;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Mapping Hint Tests")
+class MappingHintTest {
+    private static final JsonKey NAME = JsonKey.of("name");
+    private static final JsonKey ITEMS = JsonKey.of("items");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Each hint leaves the document readable")
+    void testEachHint() throws IOException {
+        Path file = writeFile();
+
+        for (MappingHint hint : MappingHint.values()) {
+            JsonDocumentReader reader = JsonDocumentReader.simdTokenizer().withMappingHints(hint);
+            try (JsonDocument document = reader.read(file)) {
+                assertEquals("large", document.readValue(NAME).asString(), hint.name());
+                assertEquals(100_000, document.readArray(ITEMS).length(), hint.name());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Hints can be combined and apply to shared documents")
+    void testCombinedHints() throws IOException {
+        JsonDocumentReader reader = JsonDocumentReader.sequentialTokenizer()
+            .withMappingHints(MappingHint.SEQUENTIAL, MappingHint.WILL_NEED, MappingHint.HUGE_PAGES, MappingHint.LOAD);
+
+        try (SharedJsonDocument shared = reader.readShared(writeFile());
+             JsonDocument document = shared.acquire()) {
+            assertEquals("large", document.readValue(NAME).asString());
+        }
+    }
+
+    @Test
+    @DisplayName("Empty files are not advised")
+    void testEmptyFile() throws IOException {
+        Path file = directory.resolve("empty.json");
+        Files.writeString(file, "");
+
+        JsonDocumentReader reader = JsonDocumentReader.simdTokenizer().withMappingHints(MappingHint.WILL_NEED);
+        try (JsonDocument document = reader.read(file)) {
+            assertThrows(JsonKeyNotFoundException.class, () -> document.readValue(NAME));
+        }
+    }
+
+    @Test
+    @DisplayName("madvise is bound on Linux")
+    void testMadviseAvailability() {
+        assertEquals(System.getProperty("os.name").startsWith("Linux"), MemoryAdvice.isSupported());
+    }
+
+    private Path writeFile() throws IOException {
+        StringBuilder json = new StringBuilder("{\"name\": \"large\", \"items\": [");
+        for (int i = 0; i < 100_000; i++) {
+            json.append(i == 0 ? "" : ",").append(i);
+        }
+        json.append("]}");
+        Path file = directory.resolve("large.json");
+        Files.writeString(file, json);
+        return file;
+    }
+}
@@ -0,0 +1,215 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.metrics.DocumentMetrics;
+import com.github.johanneshaberlah.zcjson.metrics.JsonMetrics;
+import com.github.johanneshaberlah.zcjson.metrics.TokenizeMetrics;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.johanneshaberlah.zcjson.JsonDocumentReaderTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Metrics Tests")
+class MetricsTest {
+    @TempDir
+    Path directory;
+
+    private static final String JSON = """
+        {
+          "name": "Alice",
+          "path": "C:\\\\Users\\\\alice",
+          "quote": "line\\nbreak",
+          "address": {
+            "city": "Berlin",
+            "coordinates": [52.52, 13.40]
+          }
+        }
+        """;
+
+    @Test
+    @DisplayName("Tokenize metrics describe the input and the tape")
+    void testTokenizeMetrics() {
+        RecordingMetrics metrics = new RecordingMetrics();
+        metrics.countContent = true;
+        JsonDocumentReader reader = JsonDocumentReader.simdTokenizer().withMetrics(metrics);
+
+        try (JsonDocument document = reader.read(jsonToSegment(JSON))) {
+            assertNotNull(document);
+        }
+
+        assertEquals(1, metrics.tokenizes.size());
+        TokenizeMetrics tokenize = metrics.tokenizes.getFirst();
+        assertEquals(JSON.length(), tokenize.bytes());
+        assertEquals(18, tokenize.tokens());
+        assertEquals(3, tokenize.maxDepth());
+        assertEquals(3, tokenize.escapes());
+        assertTrue(tokenize.tokenizerNanos() >= 0);
+    }
+
+    @Test
+    @DisplayName("Depth and escapes are only counted when the listener asks for them")
+    void testContentNotCounted() {
+        RecordingMetrics metrics = new RecordingMetrics();
+        JsonDocumentReader reader = JsonDocumentReader.simdTokenizer().withMetrics(metrics);
+
+        try (JsonDocument document = reader.read(jsonToSegment(JSON))) {
+            assertNotNull(document);
+        }
+
+        TokenizeMetrics tokenize = metrics.tokenizes.getFirst();
+        assertEquals(JSON.length(), tokenize.bytes());
+        assertEquals(18, tokenize.tokens());
+        assertEquals(-1, tokenize.maxDepth());
+        assertEquals(-1, tokenize.escapes());
+    }
+
+    @Test
+    @DisplayName("A sidecar miss measures the document it returns once")
+    void testSidecarMiss() throws Exception {
+        Path file = Files.writeString(directory.resolve("a.json"), JSON);
+        RecordingMetrics metrics = new RecordingMetrics();
+        JsonDocumentReader reader = JsonDocumentReader.simdTokenizer().withSidecarIndex().withMetrics(metrics);
+
+        try (JsonDocument document = reader.read(file)) {
+            document.readValueSegment(JsonKey.of("name"));
+        }
+
+        assertEquals(1, metrics.enabledChecks);
+        assertEquals(1, metrics.tokenizes.size());
+        assertEquals(List.of(new DocumentMetrics(1, 2)), metrics.documents);
+    }
+
+    @Test
+    @DisplayName("Shared documents report every handle and nothing else")
+    void testSharedDocument() throws Exception {
+        Path file = Files.writeString(directory.resolve("a.json"), JSON);
+        RecordingMetrics metrics = new RecordingMetrics();
+        JsonDocumentReader reader = JsonDocumentReader.simdTokenizer().withMetrics(metrics);
+
+        try (SharedJsonDocument shared = reader.readShared(file);
+             SharedJsonDocument fromSegment = reader.readShared(jsonToSegment(JSON))) {
+            for (SharedJsonDocument document : List.of(shared, fromSegment)) {
+                try (JsonDocument handle = document.acquire()) {
+                    handle.readValueSegment(JsonKey.of("name"));
+                }
+            }
+        }
+
+        assertEquals(2, metrics.tokenizes.size());
+        assertEquals(List.of(new DocumentMetrics(1, 2), new DocumentMetrics(1, 2)), metrics.documents);
+        // Once per tokenized document and once per handle.
+        assertEquals(4, metrics.enabledChecks);
+    }
+
+    @Test
+    @DisplayName("Lookups are reported individually and per document")
+    void testLookupMetrics() {
+        RecordingMetrics metrics = new RecordingMetrics();
+        JsonDocumentReader reader = JsonDocumentReader.sequentialTokenizer().withMetrics(metrics);
+
+        try (JsonDocument document = reader.read(jsonToSegment(JSON))) {
+            document.readValueSegment(JsonKey.of("name"));
+            document.readObject(JsonKey.of("address")).readValueSegment(JsonKey.of("city"));
+            assertThrows(JsonKeyNotFoundException.class, () -> document.readValueSegment(JsonKey.of("missing")));
+        }
+
+        assertEquals(List.of("name:2:true", "address:8:true", "city:2:true", "missing:18:false"), metrics.lookups);
+        assertEquals(List.of(new DocumentMetrics(4, 30)), metrics.documents);
+    }
+
+    @Test
+    @DisplayName("Readers without metrics do not report anything")
+    void testDisabledMetrics() {
+        RecordingMetrics metrics = new RecordingMetrics();
+        metrics.enabled = false;
+        JsonDocumentReader reader = JsonDocumentReader.simdTokenizer().withMetrics(metrics);
+
+        try (JsonDocument document = reader.read(jsonToSegment(JSON))) {
+            document.readValueSegment(JsonKey.of("name"));
+        }
+
+        assertTrue(metrics.tokenizes.isEmpty());
+        assertTrue(metrics.lookups.isEmpty());
+        assertTrue(metrics.documents.isEmpty());
+    }
+
+    @Test
+    @DisplayName("JFR metrics emit zcjson.Tokenize and zcjson.Lookup events")
+    void testFlightRecorderEvents() throws Exception {
+        Path file = Files.createTempFile("zcjson", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("zcjson.Tokenize");
+            recording.enable("zcjson.Lookup");
+            recording.start();
+
+            JsonDocumentReader reader = JsonDocumentReader.simdTokenizer().withMetrics(JsonMetrics.jfr(true));
+            try (JsonDocument document = reader.read(jsonToSegment(JSON))) {
+                document.readValueSegment(JsonKey.of("name"));
+            }
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        RecordedEvent tokenize = events.stream()
+            .filter(event -> event.getEventType().getName().equals("zcjson.Tokenize"))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(18, tokenize.getInt("tokens"));
+        assertEquals(3, tokenize.getInt("escapes"));
+
+        RecordedEvent lookup = events.stream()
+            .filter(event -> event.getEventType().getName().equals("zcjson.Lookup"))
+            .findFirst()
+            .orElseThrow();
+        assertEquals("name", lookup.getString("key"));
+        assertTrue(lookup.getBoolean("found"));
+    }
+
+    private static final class RecordingMetrics implements JsonMetrics {
+        private final List<TokenizeMetrics> tokenizes = new ArrayList<>();
+        private final List<String> lookups = new ArrayList<>();
+        private final List<DocumentMetrics> documents = new ArrayList<>();
+        private boolean enabled = true;
+        private boolean countContent;
+        private int enabledChecks;
+
+        @Override
+        public boolean isEnabled() {
+            enabledChecks++;
+            return enabled;
+        }
+
+        @Override
+        public boolean countsContent() {
+            return countContent;
+        }
+
+        @Override
+        public void onTokenize(TokenizeMetrics metrics) {
+            tokenizes.add(metrics);
+        }
+
+        @Override
+        public void onLookup(JsonKey key, int scannedTokens, boolean found) {
+            lookups.add(key.name() + ":" + scannedTokens + ":" + found);
+        }
+
+        @Override
+        public void onDocumentClose(DocumentMetrics metrics) {
+            documents.add(metrics);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.johanneshaberlah.zcjson;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static com.github.johanneshaberlah.zcjson.JsonDocumentReaderTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Numeric Column Tests")
+class NumericColumnTest {
+    private static final JsonKey EMBEDDING = JsonKey.of("embedding");
+    private static final JsonKey SHORT = JsonKey.of("short");
+    private static final JsonKey MIXED = JsonKey.of("mixed");
+    private static final JsonKey NULLS = JsonKey.of("nulls");
+    private static final JsonKey NESTED = JsonKey.of("nested");
+
+    private static final double[] VALUES = new double[1_536];
+    private static final String JSON;
+
+    static {
+        Random random = new Random(5);
+        StringBuilder embedding = new StringBuilder();
+        for (int i = 0; i < VALUES.length; i++) {
+            String value = String.valueOf(random.nextInt(-1_000_000, 1_000_000) / 1e6);
+            // The values the library parses, which may be an ulp away from Double.parseDouble.
+            VALUES[i] = JsonValue.of(jsonToSegment(value)).asDouble();
+            embedding.append(i == 0 ? "" : ", ").append(value);
+        }
+        JSON = "{\"id\": 1, \"embedding\": [" + embedding + "], \"short\": [1, 2, 3], "
+            + "\"mixed\": [1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, \"x\"], "
+            + "\"nulls\": [1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, null], "
+            + "\"nested\": [[1, 2], [3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18]]}";
+    }
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Numeric arrays are parsed into read-only packed columns")
+    void testColumn() {
+        JsonDocumentReader reader = JsonDocumentReader.simdTokenizer().withNumericColumns();
+        try (JsonDocument document = reader.read(jsonToSegment(JSON))) {
+            JsonArray embedding = document.readArray(EMBEDDING);
+            assertNotNull(embedding.column());
+            MemorySegment column = embedding.asDoubleSegment();
+            assertTrue(column.isReadOnly());
+            assertArrayEquals(VALUES, column.toArray(ValueLayout.JAVA_DOUBLE));
+            assertArrayEquals(VALUES, embedding.doubles().toArray());
+
+            assertArrayEquals(new double[]{3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18},
+                document.readArray(NESTED).readArray(1).asDoubleSegment().toArray(ValueLayout.JAVA_DOUBLE));
+            assertNotNull(document.readArray(NESTED).readArray(1).column());
+        }
+    }
+
+    @Test
+    @DisplayName("Short, mixed and nullable arrays get no column but are still parsed on access")
+    void testWithoutColumn() {
+        JsonDocumentReader reader = JsonDocumentReader.simdTokenizer().withNumericColumns();
+        try (JsonDocument document = reader.read(jsonToSegment(JSON))) {
+            assertNull(document.readArray(SHORT).column());
+            assertNull(document.readArray(MIXED).column());
+            assertNull(document.readArray(NULLS).column());
+            assertNull(document.readArray(NESTED).column());
+            assertNull(document.readArray(NESTED).readArray(0).column());
+
+            assertArrayEquals(new double[]{1, 2, 3}, document.readArray(SHORT).doubles().toArray());
+            double[] nulls = document.readArray(NULLS).asDoubleSegment().toArray(ValueLayout.JAVA_DOUBLE);
+            assertEquals(16, nulls.length);
+            assertTrue(Double.isNaN(nulls[15]));
+            assertThrows(IllegalStateException.class, () -> document.readArray(MIXED).asDoubleSegment());
+            assertThrows(IllegalStateException.class, () -> document.readArray(NESTED).doubles());
+        }
+        try (JsonDocument document = parseJson(JSON)) {
+            assertNull(document.columns);
+            assertArrayEquals(VALUES, document.readArray(EMBEDDING).doubles().toArray());
+        }
+        try (JsonDocument document = JsonDocumentReader.simdTokenizer().withNumericColumns(2).read(jsonToSegment(JSON))) {
+            assertNotNull(document.readArray(SHORT).column());
+            assertNotNull(document.readArray(NESTED).readArray(0).column());
+        }
+        assertThrows(IllegalArgumentException.class, () -> JsonDocumentReader.simdTokenizer().withNumericColumns(0));
+    }
+
+    @Test
+    @DisplayName("Aggregations read from the column")
+    void testAggregate() {
+        try (JsonDocument document = JsonDocumentReader.simdTokenizer().withNumericColumns().read(jsonToSegment(JSON));
+             JsonDocument plain = parseJson(JSON)) {
+            JsonArray embedding = document.readArray(EMBEDDING);
+            JsonArray parsed = plain.readArray(EMBEDDING);
+            assertEquals(parsed.aggregate(Aggregator.sum()).doubleValue(), embedding.aggregate(Aggregator.sum()), 1e-9);
+            assertEquals(parsed.aggregate(Aggregator.min()), embedding.aggregate(Aggregator.min()));
+            assertEquals(parsed.aggregate(Aggregator.max()), embedding.parallelAggregate(Aggregator.max()));
+            assertEquals(VALUES.length, embedding.aggregate(Aggregator.count()).longValue());
+        }
+    }
+
+    @Test
+    @DisplayName("Shared documents and sidecar reads carry the columns")
+    void testSharedAndSidecar() throws IOException {
+        Path file = directory.resolve("features.json");
+        Files.writeString(file, JSON);
+        JsonDocumentReader reader = JsonDocumentReader.simdTokenizer().withNumericColumns();
+
+        try (SharedJsonDocument shared = reader.readShared(file); JsonDocument document = shared.acquire()) {
+            assertArrayEquals(VALUES, document.readArray(EMBEDDING).asDoubleSegment().toArray(ValueLayout.JAVA_DOUBLE));
+            assertNotNull(document.readArray(EMBEDDING).column());
+        }
+        for (int read = 0; read < 2; read++) {
+            try (JsonDocument document = reader.withSidecarIndex().read(file)) {
+                assertNotNull(document.readArray(EMBEDDING).column());
+                assertArrayEquals(VALUES, document.readArray(EMBEDDING).doubles().toArray());
+            }
+        }
+    }
+}
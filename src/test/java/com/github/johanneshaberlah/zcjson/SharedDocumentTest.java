@@ -0,0 +1,97 @@
+package com.github.johanneshaberlah.zcjson;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Shared Document Tests")
+class SharedDocumentTest {
+    private static final int THREADS = 8;
+    private static final int ITEMS = 1000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Query one mapped document from many threads")
+    void testConcurrentReads() throws Exception {
+        Path file = writeCatalog();
+
+        try (SharedJsonDocument shared = JsonDocumentReader.simdTokenizer().readShared(file);
+             ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<Long>> sums = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                sums.add(executor.submit(() -> {
+                    try (JsonDocument document = shared.acquire()) {
+                        JsonArray items = document.readArray(JsonKey.of("items"));
+                        long sum = 0;
+                        for (int index = 0; index < items.length(); index++) {
+                            sum += items.readObject(index).readValue(JsonKey.of("price")).asLong();
+                        }
+                        return sum;
+                    }
+                }));
+            }
+            for (Future<Long> sum : sums) {
+                assertEquals((long) ITEMS * (ITEMS - 1) / 2, sum.get().longValue());
+            }
+            assertEquals(1, shared.references());
+        }
+    }
+
+    @Test
+    @DisplayName("Handles stay valid after the owner closed the shared document")
+    void testHandleOutlivesOwner() throws Exception {
+        SharedJsonDocument shared = JsonDocumentReader.simdTokenizer().readShared(writeCatalog());
+        JsonDocument handle = shared.acquire();
+        MemorySegment name = handle.readValueSegment(JsonKey.of("name"));
+
+        shared.close();
+        assertEquals("catalog", handle.readValue(JsonKey.of("name")).asString());
+        assertThrows(IllegalStateException.class, shared::acquire);
+
+        handle.close();
+        assertFalse(name.scope().isAlive());
+        assertEquals(0, shared.references());
+    }
+
+    @Test
+    @DisplayName("Closing a handle twice releases only one reference")
+    void testHandleClosedTwice() throws Exception {
+        try (SharedJsonDocument shared = JsonDocumentReader.sequentialTokenizer().readShared(writeCatalog())) {
+            JsonDocument first = shared.acquire();
+            JsonDocument second = shared.acquire();
+            assertEquals(3, shared.references());
+
+            first.close();
+            first.close();
+            assertEquals(2, shared.references());
+
+            assertEquals("catalog", second.readValue(JsonKey.of("name")).asString());
+            second.close();
+            assertEquals(1, shared.references());
+        }
+    }
+
+    private Path writeCatalog() throws Exception {
+        StringBuilder json = new StringBuilder("{\"name\": \"catalog\", \"items\": [");
+        for (int i = 0; i < ITEMS; i++) {
+            json.append(i == 0 ? "" : ", ").append(String.format("{\"id\": \"item-%d\", \"price\": %d}", i, i));
+        }
+        json.append("]}");
+        Path file = directory.resolve("catalog.json");
+        Files.writeString(file, json);
+        return file;
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.johanneshaberlah.zcjson;
+
+import com.github.johanneshaberlah.zcjson.tokenizer.SequentialTokenizer;
+import com.github.johanneshaberlah.zcjson.tokenizer.Token;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sidecar Index Tests")
+class SidecarIndexTest {
+    private static final String JSON = """
+        {
+          "name": "Alice",
+          "address": {"city": "Berlin", "zip": "10115"},
+          "orders": [{"id": 1, "tags": ["a", "b"]}, {"id": 2, "tags": []}, [3, [4]]],
+          "active": true
+        }
+        """;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("The first read writes the sidecar, the second read skips the tokenizer")
+    void testReuse() throws IOException {
+        Path file = writeFile(JSON);
+        AtomicInteger tokenizations = new AtomicInteger();
+        JsonDocumentReader reader = countingReader(tokenizations).withSidecarIndex();
+
+        try (JsonDocument document = reader.read(file)) {
+            assertDocument(document);
+        }
+        assertTrue(Files.exists(directory.resolve("data.json.zci")));
+
+        try (JsonDocument document = reader.read(file)) {
+            assertDocument(document);
+        }
+        assertEquals(1, tokenizations.get());
+    }
+
+    @Test
+    @DisplayName("A sidecar for another version of the file is rebuilt")
+    void testStaleSidecar() throws IOException {
+        Path file = writeFile(JSON);
+        AtomicInteger tokenizations = new AtomicInteger();
+        JsonDocumentReader reader = countingReader(tokenizations).withSidecarIndex();
+        reader.read(file).close();
+
+        Files.writeString(file, "{\"name\": \"Bob\", \"address\": {\"city\": \"Paris\"}}");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+        try (JsonDocument document = reader.read(file)) {
+            assertEquals("Bob", document.readValue("name").asString());
+            assertEquals("Paris", document.readObject("address").readValue("city").asString());
+        }
+        try (JsonDocument document = reader.read(file)) {
+            assertEquals("Paris", document.readObject("address").readValue("city").asString());
+        }
+        assertEquals(2, tokenizations.get());
+    }
+
+    @Test
+    @DisplayName("A corrupted sidecar fails its checksum and is rebuilt")
+    void testCorruptedSidecar() throws IOException {
+        Path file = writeFile(JSON);
+        AtomicInteger tokenizations = new AtomicInteger();
+        JsonDocumentReader reader = countingReader(tokenizations).withSidecarIndex();
+        reader.read(file).close();
+
+        Path sidecar = directory.resolve("data.json.zci");
+        byte[] bytes = Files.readAllBytes(sidecar);
+        bytes[bytes.length - 1] ^= 0x55;
+        Files.write(sidecar, bytes);
+
+        try (JsonDocument document = reader.read(file)) {
+            assertDocument(document);
+        }
+        try (JsonDocument document = reader.read(file)) {
+            assertDocument(document);
+        }
+        assertEquals(2, tokenizations.get());
+    }
+
+    @Test
+    @DisplayName("Jump pointers match the scanned end of every value")
+    void testJumps() {
+        long[] tokens = new SequentialTokenizer().read(MemorySegment.ofArray(JSON.getBytes()));
+        TokenIndex index = TokenIndex.of(tokens);
+        JsonDocument scanned = new JsonDocument(null, null, tokens, 0, tokens.length);
+
+        for (int i = 0; i < index.jumps().length; i++) {
+            int type = (int) (tokens[i] >>> 60);
+            if (type == Token.OBJECT_END_MARKER || type == Token.ARRAY_END_MARKER || type == Token.KEY) {
+                continue;
+            }
+            assertEquals(scanned.findEndOfStructure(i), index.jumps()[i], "token " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Shared documents use the sidecar as well")
+    void testShared() throws IOException {
+        Path file = writeFile(JSON);
+        AtomicInteger tokenizations = new AtomicInteger();
+        JsonDocumentReader reader = countingReader(tokenizations).withSidecarIndex();
+        reader.read(file).close();
+
+        try (SharedJsonDocument shared = reader.readShared(file); JsonDocument document = shared.acquire()) {
+            assertDocument(document);
+        }
+        assertEquals(1, tokenizations.get());
+    }
+
+    private static void assertDocument(JsonDocument document) {
+        assertEquals("Alice", document.readValue("name").asString());
+        assertEquals("10115", document.readObject("address").readValue("zip").asString());
+        JsonArray orders = document.readArray("orders");
+        assertEquals(3, orders.length());
+        assertEquals(2, orders.readObject(0).readArray("tags").length());
+        assertEquals(2, orders.readObject(1).readValue("id").asLong());
+        assertEquals(4, orders.readArray(2).readArray(1).readValue(0).asLong());
+        assertTrue(document.readValue("active").asBoolean());
+    }
+
+    private static JsonDocumentReader countingReader(AtomicInteger tokenizations) {
+        return JsonDocumentReader.withTokenizer(() -> segment -> {
+            tokenizations.incrementAndGet();
+            return new SequentialTokenizer().read(segment);
+        });
+    }
+
+    private Path writeFile(String json) throws IOException {
+        Path file = directory.resolve("data.json");
+        Files.writeString(file, json);
+        return file;
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.johanneshaberlah.zcjson.tokenizer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Streaming Tokenizer Tests")
+class StreamingTokenizerTest {
+    private static final String JSON = """
+        {
+          "name": "Alice",
+          "age": 30,
+          "ratio": -12.5e-3,
+          "flags": [true, false, null],
+          "address": {"city": "Berlin", "zip": "10115"},
+          "empty": {},
+          "list": [[], [1, [2]], {"k": "v"}]
+        }
+        """;
+
+    @Test
+    @DisplayName("Every chunk size produces the tokens of the sequential tokenizer")
+    void testMatchesSequentialTokenizer() {
+        List<String> expected = tapeTokens(JSON);
+
+        for (int chunkSize = 1; chunkSize <= JSON.length(); chunkSize++) {
+            assertEquals(expected, streamTokens(JSON, chunkSize), "chunk size " + chunkSize);
+        }
+    }
+
+    @Test
+    @DisplayName("Escaped quotes and backslashes stay inside the string")
+    void testEscapes() {
+        String json = "{\"a\\\"b\": \"x\\\\\", \"c\": \"\\\\\\\"\"}";
+
+        for (int chunkSize = 1; chunkSize <= json.length(); chunkSize++) {
+            assertEquals(
+                List.of("OBJECT_START_MARKER@0:{", "KEY@2:a\\\"b", "STRING@10:x\\\\", "KEY@17:c",
+                    "STRING@22:\\\\\\\"", "OBJECT_END_MARKER@27:}"),
+                streamTokens(json, chunkSize),
+                "chunk size " + chunkSize
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Top-level scalars are completed by finish")
+    void testTopLevelScalars() {
+        assertEquals(List.of("NUMBER@0:12345"), streamTokens("12345", 2));
+        assertEquals(List.of("STRING@2:text"), streamTokens(" \"text\"  ", 3));
+        assertEquals(List.of("BOOLEAN_TRUE@0:true"), streamTokens("true", 1));
+    }
+
+    @Test
+    @DisplayName("Incomplete or malformed input is rejected")
+    void testMalformedInput() {
+        assertThrows(TokenizerException.class, () -> streamTokens("{\"name\": \"Ali", 4));
+        assertThrows(TokenizerException.class, () -> streamTokens("{\"a\": [1, 2]", 4));
+        assertThrows(TokenizerException.class, () -> streamTokens("{\"a\": tru}", 3));
+        assertThrows(TokenizerException.class, () -> streamTokens("]", 1));
+        assertThrows(TokenizerException.class, () -> streamTokens("{\"a\": x}", 2));
+    }
+
+    @Test
+    @DisplayName("A channel is tokenized in fixed-size chunks")
+    void testChannel() throws IOException {
+        String json = IntStream.range(0, 20_000)
+            .mapToObj(i -> String.format("{\"id\": %d, \"name\": \"item-%d\", \"tags\": [\"a\", \"b\"]}", i, i))
+            .collect(Collectors.joining(", ", "[", "]"));
+        List<String> tokens = new ArrayList<>();
+        long[] ids = new long[1];
+
+        StreamingTokenizer.tokenize(
+            Channels.newChannel(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))),
+            (type, offset, bytes) -> {
+                if (type == Token.NUMBER) {
+                    ids[0] += Long.parseLong(new String(bytes.toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8));
+                }
+                if (tokens.size() < 64) {
+                    tokens.add(describe(type, offset, bytes));
+                }
+            }
+        );
+
+        assertEquals(20_000L * 19_999 / 2, ids[0]);
+        assertEquals(tapeTokens(json).subList(0, 64), tokens);
+    }
+
+    private static List<String> streamTokens(String json, int chunkSize) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<String> tokens = new ArrayList<>();
+        StreamingTokenizer tokenizer = new StreamingTokenizer((type, offset, token) -> tokens.add(describe(type, offset, token)));
+        for (int from = 0; from < bytes.length; from += chunkSize) {
+            // A fresh copy per chunk, so that tokens cannot refer to bytes of an earlier chunk.
+            byte[] chunk = Arrays.copyOfRange(bytes, from, Math.min(bytes.length, from + chunkSize));
+            tokenizer.accept(MemorySegment.ofArray(chunk));
+            Arrays.fill(chunk, (byte) '#');
+        }
+        tokenizer.finish();
+        return tokens;
+    }
+
+    private static List<String> tapeTokens(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        MemorySegment segment = MemorySegment.ofArray(bytes);
+        long[] tape = new SequentialTokenizer().read(segment);
+        List<String> tokens = new ArrayList<>();
+        for (long token : tape) {
+            if (token == -1) {
+                break;
+            }
+            int start = (int) ((token >>> 30) & 0x3FFFFFFFL);
+            int length = (int) (token & 0x3FFFFFFFL);
+            tokens.add(describe((int) (token >>> 60), start, segment.asSlice(start, length)));
+        }
+        return tokens;
+    }
+
+    private static String describe(int type, long offset, MemorySegment bytes) {
+        String text = new String(bytes.toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8);
+        return Token.toString(type) + "@" + offset + ":" + text;
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.johanneshaberlah.zcjson.tokenizer.simd;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SIMD Byte Search Tests")
+class SimdByteSearchTest {
+    private final SimdByteSearch search = new SimdByteSearch();
+
+    @Test
+    @DisplayName("Find a sequence at the start, in the middle, at the end and not at all")
+    void testFindSequence() {
+        MemorySegment text = segment("{\"level\":\"INFO\"}{\"level\":\"ERROR\"}");
+
+        assertEquals(0, search.findSequence(text, 0, text.byteSize(), segment("{\"level")));
+        assertEquals(26, search.findSequence(text, 0, text.byteSize(), segment("ERROR")));
+        assertEquals(text.byteSize() - 3, search.findSequence(text, 0, text.byteSize(), segment("R\"}")));
+        assertEquals(text.byteSize(), search.findSequence(text, 0, text.byteSize(), segment("WARN")));
+        assertEquals(text.byteSize(), search.findSequence(text, 27, text.byteSize(), segment("ERROR")));
+        assertEquals(8, search.findSequence(text, 0, text.byteSize(), segment(":")));
+    }
+
+    @Test
+    @DisplayName("Matches naive search on random input")
+    void testRandomInput() {
+        Random random = new Random(7);
+        for (int round = 0; round < 500; round++) {
+            byte[] text = new byte[random.nextInt(300)];
+            for (int i = 0; i < text.length; i++) {
+                text[i] = (byte) ('a' + random.nextInt(3));
+            }
+            byte[] needle = new byte[1 + random.nextInt(6)];
+            for (int i = 0; i < needle.length; i++) {
+                needle[i] = (byte) ('a' + random.nextInt(3));
+            }
+            int from = text.length == 0 ? 0 : random.nextInt(text.length);
+
+            long expected = naive(text, from, needle);
+            long actual = search.findSequence(MemorySegment.ofArray(text), from, text.length, MemorySegment.ofArray(needle));
+            assertEquals(expected, actual, new String(text) + " / " + new String(needle) + " from " + from);
+        }
+    }
+
+    @Test
+    @DisplayName("Find bytes that need escaping, but not multi-byte UTF-8")
+    void testFindEscape() {
+        MemorySegment text = segment("plain äöü € text that is longer than one vector \" then \\ and \n");
+        long quote = "plain äöü € text that is longer than one vector ".getBytes(StandardCharsets.UTF_8).length;
+
+        assertEquals(quote, search.findEscape(text, 0, text.byteSize()));
+        assertEquals(quote + 7, search.findEscape(text, quote + 1, text.byteSize()));
+        assertEquals(text.byteSize() - 1, search.findEscape(text, quote + 8, text.byteSize()));
+        assertEquals(5, search.findEscape(text, 0, 5));
+    }
+
+    @Test
+    @DisplayName("Copy without whitespace across whole vectors, partial vectors and the tail")
+    void testCopyWithoutWhitespace() {
+        Random random = new Random(11);
+        String alphabet = "  \n\t\r{}[]:,01äx";
+        for (int length : new int[]{0, 1, 31, 64, 65, 1_000}) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < length; i++) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            MemorySegment source = segment("#" + text);
+            MemorySegment target = MemorySegment.ofArray(new byte[(int) source.byteSize() + 3]);
+            String expected = text.toString().replaceAll("[ \n\t\r]", "");
+
+            long end = search.copyWithoutWhitespace(source, 1, source.byteSize(), target, 3);
+            assertEquals(expected, new String(target.asSlice(3, end - 3).toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8));
+        }
+        MemorySegment compact = segment("{\"a\":[1,2,3],\"b\":{\"c\":true,\"d\":null},\"e\":\"text\"}");
+        MemorySegment target = MemorySegment.ofArray(new byte[(int) compact.byteSize()]);
+        assertEquals(compact.byteSize(), search.copyWithoutWhitespace(compact, 0, compact.byteSize(), target, 0));
+        assertEquals(-1, compact.mismatch(target));
+    }
+
+    private static long naive(byte[] text, int from, byte[] needle) {
+        outer:
+        for (int start = from; start + needle.length <= text.length; start++) {
+            for (int i = 0; i < needle.length; i++) {
+                if (text[start + i] != needle[i]) {
+                    continue outer;
+                }
+            }
+            return start;
+        }
+        return text.length;
+    }
+
+    private static MemorySegment segment(String text) {
+        return MemorySegment.ofArray(text.getBytes(StandardCharsets.UTF_8));
+    }
+}